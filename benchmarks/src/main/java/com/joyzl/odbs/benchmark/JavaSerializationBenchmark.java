@@ -0,0 +1,75 @@
+/*
+ * Copyright © 2017-2025 重庆骄智科技有限公司.
+ * 本软件根据 Apache License 2.0 开源，详见 LICENSE 文件。
+ */
+package com.joyzl.odbs.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.joyzl.odbs.test.Payloads;
+
+/**
+ * 对照基准 java.io.ObjectOutputStream/ObjectInputStream
+ *
+ * @author ZhangXi
+ * @date 2026年10月18日
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JavaSerializationBenchmark {
+
+	@Param({ "EntityBase", "EntityList", "EntitySet", "EntityMap", "EntityArray" })
+	String entity;
+	@Param({ "1", "100", "1000" })
+	int size;
+
+	private ArrayList<Object> entities;
+	private ByteArrayOutputStream output;
+	private byte[] bytes;
+
+	@Setup
+	public void setup() throws IOException {
+		entities = new ArrayList<>(Payloads.create(entity, size));
+		output = new ByteArrayOutputStream(1024 * 64);
+		write();
+		bytes = output.toByteArray();
+	}
+
+	@Benchmark
+	public int write() throws IOException {
+		output.reset();
+		try (ObjectOutputStream out = new ObjectOutputStream(output)) {
+			out.writeObject(entities);
+		}
+		return output.size();
+	}
+
+	@Benchmark
+	public Object read() throws IOException, ClassNotFoundException {
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+			return in.readObject();
+		}
+	}
+}
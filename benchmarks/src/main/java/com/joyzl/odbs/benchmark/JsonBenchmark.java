@@ -0,0 +1,94 @@
+/*
+ * Copyright © 2017-2025 重庆骄智科技有限公司.
+ * 本软件根据 Apache License 2.0 开源，详见 LICENSE 文件。
+ */
+package com.joyzl.odbs.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.joyzl.odbs.ODBSJson;
+import com.joyzl.odbs.test.Payloads;
+
+/**
+ * ODBS JSON序列化性能，UTF-8字节直接编码解码与经由字符编码器两种方式
+ *
+ * @author ZhangXi
+ * @date 2026年10月18日
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBenchmark {
+
+	@Param({ "EntityBase", "EntityList", "EntitySet", "EntityMap", "EntityArray" })
+	String entity;
+	@Param({ "1", "100", "1000" })
+	int size;
+	@Param({ "false", "true" })
+	boolean compiled;
+
+	private ODBSJson json;
+	private Class<?> type;
+	private List<Object> entities;
+	private ByteArrayOutputStream output;
+	private byte[] bytes;
+
+	@Setup
+	public void setup() throws IOException {
+		json = new ODBSJson(compiled ? Payloads.COMPILED : Payloads.DEFAULT);
+		type = Payloads.type(entity);
+		entities = Payloads.create(entity, size);
+		output = new ByteArrayOutputStream(1024 * 64);
+		json.writeEntities(entities, output);
+		bytes = output.toByteArray();
+	}
+
+	@Benchmark
+	public int write() throws IOException {
+		output.reset();
+		json.writeEntities(entities, output);
+		return output.size();
+	}
+
+	@Benchmark
+	public int writeWriter() throws IOException {
+		output.reset();
+		final Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+		json.writeEntities(entities, writer);
+		writer.flush();
+		return output.size();
+	}
+
+	@Benchmark
+	public List<?> read() throws IOException {
+		return json.readEntities(type, new ByteArrayInputStream(bytes));
+	}
+
+	@Benchmark
+	public List<?> readReader() throws IOException {
+		return json.readEntities(type, new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8));
+	}
+}
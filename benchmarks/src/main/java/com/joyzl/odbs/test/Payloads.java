@@ -0,0 +1,60 @@
+/*
+ * Copyright © 2017-2025 重庆骄智科技有限公司.
+ * 本软件根据 Apache License 2.0 开源，详见 LICENSE 文件。
+ */
+package com.joyzl.odbs.test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import com.joyzl.odbs.ODBS;
+
+/**
+ * 性能测试负载，由测试实体构建指定数量的实体集合
+ *
+ * @author ZhangXi
+ * @date 2026年10月18日
+ */
+public final class Payloads {
+
+	/** 反射方法句柄方式 */
+	public final static ODBS DEFAULT = ODBS.initialize("com.joyzl.odbs.test");
+	/** 生成编码解码器方式 */
+	public final static ODBS COMPILED = ODBS.initialize("com.joyzl.odbs.test").compile();
+
+	private Payloads() {
+	}
+
+	/** 获取实体类型 */
+	public static Class<?> type(String entity) {
+		return create(entity).get().getClass();
+	}
+
+	/** 构建指定数量的实体 */
+	public static List<Object> create(String entity, int size) {
+		final Supplier<?> supplier = create(entity);
+		final List<Object> entities = new ArrayList<>(size);
+		for (int index = 0; index < size; index++) {
+			entities.add(supplier.get());
+		}
+		return entities;
+	}
+
+	private static Supplier<?> create(String entity) {
+		switch (entity) {
+			case "EntityBase":
+				return EntityBase::createMaxValue;
+			case "EntityList":
+				return EntityList::createNormalValue;
+			case "EntitySet":
+				return EntitySet::createNormalValue;
+			case "EntityMap":
+				return EntityMap::createNormalValue;
+			case "EntityArray":
+				return EntityArray::createNormalValue;
+			default:
+				throw new IllegalArgumentException("未知实体 " + entity);
+		}
+	}
+}
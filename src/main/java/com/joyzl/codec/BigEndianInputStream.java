@@ -4,6 +4,7 @@
  */
 package com.joyzl.codec;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 
@@ -24,4 +25,26 @@ public class BigEndianInputStream extends InputStream implements BigEndianDataIn
 	public int read() throws IOException {
 		return input.read();
 	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		return input.read(b, off, len);
+	}
+
+	@Override
+	public void readFully(byte[] b) throws IOException {
+		readFully(b, 0, b.length);
+	}
+
+	@Override
+	public void readFully(byte[] b, int off, int len) throws IOException {
+		if (input.readNBytes(b, off, len) < len) {
+			throw new EOFException();
+		}
+	}
+
+	@Override
+	public int available() throws IOException {
+		return input.available();
+	}
 }
\ No newline at end of file
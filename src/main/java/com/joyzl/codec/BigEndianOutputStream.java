@@ -20,8 +20,23 @@ public class BigEndianOutputStream extends OutputStream implements BigEndianData
 		writeByte((byte) b);
 	}
 
+	@Override
+	public void write(byte[] b) throws IOException {
+		output.write(b, 0, b.length);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		output.write(b, off, len);
+	}
+
 	@Override
 	public void writeByte(int b) throws IOException {
 		output.write(b);
 	}
+
+	@Override
+	public void flush() throws IOException {
+		output.flush();
+	}
 }
\ No newline at end of file
@@ -0,0 +1,214 @@
+/*
+ * Copyright © 2017-2025 重庆骄智科技有限公司.
+ * 本软件根据 Apache License 2.0 开源，详见 LICENSE 文件。
+ */
+package com.joyzl.codec;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * 块压缩，LZ4块格式的快速压缩和解压缩，纯Java实现无外部依赖
+ * <p>
+ * 以4字节序列散列查找64KB窗口内的重复内容，每个序列编码为标记字节、字面量和匹配(偏移和长度)；
+ * 散列表按输入长度确定大小(短输入仅初始化较小的散列表)，压缩实例复用散列表，不是线程安全的，解压缩为静态方法。
+ * </p>
+ *
+ * <pre>
+ * token(字面量长度4位|匹配长度-4 4位) [字面量长度扩展] 字面量 offset(2字节小端序) [匹配长度扩展]
+ * </pre>
+ *
+ * @author ZhangXi
+ * @date 2026年10月18日
+ */
+public final class BlockCompressor {
+
+	/** 最小匹配长度 */
+	private final static int MIN_MATCH = 4;
+	/** 最后字节须为字面量 */
+	private final static int LAST_LITERALS = 5;
+	/** 最后匹配开始位置距结束的最小字节 */
+	private final static int MF_LIMIT = 12;
+	/** 最大匹配偏移 */
+	private final static int MAX_OFFSET = 0xFFFF;
+	/** 散列表位数范围 */
+	private final static int MIN_HASH_LOG = 8, HASH_LOG = 14;
+
+	private int[] table;
+
+	public BlockCompressor() {
+	}
+
+	/** 压缩后最大字节数 */
+	public static int maxCompressedLength(int length) {
+		return length + length / 255 + 16;
+	}
+
+	/**
+	 * 压缩字节，目标数组须至少有 maxCompressedLength(length) 字节可用
+	 *
+	 * @return 压缩后的字节数
+	 */
+	public int compress(byte[] source, int offset, int length, byte[] target, int position) {
+		final int end = offset + length;
+		final int matchLimit = end - LAST_LITERALS;
+		final int mfLimit = end - MF_LIMIT;
+		int anchor = offset;
+		int index = offset;
+		int op = position;
+
+		if (length > MF_LIMIT) {
+			// 散列表位数随输入长度，短输入无须初始化全部散列表
+			final int bits = Math.max(MIN_HASH_LOG, Math.min(HASH_LOG, 32 - Integer.numberOfLeadingZeros(length)));
+			if (table == null || table.length < 1 << bits) {
+				table = new int[1 << bits];
+			}
+			Arrays.fill(table, 0, 1 << bits, -1);
+			int reference, sequence, hash, searches = 1 << 6;
+			while (index < mfLimit) {
+				sequence = readInt(source, index);
+				hash = hash(sequence, bits);
+				reference = table[hash];
+				table[hash] = index;
+				if (reference < 0 || index - reference > MAX_OFFSET || readInt(source, reference) != sequence) {
+					// 未找到匹配时逐渐加快步进
+					index += searches++ >>> 6;
+					continue;
+				}
+				searches = 1 << 6;
+
+				// 向前扩展匹配
+				while (index > anchor && reference > offset && source[index - 1] == source[reference - 1]) {
+					index--;
+					reference--;
+				}
+				// 向后扩展匹配
+				int match = MIN_MATCH;
+				while (index + match < matchLimit && source[index + match] == source[reference + match]) {
+					match++;
+				}
+
+				op = sequence(target, op, source, anchor, index - anchor, index - reference, match);
+				index += match;
+				anchor = index;
+			}
+		}
+
+		// 最后字面量
+		op = literals(target, op, source, anchor, end - anchor, 0);
+		return op - position;
+	}
+
+	/**
+	 * 解压缩字节，解压缩后的字节数须与 length 一致
+	 *
+	 * @throws IOException 压缩数据无效
+	 */
+	public static void decompress(byte[] source, int offset, int size, byte[] target, int position, int length) throws IOException {
+		final int end = offset + size;
+		final int limit = position + length;
+		int index = offset;
+		int op = position;
+		int token, literal, match, distance, b;
+		try {
+			while (index < end) {
+				token = source[index++] & 0xFF;
+
+				// 字面量
+				literal = token >>> 4;
+				if (literal == 15) {
+					do {
+						b = source[index++] & 0xFF;
+						literal += b;
+					} while (b == 255);
+				}
+				if (literal > end - index || literal > limit - op) {
+					throw new IOException("压缩数据无效");
+				}
+				System.arraycopy(source, index, target, op, literal);
+				index += literal;
+				op += literal;
+				if (index >= end) {
+					// 最后序列仅有字面量
+					break;
+				}
+
+				// 匹配
+				if (end - index < 2) {
+					throw new IOException("压缩数据无效");
+				}
+				distance = (source[index] & 0xFF) | (source[index + 1] & 0xFF) << 8;
+				index += 2;
+				if (distance == 0 || distance > op - position) {
+					throw new IOException("压缩数据无效");
+				}
+				match = token & 0x0F;
+				if (match == 15) {
+					do {
+						b = source[index++] & 0xFF;
+						match += b;
+					} while (b == 255);
+				}
+				match += MIN_MATCH;
+				if (match > limit - op) {
+					throw new IOException("压缩数据无效");
+				}
+				if (distance >= match) {
+					System.arraycopy(target, op - distance, target, op, match);
+					op += match;
+				} else {
+					// 重叠复制
+					for (; match > 0; match--, op++) {
+						target[op] = target[op - distance];
+					}
+				}
+			}
+		} catch (ArrayIndexOutOfBoundsException e) {
+			throw new IOException("压缩数据无效", e);
+		}
+		if (op != limit) {
+			throw new IOException("压缩数据无效");
+		}
+	}
+
+	/** 输出序列：标记、字面量、偏移和匹配长度 */
+	private static int sequence(byte[] target, int op, byte[] source, int anchor, int literal, int distance, int match) {
+		match -= MIN_MATCH;
+		op = literals(target, op, source, anchor, literal, match >= 15 ? 15 : match);
+		target[op++] = (byte) distance;
+		target[op++] = (byte) (distance >>> 8);
+		if (match >= 15) {
+			op = length(target, op, match - 15);
+		}
+		return op;
+	}
+
+	/** 输出标记和字面量，标记低4位为匹配长度 */
+	private static int literals(byte[] target, int op, byte[] source, int anchor, int literal, int match) {
+		if (literal >= 15) {
+			target[op++] = (byte) (15 << 4 | match);
+			op = length(target, op, literal - 15);
+		} else {
+			target[op++] = (byte) (literal << 4 | match);
+		}
+		System.arraycopy(source, anchor, target, op, literal);
+		return op + literal;
+	}
+
+	/** 输出长度扩展，每字节255直至余数 */
+	private static int length(byte[] target, int op, int length) {
+		for (; length >= 255; length -= 255) {
+			target[op++] = (byte) 255;
+		}
+		target[op++] = (byte) length;
+		return op;
+	}
+
+	private static int readInt(byte[] source, int index) {
+		return (source[index] & 0xFF) | (source[index + 1] & 0xFF) << 8 | (source[index + 2] & 0xFF) << 16 | (source[index + 3] & 0xFF) << 24;
+	}
+
+	private static int hash(int sequence, int bits) {
+		return (sequence * -1640531535) >>> (32 - bits);
+	}
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright © 2017-2025 重庆骄智科技有限公司.
+ * 本软件根据 Apache License 2.0 开源，详见 LICENSE 文件。
+ */
+package com.joyzl.codec;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.IllegalBlockingModeException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
+
+/**
+ * 块压缩输入流，大端序(BIG_ENDIAN)；读取 BlockOutputStream 输出的块，压缩块解压缩后提供字节
+ * <p>
+ * 仅在缓冲的字节读取完后才读取下一个块，BlockOutputStream.flush() 输出的块边界之后的字节不会被预先读取。
+ * 仅支持阻塞通道，非阻塞通道(SelectableChannel)抛出 IllegalBlockingModeException，非阻塞传输应以帧(FrameDecoder)读取。
+ * </p>
+ *
+ * @author ZhangXi
+ * @date 2026年10月18日
+ * @see BlockOutputStream
+ */
+public class BlockInputStream extends InputStream implements BigEndianDataInput {
+
+	private final InputStream input;
+	private byte[] buffer = new byte[0];
+	private byte[] compressed;
+	private int position, limit;
+
+	public BlockInputStream(InputStream in) {
+		input = in;
+	}
+
+	/**
+	 * 从阻塞通道读取
+	 *
+	 * @throws IllegalBlockingModeException 非阻塞通道
+	 * @see FrameDecoder
+	 */
+	public BlockInputStream(ReadableByteChannel channel) {
+		input = new ChannelInput(channel);
+	}
+
+	@Override
+	public byte readByte() throws IOException {
+		if (position == limit && !fill()) {
+			throw new EOFException();
+		}
+		return buffer[position++];
+	}
+
+	@Override
+	public int read() throws IOException {
+		if (position == limit && !fill()) {
+			return -1;
+		}
+		return buffer[position++] & 0xFF;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (len == 0) {
+			return 0;
+		}
+		if (position == limit && !fill()) {
+			return -1;
+		}
+		len = Math.min(len, limit - position);
+		System.arraycopy(buffer, position, b, off, len);
+		position += len;
+		return len;
+	}
+
+	@Override
+	public void readFully(byte[] b) throws IOException {
+		readFully(b, 0, b.length);
+	}
+
+	@Override
+	public void readFully(byte[] b, int off, int len) throws IOException {
+		int length;
+		while (len > 0) {
+			length = read(b, off, len);
+			if (length < 0) {
+				throw new EOFException();
+			}
+			off += length;
+			len -= length;
+		}
+	}
+
+	@Override
+	public int skipBytes(int n) throws IOException {
+		int length, size = 0;
+		while (n > 0) {
+			if (position == limit && !fill()) {
+				break;
+			}
+			length = Math.min(n, limit - position);
+			position += length;
+			size += length;
+			n -= length;
+		}
+		return size;
+	}
+
+	/** 缓冲中剩余的字节数，缓冲读取完时为输入流中可读取的压缩字节数 */
+	@Override
+	public int available() throws IOException {
+		if (position < limit) {
+			return limit - position;
+		}
+		return input.available();
+	}
+
+	@Override
+	public void close() throws IOException {
+		input.close();
+	}
+
+	/**
+	 * 是否有可读取的字节，缓冲读取完时阻塞读取下一个块；
+	 * 输入流在块边界结束时返回 false，可据此区分没有后续消息与消息不完整
+	 */
+	public boolean readable() throws IOException {
+		return position < limit || fill();
+	}
+
+	/** 读取下一个块，输入流在块边界结束时返回 false */
+	private boolean fill() throws IOException {
+		int head;
+		do {
+			head = input.read();
+			if (head < 0) {
+				return false;
+			}
+			head = varint(head);
+			if ((head & 1) == 0) {
+				limit = check(head >>> 1);
+				if (input.readNBytes(buffer, 0, limit) < limit) {
+					throw new EOFException();
+				}
+			} else {
+				final int size = head >>> 1;
+				limit = check(varint(input.read()));
+				if (size > BlockCompressor.maxCompressedLength(limit)) {
+					throw new IOException("压缩数据无效");
+				}
+				if (compressed == null || compressed.length < size) {
+					compressed = new byte[size];
+				}
+				if (input.readNBytes(compressed, 0, size) < size) {
+					throw new EOFException();
+				}
+				BlockCompressor.decompress(compressed, 0, size, buffer, 0, limit);
+			}
+			position = 0;
+		} while (limit == 0);
+		return true;
+	}
+
+	/** 检查块大小并确保缓冲区足够 */
+	private int check(int size) throws IOException {
+		if (size < 0 || size > BlockOutputStream.MAX_BLOCK_SIZE) {
+			throw new IOException("压缩块大小无效 " + size);
+		}
+		if (buffer.length < size) {
+			buffer = new byte[size];
+		}
+		return size;
+	}
+
+	/** 读取变长值，首字节已读取 */
+	private int varint(int b) throws IOException {
+		int value = 0, shift = 0;
+		while (true) {
+			if (b < 0) {
+				throw new EOFException();
+			}
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+			shift += 7;
+			if (shift > 28) {
+				throw new IOException("Varint overflow");
+			}
+			b = input.read();
+		}
+	}
+
+	/** 阻塞通道输入 */
+	private final static class ChannelInput extends InputStream {
+
+		private final ReadableByteChannel channel;
+		private final ByteBuffer single = ByteBuffer.allocate(1);
+
+		ChannelInput(ReadableByteChannel channel) {
+			if (channel instanceof SelectableChannel && !((SelectableChannel) channel).isBlocking()) {
+				throw new IllegalBlockingModeException();
+			}
+			this.channel = channel;
+		}
+
+		@Override
+		public int read() throws IOException {
+			single.clear();
+			return read(single) < 0 ? -1 : single.get(0) & 0xFF;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (len == 0) {
+				return 0;
+			}
+			return read(ByteBuffer.wrap(b, off, len));
+		}
+
+		private int read(ByteBuffer buffer) throws IOException {
+			return channel.read(buffer);
+		}
+
+		@Override
+		public void close() throws IOException {
+			channel.close();
+		}
+	}
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright © 2017-2025 重庆骄智科技有限公司.
+ * 本软件根据 Apache License 2.0 开源，详见 LICENSE 文件。
+ */
+package com.joyzl.codec;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.IllegalBlockingModeException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+/**
+ * 块压缩输出流，大端序(BIG_ENDIAN)；写入的字节按块缓冲，块满或 flush() 时压缩后输出
+ * <p>
+ * 小于 MIN_COMPRESS 的块(例如少量数据后 flush)直接输出而不压缩；压缩后减少不足1/16的块视为不可压缩而输出原始字节，
+ * 连续不可压缩时之后的若干块(1,2,4...16)不再尝试压缩，遇到可压缩的块后恢复。须由 BlockInputStream 读取。
+ * 仅支持阻塞通道，非阻塞通道(SelectableChannel)抛出 IllegalBlockingModeException，非阻塞传输应以帧(FrameEncoder)输出。
+ * </p>
+ *
+ * <pre>
+ * varint(字节数&lt;&lt;1) 字节...                           原始块
+ * varint(压缩字节数&lt;&lt;1|1) varint(字节数) 压缩字节...  压缩块
+ * </pre>
+ *
+ * @author ZhangXi
+ * @date 2026年10月18日
+ * @see BlockCompressor
+ * @see BlockInputStream
+ */
+public class BlockOutputStream extends OutputStream implements BigEndianDataOutput {
+
+	/** 默认块大小 64KB */
+	public final static int BLOCK_SIZE = 64 * 1024;
+	/** 最大块大小 4MB */
+	public final static int MAX_BLOCK_SIZE = 4 * 1024 * 1024;
+	/** 小于此字节数的块不压缩 */
+	public final static int MIN_COMPRESS = 128;
+	/** 连续不可压缩时最多跳过的块数 */
+	private final static int MAX_SKIP = 16;
+
+	/** 缓冲初始字节数，写入更多字节时倍增至块大小 */
+	private final static int INITIAL_SIZE = 1024;
+
+	private OutputStream output;
+	private BlockCompressor compressor;
+	private byte[] buffer;
+	private byte[] compressed;
+	/** 块头(varint)缓冲 */
+	private final byte[] head = new byte[10];
+	private final int block;
+	private int size;
+	/** 剩余跳过压缩的块数和最近跳过的块数 */
+	private int skip, skips;
+
+	/** 未指定输出，须通过 reset() 指定后写入 */
+	public BlockOutputStream() {
+		this((OutputStream) null, BLOCK_SIZE);
+	}
+
+	public BlockOutputStream(OutputStream out) {
+		this(out, BLOCK_SIZE);
+	}
+
+	/**
+	 * 输出到阻塞通道
+	 *
+	 * @throws IllegalBlockingModeException 非阻塞通道
+	 * @see FrameEncoder
+	 */
+	public BlockOutputStream(WritableByteChannel channel) {
+		this(new ChannelOutput(channel), BLOCK_SIZE);
+	}
+
+	/**
+	 * 指定块大小，较大的块压缩率较高但须更多缓冲；缓冲按写入的字节数增长至块大小，压缩所需的散列表和目标数组在首次压缩时创建
+	 *
+	 * @param size 1 ~ MAX_BLOCK_SIZE
+	 */
+	public BlockOutputStream(OutputStream out, int size) {
+		if (size <= 0 || size > MAX_BLOCK_SIZE) {
+			throw new IllegalArgumentException("块大小无效 " + size);
+		}
+		output = out;
+		block = size;
+		buffer = new byte[Math.min(size, INITIAL_SIZE)];
+	}
+
+	/**
+	 * 重新指定输出流，丢弃未输出的字节，复用已创建的缓冲和压缩散列表；指定 null 释放输出流
+	 */
+	public void reset(OutputStream out) {
+		output = out;
+		size = 0;
+		skip = skips = 0;
+	}
+
+	/**
+	 * 重新指定阻塞输出通道
+	 *
+	 * @throws IllegalBlockingModeException 非阻塞通道
+	 */
+	public void reset(WritableByteChannel channel) {
+		reset(new ChannelOutput(channel));
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		writeByte(b);
+	}
+
+	@Override
+	public void write(byte[] b) throws IOException {
+		write(b, 0, b.length);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		int length;
+		while (len > 0) {
+			if (size == buffer.length) {
+				grow(len);
+			}
+			length = Math.min(len, buffer.length - size);
+			System.arraycopy(b, off, buffer, size, length);
+			size += length;
+			off += length;
+			len -= length;
+		}
+	}
+
+	@Override
+	public void writeByte(int b) throws IOException {
+		if (size == buffer.length) {
+			grow(1);
+		}
+		buffer[size++] = (byte) b;
+	}
+
+	/** 输出缓冲的块并刷新 */
+	@Override
+	public void flush() throws IOException {
+		if (size > 0) {
+			block();
+		}
+		output.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		flush();
+		output.close();
+	}
+
+	/** 缓冲已满，未达块大小时扩展缓冲，否则输出块 */
+	private void grow(int length) throws IOException {
+		if (buffer.length < block) {
+			buffer = Arrays.copyOf(buffer, (int) Math.min(block, Math.max((long) buffer.length << 1, (long) size + length)));
+		} else {
+			block();
+		}
+	}
+
+	/** 输出缓冲的块，可压缩时压缩 */
+	private void block() throws IOException {
+		if (size >= MIN_COMPRESS) {
+			if (skip > 0) {
+				skip--;
+			} else {
+				if (compressor == null) {
+					compressor = new BlockCompressor();
+				}
+				if (compressed == null || compressed.length < BlockCompressor.maxCompressedLength(size)) {
+					compressed = new byte[BlockCompressor.maxCompressedLength(size)];
+				}
+				final int length = compressor.compress(buffer, 0, size, compressed, 0);
+				if (length < size - (size >>> 4)) {
+					output.write(head, 0, varint(size, varint(length << 1 | 1, 0)));
+					output.write(compressed, 0, length);
+					size = 0;
+					skips = 0;
+					return;
+				}
+				// 不可压缩，跳过的块数倍增
+				skips = skips == 0 ? 1 : Math.min(skips << 1, MAX_SKIP);
+				skip = skips;
+			}
+		}
+		output.write(head, 0, varint(size << 1, 0));
+		output.write(buffer, 0, size);
+		size = 0;
+	}
+
+	/** 块头写入缓冲，返回写入后的位置 */
+	private int varint(int value, int index) {
+		while ((value & ~0x7F) != 0) {
+			head[index++] = (byte) ((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		head[index++] = (byte) value;
+		return index;
+	}
+
+	/** 阻塞通道输出 */
+	private final static class ChannelOutput extends OutputStream {
+
+		private final WritableByteChannel channel;
+
+		ChannelOutput(WritableByteChannel channel) {
+			if (channel instanceof SelectableChannel && !((SelectableChannel) channel).isBlocking()) {
+				throw new IllegalBlockingModeException();
+			}
+			this.channel = channel;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[] { (byte) b }, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			final ByteBuffer buffer = ByteBuffer.wrap(b, off, len);
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			channel.close();
+		}
+	}
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright © 2017-2025 重庆骄智科技有限公司.
+ * 本软件根据 Apache License 2.0 开源，详见 LICENSE 文件。
+ */
+package com.joyzl.codec;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * 字节解码为数据，读取 ByteBuffer 缓冲区
+ * <p>
+ * 多字节值和变长值直接从缓冲区批量读取，避免逐字节调用；
+ * 从缓冲区当前位置读取至限制位置，字节序与缓冲区一致，支持堆内存和直接内存缓冲区。
+ * </p>
+ *
+ * @author ZhangXi
+ * @date 2026年10月18日
+ */
+public class ByteBufferDataInput implements DataInput {
+
+	protected ByteBuffer buffer;
+
+	public ByteBufferDataInput(ByteBuffer buffer) {
+		this.buffer = buffer;
+	}
+
+	/** 大端序 */
+	public ByteBufferDataInput(byte[] bytes) {
+		this(ByteBuffer.wrap(bytes));
+	}
+
+	/** 大端序 */
+	public ByteBufferDataInput(byte[] bytes, int offset, int length) {
+		this(ByteBuffer.wrap(bytes, offset, length));
+	}
+
+	public ByteBufferDataInput(byte[] bytes, ByteOrder order) {
+		this(ByteBuffer.wrap(bytes).order(order));
+	}
+
+	/**
+	 * 确保缓冲区至少还有指定的可读取字节，不足时抛出异常；
+	 * 扩展类可重写此方法改变策略，例如从数据源补充字节
+	 */
+	protected void require(int size) throws IOException {
+		if (buffer.remaining() < size) {
+			throw new EOFException();
+		}
+	}
+
+	/** 字节序 */
+	public ByteOrder order() {
+		return buffer.order();
+	}
+
+	/** 内部缓冲区(读取状态) */
+	public ByteBuffer buffer() {
+		return buffer;
+	}
+
+	/** 缓冲区中剩余可读取的字节数 */
+	public int available() {
+		return buffer.remaining();
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+
+	@Override
+	public void readFully(byte[] b) throws IOException {
+		readFully(b, 0, b.length);
+	}
+
+	@Override
+	public void readFully(byte[] b, int off, int len) throws IOException {
+		require(len);
+		buffer.get(b, off, len);
+	}
+
+	@Override
+	public int skipBytes(int n) throws IOException {
+		if (n > buffer.remaining()) {
+			n = buffer.remaining();
+		}
+		buffer.position(buffer.position() + n);
+		return n;
+	}
+
+	@Override
+	public byte readByte() throws IOException {
+		require(1);
+		return buffer.get();
+	}
+
+	@Override
+	public short readShort() throws IOException {
+		require(2);
+		return buffer.getShort();
+	}
+
+	@Override
+	public int readUnsignedShort() throws IOException {
+		return readShort() & 0xFFFF;
+	}
+
+	/** 读取medium值,3 Byte, 24 Bit */
+	public int readMedium() throws IOException {
+		require(3);
+		if (buffer.order() == ByteOrder.BIG_ENDIAN) {
+			return (buffer.get() & 0xFF) << 16 | (buffer.get() & 0xFF) << 8 | buffer.get() & 0xFF;
+		} else {
+			return buffer.get() & 0xFF | (buffer.get() & 0xFF) << 8 | (buffer.get() & 0xFF) << 16;
+		}
+	}
+
+	/** 读取medium值(无符号),3 Byte, 24 Bit */
+	public int readUnsignedMedium() throws IOException {
+		return readMedium() & 0xFFFFFF;
+	}
+
+	@Override
+	public int readInt() throws IOException {
+		require(4);
+		return buffer.getInt();
+	}
+
+	/** 读取integer值(无符号),4 Byte, 32 Bit */
+	public long readUnsignedInt() throws IOException {
+		return readInt() & 0xFFFFFFFFL;
+	}
+
+	@Override
+	public long readLong() throws IOException {
+		require(8);
+		return buffer.getLong();
+	}
+
+	@Override
+	public float readFloat() throws IOException {
+		require(4);
+		return buffer.getFloat();
+	}
+
+	@Override
+	public double readDouble() throws IOException {
+		require(8);
+		return buffer.getDouble();
+	}
+
+	@Override
+	public int readVarint() throws IOException {
+		if (buffer.remaining() < 5) {
+			// 缓冲区末尾逐字节读取
+			return DataInput.super.readVarint();
+		}
+
+		byte b = buffer.get();
+		if ((b & 0x80) != 0) {
+			int value = b & 0x7F;
+			b = buffer.get();
+			value |= (b & 0x7F) << 7;
+			if ((b & 0x80) != 0) {
+				b = buffer.get();
+				value |= (b & 0x7F) << 14;
+				if ((b & 0x80) != 0) {
+					b = buffer.get();
+					value |= (b & 0x7F) << 21;
+					if ((b & 0x80) != 0) {
+						b = buffer.get();
+						value |= (b & 0x7F) << 28;
+						if ((b & 0x80) != 0) {
+							// 溢出4字节整形范围
+							throw new IOException("Varint overflow");
+						}
+					}
+				}
+			}
+			return value;
+		} else {
+			return b;
+		}
+	}
+
+	@Override
+	public long readVarlong() throws IOException {
+		if (buffer.remaining() < 10) {
+			// 缓冲区末尾逐字节读取
+			return DataInput.super.readVarlong();
+		}
+
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			final byte b = buffer.get();
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		// 溢出8字节整形范围
+		throw new IOException("Varint overflow");
+	}
+
+	@Override
+	public char[] readASCIIs(int size) throws IOException {
+		require(size);
+		final char[] asciis = new char[size];
+		for (size = 0; size < asciis.length; size++) {
+			asciis[size] = (char) buffer.get();
+		}
+		return asciis;
+	}
+}
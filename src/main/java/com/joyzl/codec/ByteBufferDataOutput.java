@@ -0,0 +1,246 @@
+/*
+ * Copyright © 2017-2025 重庆骄智科技有限公司.
+ * 本软件根据 Apache License 2.0 开源，详见 LICENSE 文件。
+ */
+package com.joyzl.codec;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * 数据编码为字节，写入 ByteBuffer 缓冲区
+ * <p>
+ * 多字节值和变长值直接批量写入缓冲区，避免逐字节调用；
+ * 缓冲区空间不足时自动扩容，支持堆内存和直接内存缓冲区，字节序由构造参数指定；
+ * 通过{@link #reset()}可重复使用实例，过大的缓冲区将被回收恢复为初始容量。
+ * </p>
+ *
+ * @author ZhangXi
+ * @date 2026年10月18日
+ */
+public class ByteBufferDataOutput implements DataOutput {
+
+	/** 重置时保留的最大缓冲区容量 */
+	final static int RETAIN = 1024 * 64;
+
+	private final int capacity;
+	private final boolean direct;
+	private final ByteOrder order;
+	protected ByteBuffer buffer;
+
+	/** 堆内存缓冲区，大端序 */
+	public ByteBufferDataOutput() {
+		this(256, false, ByteOrder.BIG_ENDIAN);
+	}
+
+	/** 堆内存缓冲区，大端序 */
+	public ByteBufferDataOutput(int capacity) {
+		this(capacity, false, ByteOrder.BIG_ENDIAN);
+	}
+
+	/**
+	 * @param capacity 初始容量
+	 * @param direct 是否直接内存缓冲区
+	 * @param order 字节序
+	 */
+	public ByteBufferDataOutput(int capacity, boolean direct, ByteOrder order) {
+		if (capacity < 16) {
+			capacity = 16;
+		}
+		this.capacity = capacity;
+		this.direct = direct;
+		this.order = order;
+		buffer = allocate(capacity);
+	}
+
+	/**
+	 * 使用指定缓冲区，从缓冲区当前位置开始写入，字节序与缓冲区一致
+	 */
+	public ByteBufferDataOutput(ByteBuffer buffer) {
+		capacity = buffer.capacity();
+		direct = buffer.isDirect();
+		order = buffer.order();
+		this.buffer = buffer;
+	}
+
+	private ByteBuffer allocate(int size) {
+		if (direct) {
+			return ByteBuffer.allocateDirect(size).order(order);
+		} else {
+			return ByteBuffer.allocate(size).order(order);
+		}
+	}
+
+	/**
+	 * 确保缓冲区至少还有指定的可写入字节，不足时扩容；
+	 * 扩展类可重写此方法改变策略，例如输出已缓冲的字节
+	 */
+	protected void require(int size) throws IOException {
+		if (buffer.remaining() < size) {
+			int length = buffer.capacity() << 1;
+			if (length - buffer.position() < size) {
+				length = buffer.position() + size;
+			}
+			final ByteBuffer temp = allocate(length);
+			buffer.flip();
+			temp.put(buffer);
+			buffer = temp;
+		}
+	}
+
+	/** 字节序 */
+	public ByteOrder order() {
+		return order;
+	}
+
+	/** 已写入的字节数 */
+	public int size() {
+		return buffer.position();
+	}
+
+	/** 内部缓冲区(写入状态)，扩容后实例将改变 */
+	public ByteBuffer buffer() {
+		return buffer;
+	}
+
+	/** 已写入字节的只读视图(读取状态)，不复制字节 */
+	public ByteBuffer toByteBuffer() {
+		return buffer.duplicate().flip().asReadOnlyBuffer().order(order);
+	}
+
+	/** 复制已写入的字节 */
+	public byte[] toByteArray() {
+		final byte[] bytes = new byte[buffer.position()];
+		buffer.duplicate().flip().get(bytes);
+		return bytes;
+	}
+
+	/** 将已写入的字节输出到流 */
+	public void writeTo(OutputStream out) throws IOException {
+		if (buffer.hasArray()) {
+			out.write(buffer.array(), buffer.arrayOffset(), buffer.position());
+		} else {
+			out.write(toByteArray());
+		}
+	}
+
+	/** 重置以便重复使用，超过保留容量的缓冲区被回收 */
+	public void reset() {
+		if (buffer.capacity() > RETAIN && buffer.capacity() > capacity) {
+			buffer = allocate(capacity);
+		} else {
+			buffer.clear();
+		}
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+
+	@Override
+	public void write(byte[] values) throws IOException {
+		write(values, 0, values.length);
+	}
+
+	@Override
+	public void write(byte[] values, int offset, int length) throws IOException {
+		require(length);
+		buffer.put(values, offset, length);
+	}
+
+	/** 写入缓冲区剩余的字节 */
+	public void write(ByteBuffer values) throws IOException {
+		require(values.remaining());
+		buffer.put(values);
+	}
+
+	@Override
+	public void writeByte(int b) throws IOException {
+		require(1);
+		buffer.put((byte) b);
+	}
+
+	@Override
+	public void writeShort(short value) throws IOException {
+		require(2);
+		buffer.putShort(value);
+	}
+
+	/** 写入medium值,3 Byte, 24 Bit */
+	public void writeMedium(int value) throws IOException {
+		require(3);
+		if (order == ByteOrder.BIG_ENDIAN) {
+			buffer.put((byte) (value >>> 16));
+			buffer.put((byte) (value >>> 8));
+			buffer.put((byte) value);
+		} else {
+			buffer.put((byte) value);
+			buffer.put((byte) (value >>> 8));
+			buffer.put((byte) (value >>> 16));
+		}
+	}
+
+	@Override
+	public void writeInt(int value) throws IOException {
+		require(4);
+		buffer.putInt(value);
+	}
+
+	@Override
+	public void writeLong(long value) throws IOException {
+		require(8);
+		buffer.putLong(value);
+	}
+
+	@Override
+	public void writeFloat(float value) throws IOException {
+		require(4);
+		buffer.putFloat(value);
+	}
+
+	@Override
+	public void writeDouble(double value) throws IOException {
+		require(8);
+		buffer.putDouble(value);
+	}
+
+	@Override
+	public void writeVarint(int value) throws IOException {
+		require(5);
+		if ((value & ~0x7F) != 0) {
+			buffer.put((byte) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+			if ((value & ~0x7F) != 0) {
+				buffer.put((byte) ((value & 0x7F) | 0x80));
+				value >>>= 7;
+				if ((value & ~0x7F) != 0) {
+					buffer.put((byte) ((value & 0x7F) | 0x80));
+					value >>>= 7;
+					if ((value & ~0x7F) != 0) {
+						buffer.put((byte) ((value & 0x7F) | 0x80));
+						value >>>= 7;
+					}
+				}
+			}
+		}
+		buffer.put((byte) value);
+	}
+
+	@Override
+	public void writeVarlong(long value) throws IOException {
+		require(10);
+		while ((value & ~0x7FL) != 0) {
+			buffer.put((byte) (((int) value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		buffer.put((byte) value);
+	}
+
+	@Override
+	public void writeASCIIs(CharSequence value) throws IOException {
+		require(value.length());
+		for (int index = 0; index < value.length(); index++) {
+			buffer.put((byte) value.charAt(index));
+		}
+	}
+}
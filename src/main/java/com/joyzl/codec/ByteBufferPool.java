@@ -0,0 +1,51 @@
+/*
+ * Copyright © 2017-2025 重庆骄智科技有限公司.
+ * 本软件根据 Apache License 2.0 开源，详见 LICENSE 文件。
+ */
+package com.joyzl.codec;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 直接内存缓冲区池，缓冲区为固定容量大端序
+ *
+ * @author ZhangXi
+ * @date 2026年10月18日
+ */
+final class ByteBufferPool {
+
+	/** 缓冲区容量 */
+	final static int SIZE = 1024 * 16;
+	/** 最多保留的缓冲区数量 */
+	final static int MAX = 64;
+
+	private final static ConcurrentLinkedQueue<ByteBuffer> BUFFERS = new ConcurrentLinkedQueue<>();
+	private final static AtomicInteger COUNT = new AtomicInteger();
+
+	private ByteBufferPool() {
+		// 禁止实例化
+	}
+
+	/** 获取缓冲区，已清空 */
+	static ByteBuffer acquire() {
+		final ByteBuffer buffer = BUFFERS.poll();
+		if (buffer == null) {
+			return ByteBuffer.allocateDirect(SIZE);
+		}
+		COUNT.decrementAndGet();
+		return buffer.clear();
+	}
+
+	/** 归还缓冲区，超出保留数量将被丢弃 */
+	static void release(ByteBuffer buffer) {
+		if (buffer.isDirect() && buffer.capacity() == SIZE) {
+			if (COUNT.incrementAndGet() <= MAX) {
+				BUFFERS.offer(buffer);
+			} else {
+				COUNT.decrementAndGet();
+			}
+		}
+	}
+}
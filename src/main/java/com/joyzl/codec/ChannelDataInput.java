@@ -0,0 +1,197 @@
+/*
+ * Copyright © 2017-2025 重庆骄智科技有限公司.
+ * 本软件根据 Apache License 2.0 开源，详见 LICENSE 文件。
+ */
+package com.joyzl.codec;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.IllegalBlockingModeException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.ScatteringByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SeekableByteChannel;
+
+/**
+ * 字节解码为数据，读取通道(阻塞模式)，非阻塞通道(SelectableChannel)抛出 IllegalBlockingModeException，非阻塞传输应以帧(FrameDecoder)读取
+ * <p>
+ * 从通道读取字节到池化的直接内存缓冲区，缓冲区不足时补充，仅在需要时读取通道以免阻塞。
+ * 预读模式批量读取字节，较大的字节数组在通道支持时直接分散读取(scattering read)到数组和缓冲区；
+ * 非预读模式仅读取当前所需的字节，通道中之后的字节保持未读取，每个数值和变长值的每个字节均须一次通道读取。
+ * 使用完成后须调用{@link #release()}归还缓冲区，
+ * 可定位通道(例如 FileChannel)将回退已预读但未使用的字节，通道不会被关闭。
+ * </p>
+ * <p>
+ * 不可定位的通道(例如 SocketChannel 和 Pipe)预读的字节在 release() 后丢失，
+ * 默认仅可定位通道使用预读模式；连续读取多个消息时应保留一个预读模式的实例供多次读取(例如 ODBSBinary.readEntity(ChannelDataInput))。
+ * </p>
+ *
+ * @author ZhangXi
+ * @date 2026年10月18日
+ */
+public class ChannelDataInput extends ByteBufferDataInput {
+
+	private final ReadableByteChannel channel;
+	private final ByteBuffer[] scatters;
+	private final boolean readahead;
+
+	/** 可定位通道为预读模式，其它通道为非预读模式 */
+	public ChannelDataInput(ReadableByteChannel channel) {
+		this(channel, channel instanceof SeekableByteChannel);
+	}
+
+	/**
+	 * @param readahead 是否预读，不可定位的通道预读的字节仅能由此实例读取
+	 */
+	public ChannelDataInput(ReadableByteChannel channel, boolean readahead) {
+		super(acquire(channel).flip());
+		this.channel = channel;
+		this.readahead = readahead;
+		if (readahead && channel instanceof ScatteringByteChannel) {
+			scatters = new ByteBuffer[2];
+		} else {
+			scatters = null;
+		}
+	}
+
+	/** 非阻塞通道读取可能为0字节，不支持 */
+	private static ByteBuffer acquire(ReadableByteChannel channel) {
+		if (channel instanceof SelectableChannel && !((SelectableChannel) channel).isBlocking()) {
+			throw new IllegalBlockingModeException();
+		}
+		return ByteBufferPool.acquire();
+	}
+
+	public ReadableByteChannel channel() {
+		return channel;
+	}
+
+	/** 是否预读 */
+	public boolean readahead() {
+		return readahead;
+	}
+
+	@Override
+	protected void require(int size) throws IOException {
+		if (buffer.remaining() < size) {
+			if (size > buffer.capacity()) {
+				throw new IOException("超出缓冲区容量");
+			}
+			buffer.compact();
+			if (!readahead) {
+				buffer.limit(size);
+			}
+			try {
+				while (buffer.position() < size) {
+					if (channel.read(buffer) < 0) {
+						throw new EOFException();
+					}
+				}
+			} finally {
+				buffer.flip();
+			}
+		}
+	}
+
+	/**
+	 * 尝试从通道补充字节，返回缓冲区中可读取的字节数，0表示通道已结束；非预读模式最多补充1字节
+	 */
+	public int fill() throws IOException {
+		return fill(1);
+	}
+
+	/** 尝试从通道补充字节，非预读模式最多补充指定字节数 */
+	private int fill(int max) throws IOException {
+		if (buffer.remaining() == 0) {
+			buffer.clear();
+			if (!readahead) {
+				buffer.limit(Math.min(max, buffer.capacity()));
+			}
+			try {
+				channel.read(buffer);
+			} finally {
+				buffer.flip();
+			}
+		}
+		return buffer.remaining();
+	}
+
+	/** 归还缓冲区，可定位通道回退预读字节，此后实例不可再使用 */
+	public void release() throws IOException {
+		if (buffer != null) {
+			try {
+				if (buffer.hasRemaining() && channel instanceof SeekableByteChannel seekable) {
+					seekable.position(seekable.position() - buffer.remaining());
+				}
+			} finally {
+				ByteBufferPool.release(buffer);
+				buffer = null;
+			}
+		}
+	}
+
+	@Override
+	public void readFully(byte[] b, int off, int len) throws IOException {
+		if (len <= buffer.remaining()) {
+			buffer.get(b, off, len);
+			return;
+		}
+
+		// 先取出缓冲区剩余字节
+		final ByteBuffer target = ByteBuffer.wrap(b, off, len);
+		target.put(buffer);
+		if (target.remaining() < buffer.capacity() >> 1) {
+			while (target.hasRemaining()) {
+				require(Math.min(target.remaining(), buffer.capacity()));
+				final int limit = buffer.limit();
+				buffer.limit(buffer.position() + Math.min(buffer.remaining(), target.remaining()));
+				target.put(buffer);
+				buffer.limit(limit);
+			}
+		} else if (scatters != null) {
+			// 分散读取到数组，同时预读后续字节到缓冲区
+			buffer.clear();
+			scatters[0] = target;
+			scatters[1] = buffer;
+			try {
+				while (target.hasRemaining()) {
+					if (((ScatteringByteChannel) channel).read(scatters) < 0) {
+						throw new EOFException();
+					}
+				}
+			} finally {
+				scatters[0] = null;
+				buffer.flip();
+			}
+		} else {
+			buffer.clear().flip();
+			while (target.hasRemaining()) {
+				if (channel.read(target) < 0) {
+					throw new EOFException();
+				}
+			}
+		}
+	}
+
+	@Override
+	public int skipBytes(int n) throws IOException {
+		int size = 0;
+		while (size < n && fill(n - size) > 0) {
+			size += super.skipBytes(n - size);
+		}
+		return size;
+	}
+
+	@Override
+	public char[] readASCIIs(int size) throws IOException {
+		if (size <= buffer.capacity()) {
+			return super.readASCIIs(size);
+		}
+		final char[] asciis = new char[size];
+		for (size = 0; size < asciis.length; size++) {
+			asciis[size] = (char) readByte();
+		}
+		return asciis;
+	}
+}
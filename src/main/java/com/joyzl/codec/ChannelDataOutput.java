@@ -0,0 +1,144 @@
+/*
+ * Copyright © 2017-2025 重庆骄智科技有限公司.
+ * 本软件根据 Apache License 2.0 开源，详见 LICENSE 文件。
+ */
+package com.joyzl.codec;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.IllegalBlockingModeException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * 数据编码为字节，写入通道(阻塞模式)，非阻塞通道(SelectableChannel)抛出 IllegalBlockingModeException
+ * <p>
+ * 字节先写入池化的直接内存缓冲区，缓冲区满时输出到通道，避免中间字节数组复制；
+ * 较大的字节数组在通道支持时与缓冲区一起聚集写入(gathering write)。
+ * 使用完成后须调用{@link #release()}输出剩余字节并归还缓冲区，通道不会被关闭。
+ * </p>
+ *
+ * @author ZhangXi
+ * @date 2026年10月18日
+ */
+public class ChannelDataOutput extends ByteBufferDataOutput implements Flushable {
+
+	private final WritableByteChannel channel;
+	private final ByteBuffer[] gathers;
+
+	public ChannelDataOutput(WritableByteChannel channel) {
+		super(acquire(channel));
+		this.channel = channel;
+		if (channel instanceof GatheringByteChannel) {
+			gathers = new ByteBuffer[2];
+		} else {
+			gathers = null;
+		}
+	}
+
+	/** 非阻塞通道写入可能为0字节，不支持 */
+	private static ByteBuffer acquire(WritableByteChannel channel) {
+		if (channel instanceof SelectableChannel && !((SelectableChannel) channel).isBlocking()) {
+			throw new IllegalBlockingModeException();
+		}
+		return ByteBufferPool.acquire();
+	}
+
+	public WritableByteChannel channel() {
+		return channel;
+	}
+
+	@Override
+	protected void require(int size) throws IOException {
+		if (buffer.remaining() < size) {
+			flush();
+			if (buffer.remaining() < size) {
+				throw new IOException("超出缓冲区容量");
+			}
+		}
+	}
+
+	/** 输出缓冲区中的所有字节到通道 */
+	@Override
+	public void flush() throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	/** 输出剩余字节并归还缓冲区，此后实例不可再使用 */
+	public void release() throws IOException {
+		if (buffer != null) {
+			try {
+				flush();
+			} finally {
+				ByteBufferPool.release(buffer);
+				buffer = null;
+			}
+		}
+	}
+
+	@Override
+	public void reset() {
+		// 字节已输出到通道，仅清空缓冲区
+		buffer.clear();
+	}
+
+	@Override
+	public void write(byte[] values, int offset, int length) throws IOException {
+		if (length <= buffer.remaining()) {
+			buffer.put(values, offset, length);
+		} else {
+			write(ByteBuffer.wrap(values, offset, length));
+		}
+	}
+
+	@Override
+	public void write(ByteBuffer values) throws IOException {
+		if (values.remaining() <= buffer.remaining()) {
+			buffer.put(values);
+		} else if (gathers != null && values.remaining() >= buffer.capacity() >> 1) {
+			// 聚集写入缓冲区字节和数组字节
+			buffer.flip();
+			gathers[0] = buffer;
+			gathers[1] = values;
+			try {
+				while (values.hasRemaining()) {
+					((GatheringByteChannel) channel).write(gathers);
+				}
+			} finally {
+				gathers[1] = null;
+				buffer.clear();
+			}
+		} else {
+			// 分段填满缓冲区输出
+			final int limit = values.limit();
+			try {
+				while (values.remaining() > buffer.remaining()) {
+					values.limit(values.position() + buffer.remaining());
+					buffer.put(values);
+					values.limit(limit);
+					flush();
+				}
+			} finally {
+				values.limit(limit);
+			}
+			buffer.put(values);
+		}
+	}
+
+	@Override
+	public void writeASCIIs(CharSequence value) throws IOException {
+		if (value.length() <= buffer.capacity()) {
+			super.writeASCIIs(value);
+		} else {
+			for (int index = 0; index < value.length(); index++) {
+				writeByte(value.charAt(index));
+			}
+		}
+	}
+}
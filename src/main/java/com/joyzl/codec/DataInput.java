@@ -9,6 +9,7 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.nio.CharBuffer;
 import java.nio.ReadOnlyBufferException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -280,6 +281,31 @@ public interface DataInput extends java.io.DataInput {
 		return String.valueOf(readChars(readVarint()));
 	}
 
+	/**
+	 * 读取紧凑String值,具有前导字节长度,n Byte
+	 * 
+	 * @see DataOutput#writeCompactString(String)
+	 */
+	default String readCompactString() throws IOException {
+		return readCompactString(readVarint());
+	}
+
+	/**
+	 * 读取紧凑String值，前导已由调用者读取并移除标记位
+	 * 
+	 * @param head 前导 varint(字节长度&lt;&lt;1|Latin-1)
+	 * @see DataOutput#writeCompactString(String, int)
+	 */
+	default String readCompactString(int head) throws IOException {
+		final byte[] bytes = new byte[head >>> 1];
+		readFully(bytes);
+		if ((head & 1) == 0) {
+			return new String(bytes, StandardCharsets.UTF_8);
+		} else {
+			return new String(bytes, StandardCharsets.ISO_8859_1);
+		}
+	}
+
 	/** 读取ASCII值,1 Byte */
 	default char readASCII() throws IOException {
 		return (char) readByte();
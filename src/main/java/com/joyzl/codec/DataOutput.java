@@ -7,6 +7,7 @@ package com.joyzl.codec;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -256,6 +257,49 @@ public interface DataOutput extends java.io.DataOutput {
 		writeChars(value);
 	}
 
+	/**
+	 * 写入紧凑String值,具有前导字节长度,n Byte
+	 * <p>
+	 * 前导 varint(字节长度&lt;&lt;1|1) 之后为 Latin-1 字节，字符均不大于0xFF时采用；
+	 * 前导 varint(字节长度&lt;&lt;1) 之后为 UTF-8 字节，未配对的代理字符将被替换为'?'。
+	 * </p>
+	 * 
+	 * @see DataInput#readCompactString()
+	 */
+	default void writeCompactString(String value) throws IOException {
+		writeCompactString(value, 0);
+	}
+
+	/**
+	 * 写入紧凑String值，前导 varint 左移指定位数，低位为0留给调用者作为标记
+	 * 
+	 * @param shift 前导左移位数
+	 * @see DataInput#readCompactString(int)
+	 */
+	default void writeCompactString(String value, int shift) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		if (bytes.length == value.length()) {
+			// ASCII
+			writeVarint((bytes.length << 1 | 1) << shift);
+		} else if (latin1(value)) {
+			bytes = value.getBytes(StandardCharsets.ISO_8859_1);
+			writeVarint((bytes.length << 1 | 1) << shift);
+		} else {
+			writeVarint((bytes.length << 1) << shift);
+		}
+		write(bytes);
+	}
+
+	/** 检查字符是否均为Latin-1字符 */
+	private static boolean latin1(String value) {
+		for (int index = 0; index < value.length(); index++) {
+			if (value.charAt(index) > 0xFF) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/** 写入ASCII值,1 Byte, 8 Bit */
 	default void writeASCII(char value) throws IOException {
 		writeByte(value);
@@ -0,0 +1,207 @@
+/*
+ * Copyright © 2017-2025 重庆骄智科技有限公司.
+ * 本软件根据 Apache License 2.0 开源，详见 LICENSE 文件。
+ */
+package com.joyzl.codec;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.zip.CRC32C;
+
+/**
+ * 帧解码，将流式传输中分段到达的字节重组为 FrameEncoder 输出的完整帧
+ * <p>
+ * 接收的字节追加到池化的直接内存缓冲区，超出缓冲区容量的帧扩容为堆内存缓冲区；
+ * {@link #next()} 在帧完整时返回帧内容，不完整时返回 null 而不阻塞，适用于非阻塞通道和多个消息流水线传输。
+ * 帧带有校验时检查CRC32C，使用完成后须调用{@link #release()}归还缓冲区，不是线程安全的。
+ * </p>
+ *
+ * <pre>
+ * decoder.read(channel);
+ * ByteBuffer frame;
+ * while ((frame = decoder.next()) != null) {
+ * 	// 处理帧内容，下次 next() 之前有效
+ * }
+ * </pre>
+ *
+ * @author ZhangXi
+ * @date 2026年10月18日
+ * @see FrameEncoder
+ */
+public class FrameDecoder {
+
+	private final CRC32C crc = new CRC32C();
+	private final int max;
+	/** 接收缓冲区(读取状态) */
+	private ByteBuffer buffer;
+
+	public FrameDecoder() {
+		this(FrameEncoder.MAX_LENGTH);
+	}
+
+	/**
+	 * @param max 最大帧长度，超出时视为无效数据
+	 */
+	public FrameDecoder(int max) {
+		this.max = max;
+		buffer = ByteBufferPool.acquire().flip();
+	}
+
+	/** 追加接收的字节，读取字节的剩余字节 */
+	public void feed(ByteBuffer bytes) {
+		require(bytes.remaining());
+		buffer.compact();
+		buffer.put(bytes);
+		buffer.flip();
+	}
+
+	/** 追加接收的字节 */
+	public void feed(byte[] bytes, int offset, int length) {
+		feed(ByteBuffer.wrap(bytes, offset, length));
+	}
+
+	/**
+	 * 从通道读取字节，非阻塞通道可能读取0字节
+	 *
+	 * @return 读取的字节数，通道结束时为-1
+	 */
+	public int read(ReadableByteChannel channel) throws IOException {
+		if (buffer.capacity() == buffer.remaining()) {
+			require(buffer.capacity());
+		}
+		buffer.compact();
+		try {
+			return channel.read(buffer);
+		} finally {
+			buffer.flip();
+		}
+	}
+
+	/** 已接收但未解码的字节数 */
+	public int remaining() {
+		return buffer.remaining();
+	}
+
+	/**
+	 * 下一个完整帧的内容，帧不完整时返回 null；
+	 * 返回的缓冲区与接收缓冲区共享字节，下次 feed()/read()/next() 之前有效
+	 *
+	 * @throws IOException 帧长度无效或校验错误
+	 */
+	public ByteBuffer next() throws IOException {
+		final int limit = buffer.limit();
+		int index = buffer.position();
+
+		// 帧头
+		int head = 0, shift = 0, b;
+		do {
+			if (index >= limit) {
+				return null;
+			}
+			b = buffer.get(index++);
+			head |= (b & 0x7F) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0 && shift < 35);
+		if ((b & 0x80) != 0) {
+			throw new IOException("帧头无效");
+		}
+		final int length = head >>> 1;
+		if (length < 0 || length > max) {
+			throw new IOException("帧长度超出限制 " + length);
+		}
+		final boolean checksum = (head & 1) != 0;
+		final int size = index - buffer.position() + (checksum ? 4 : 0) + length;
+		if (buffer.remaining() < size) {
+			// 确保可容纳完整帧
+			require(size - buffer.remaining());
+			return null;
+		}
+
+		int value = 0;
+		if (checksum) {
+			value = buffer.getInt(index);
+			index += 4;
+		}
+		final ByteBuffer frame = buffer.slice(index, length);
+		if (checksum) {
+			crc.reset();
+			crc.update(frame.duplicate());
+			if ((int) crc.getValue() != value) {
+				throw new IOException("帧校验错误");
+			}
+		}
+		buffer.position(index + length);
+		return frame;
+	}
+
+	/** 归还池化的缓冲区，之后不可再使用 */
+	public void release() {
+		if (buffer != null) {
+			ByteBufferPool.release(buffer);
+			buffer = null;
+		}
+	}
+
+	/** 确保缓冲区可再追加指定字节，不足时扩容 */
+	private void require(int size) {
+		if (buffer.capacity() - buffer.remaining() < size) {
+			int capacity = buffer.capacity() << 1;
+			if (capacity < buffer.remaining() + size) {
+				capacity = buffer.remaining() + size;
+			}
+			final ByteBuffer temp = ByteBuffer.allocate(capacity);
+			temp.put(buffer);
+			ByteBufferPool.release(buffer);
+			buffer = temp.flip();
+		}
+	}
+
+	/**
+	 * 从输入流阻塞读取一个完整帧，输入流在帧边界结束时返回 null
+	 *
+	 * @throws IOException 帧长度无效、校验错误或帧不完整
+	 */
+	public static byte[] read(InputStream in, int max) throws IOException {
+		int head = 0, shift = 0, b;
+		do {
+			b = in.read();
+			if (b < 0) {
+				if (shift == 0) {
+					return null;
+				}
+				throw new EOFException();
+			}
+			head |= (b & 0x7F) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0 && shift < 35);
+		if ((b & 0x80) != 0) {
+			throw new IOException("帧头无效");
+		}
+		final int length = head >>> 1;
+		if (length < 0 || length > max) {
+			throw new IOException("帧长度超出限制 " + length);
+		}
+
+		int value = 0;
+		if ((head & 1) != 0) {
+			for (int index = 0; index < 4; index++) {
+				b = in.read();
+				if (b < 0) {
+					throw new EOFException();
+				}
+				value = value << 8 | b;
+			}
+		}
+		final byte[] bytes = in.readNBytes(length);
+		if (bytes.length < length) {
+			throw new EOFException();
+		}
+		if ((head & 1) != 0 && FrameEncoder.checksum(ByteBuffer.wrap(bytes)) != value) {
+			throw new IOException("帧校验错误");
+		}
+		return bytes;
+	}
+}
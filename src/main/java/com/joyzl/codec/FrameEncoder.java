@@ -0,0 +1,91 @@
+/*
+ * Copyright © 2017-2025 重庆骄智科技有限公司.
+ * 本软件根据 Apache License 2.0 开源，详见 LICENSE 文件。
+ */
+package com.joyzl.codec;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.zip.CRC32C;
+
+/**
+ * 帧编码，每个消息以字节长度和可选的CRC32C校验为前缀，适用于TCP等流式传输中传输多个消息
+ *
+ * <pre>
+ * varint(字节长度&lt;&lt;1|校验标识) [CRC32C(4字节大端序)] 消息字节...
+ * </pre>
+ *
+ * @author ZhangXi
+ * @date 2026年10月18日
+ * @see FrameDecoder
+ */
+public final class FrameEncoder {
+
+	/** 默认最大帧长度 16MB */
+	public final static int MAX_LENGTH = 16 * 1024 * 1024;
+	/** 帧头最大字节数 */
+	final static int HEAD = 5 + 4;
+
+	private FrameEncoder() {
+		// 禁止实例化
+	}
+
+	/** 输出帧 */
+	public static void write(OutputStream out, byte[] bytes, int offset, int length, boolean checksum) throws IOException {
+		final byte[] head = new byte[HEAD];
+		final int size = head(head, length, checksum, checksum ? checksum(ByteBuffer.wrap(bytes, offset, length)) : 0);
+		out.write(head, 0, size);
+		out.write(bytes, offset, length);
+	}
+
+	/** 输出帧，消息为缓冲区剩余字节，缓冲区位置将移至限制位置 */
+	public static void write(WritableByteChannel channel, ByteBuffer bytes, boolean checksum) throws IOException {
+		final byte[] head = new byte[HEAD];
+		final int size = head(head, bytes.remaining(), checksum, checksum ? checksum(bytes.duplicate()) : 0);
+		final ByteBuffer buffer = ByteBuffer.wrap(head, 0, size);
+		if (channel instanceof GatheringByteChannel) {
+			final ByteBuffer[] buffers = new ByteBuffer[] { buffer, bytes };
+			while (buffer.hasRemaining() || bytes.hasRemaining()) {
+				((GatheringByteChannel) channel).write(buffers);
+			}
+		} else {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			while (bytes.hasRemaining()) {
+				channel.write(bytes);
+			}
+		}
+	}
+
+	/** 帧头，返回帧头字节数 */
+	private static int head(byte[] head, int length, boolean checksum, int crc) throws IOException {
+		if (length > MAX_LENGTH) {
+			throw new IOException("帧长度超出限制 " + length);
+		}
+		int value = length << 1 | (checksum ? 1 : 0);
+		int size = 0;
+		while ((value & ~0x7F) != 0) {
+			head[size++] = (byte) ((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		head[size++] = (byte) value;
+		if (checksum) {
+			head[size++] = (byte) (crc >>> 24);
+			head[size++] = (byte) (crc >>> 16);
+			head[size++] = (byte) (crc >>> 8);
+			head[size++] = (byte) crc;
+		}
+		return size;
+	}
+
+	/** CRC32C校验值，JVM内置为硬件指令 */
+	static int checksum(ByteBuffer bytes) {
+		final CRC32C crc = new CRC32C();
+		crc.update(bytes);
+		return (int) crc.getValue();
+	}
+}
@@ -0,0 +1,94 @@
+package com.joyzl.odbs;
+
+import com.joyzl.EnumCode;
+
+/**
+ * 枚举代码查找表，解码时由代码直接定位枚举常量而无须逐个比较；
+ * 代码连续或较密集时使用数组按代码偏移索引，稀疏时使用开放寻址哈希表，代码重复时保留首个常量
+ *
+ * @author ZhangXi 2026年10月18日
+ */
+final class EnumCodes<T extends EnumCode> {
+
+	/** 数组索引时允许的空位倍数 */
+	private final static int DENSITY = 4;
+
+	/** 数组索引的最小代码，哈希表时为0 */
+	private final int min;
+	/** 数组索引时按代码偏移的常量；哈希表时按槽位的常量 */
+	private final T[] values;
+	/** 哈希表时按槽位的代码，数组索引时为null */
+	private final int[] codes;
+	private final int mask;
+
+	@SuppressWarnings("unchecked")
+	EnumCodes(T[] constants) {
+		if (constants.length == 0) {
+			min = 0;
+			mask = 0;
+			codes = null;
+			values = (T[]) new EnumCode[0];
+			return;
+		}
+
+		int low = constants[0].code(), high = low;
+		for (T constant : constants) {
+			low = Math.min(low, constant.code());
+			high = Math.max(high, constant.code());
+		}
+
+		final long span = (long) high - low + 1;
+		if (span <= (long) constants.length * DENSITY + 16) {
+			min = low;
+			mask = 0;
+			codes = null;
+			values = (T[]) new EnumCode[(int) span];
+			for (T constant : constants) {
+				if (values[constant.code() - low] == null) {
+					values[constant.code() - low] = constant;
+				}
+			}
+		} else {
+			min = 0;
+			final int size = Integer.highestOneBit(constants.length * 2 - 1) << 1;
+			mask = size - 1;
+			codes = new int[size];
+			values = (T[]) new EnumCode[size];
+			int slot;
+			for (T constant : constants) {
+				slot = hash(constant.code()) & mask;
+				while (values[slot] != null && codes[slot] != constant.code()) {
+					slot = (slot + 1) & mask;
+				}
+				if (values[slot] == null) {
+					codes[slot] = constant.code();
+					values[slot] = constant;
+				}
+			}
+		}
+	}
+
+	/** 获取代码对应的枚举常量，无对应常量时返回null */
+	T get(int code) {
+		if (codes == null) {
+			code -= min;
+			if (code >= 0 && code < values.length) {
+				return values[code];
+			}
+			return null;
+		}
+		int slot = hash(code) & mask;
+		while (values[slot] != null) {
+			if (codes[slot] == code) {
+				return values[slot];
+			}
+			slot = (slot + 1) & mask;
+		}
+		return null;
+	}
+
+	private static int hash(int code) {
+		code *= 0x9E3779B9;
+		return code ^ (code >>> 16);
+	}
+}
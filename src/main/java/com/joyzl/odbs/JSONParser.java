@@ -0,0 +1,205 @@
+/*
+ * Copyright © 2017-2025 重庆骄智科技有限公司.
+ * 本软件根据 Apache License 2.0 开源，详见 LICENSE 文件。
+ */
+package com.joyzl.odbs;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * JSON流式解析，逐个读取解析事件，无须绑定实体类型
+ * <p>
+ * 解析器仅保留当前键或值的字符，可跳过不关心的值和结构，以固定内存从大型JSON中提取少量字段：
+ *
+ * <pre>
+ * final JSONParser parser = new JSONParser(reader);
+ * JSONToken token;
+ * while ((token = parser.next()) != null) {
+ * 	if (token == JSONToken.KEY) {
+ * 		if ("id".contentEquals(parser.chars())) {
+ * 			parser.next();
+ * 			id = parser.getLong();
+ * 		} else {
+ * 			parser.skip();
+ * 		}
+ * 	}
+ * }
+ * </pre>
+ * </p>
+ * <p>
+ * 根值必须为对象或数组，根值结束后 next() 返回 null；解析器不是多线程安全的。
+ * </p>
+ *
+ * @author ZhangXi
+ * @date 2026年10月18日
+ */
+public final class JSONParser {
+
+	private final static byte OBJECT = 1;
+	private final static byte ARRAY = 2;
+
+	private final JSONReader reader = new JSONReader();
+	/** 结构层级 */
+	private byte[] stack = new byte[16];
+	private int depth;
+	/** 已读取键，下一个为值 */
+	private boolean value;
+	/** 根值已结束 */
+	private boolean finished;
+	private JSONToken token;
+
+	/** 从字符流解析，字符以块方式读取 */
+	public JSONParser(Reader reader) {
+		this.reader.reset(reader, JSONReader.BLOCK);
+	}
+
+	/** 从UTF-8字节流解析，字节以块方式读取并解码 */
+	public JSONParser(InputStream input) {
+		reader.reset(input, JSONReader.BLOCK);
+	}
+
+	/** 读取下一个解析事件，根值结束后返回 null */
+	public JSONToken next() throws IOException {
+		if (value) {
+			value = false;
+			return token = readValue();
+		}
+		if (depth == 0) {
+			if (finished) {
+				return token = null;
+			}
+			final int c = reader.peek();
+			if (c != JSONCodec.OBJECT_BEGIN && c != JSONCodec.ARRAY_BEGIN) {
+				throw new IOException("非预期对象或数组");
+			}
+			return token = readValue();
+		}
+		if (stack[depth - 1] == OBJECT) {
+			if (reader.readKey()) {
+				value = true;
+				return token = JSONToken.KEY;
+			}
+			return token = pop();
+		} else {
+			if (reader.readNext()) {
+				return token = readValue();
+			}
+			return token = pop();
+		}
+	}
+
+	/**
+	 * 跳过值或结构：当前事件为键时跳过键的值(含对象和数组)；
+	 * 否则跳过当前所在对象或数组的剩余部分，当前事件为 BEGIN_OBJECT/BEGIN_ARRAY 时即跳过此对象或数组
+	 */
+	public void skip() throws IOException {
+		if (value) {
+			value = false;
+			reader.readIgnore();
+		} else if (depth > 0) {
+			if (stack[depth - 1] == OBJECT) {
+				while (reader.readKey()) {
+					reader.readIgnore();
+				}
+			} else {
+				while (reader.readNext()) {
+					reader.readIgnore();
+				}
+			}
+			token = pop();
+		}
+	}
+
+	private JSONToken readValue() throws IOException {
+		final int c = reader.peek();
+		if (c == JSONCodec.OBJECT_BEGIN) {
+			reader.beginObject();
+			push(OBJECT);
+			return JSONToken.BEGIN_OBJECT;
+		}
+		if (c == JSONCodec.ARRAY_BEGIN) {
+			reader.beginArray();
+			push(ARRAY);
+			return JSONToken.BEGIN_ARRAY;
+		}
+		if (c == JSONCodec.OBJECT_END || c == JSONCodec.ARRAY_END || !reader.readValue()) {
+			throw new IOException("值缺失");
+		}
+		if (c == JSONCodec.QUOTES || c == JSONCodec.QUOTE) {
+			return JSONToken.STRING;
+		}
+		if (reader.isNull()) {
+			return JSONToken.NULL;
+		}
+		if ("true".contentEquals(reader.chars()) || "false".contentEquals(reader.chars())) {
+			return JSONToken.BOOLEAN;
+		}
+		return JSONToken.NUMBER;
+	}
+
+	private void push(byte type) {
+		if (depth == stack.length) {
+			stack = Arrays.copyOf(stack, depth * 2);
+		}
+		stack[depth++] = type;
+	}
+
+	private JSONToken pop() {
+		if (--depth == 0) {
+			finished = true;
+		}
+		return stack[depth] == OBJECT ? JSONToken.END_OBJECT : JSONToken.END_ARRAY;
+	}
+
+	/** 当前解析事件 */
+	public JSONToken token() {
+		return token;
+	}
+
+	/** 当前结构层级，根对象或数组内为1 */
+	public int depth() {
+		return depth;
+	}
+
+	/** 当前键或值的字符，下次调用 next() 后改变 */
+	public CharSequence chars() {
+		return reader.chars();
+	}
+
+	/** 当前键或字符串值，空值返回 null */
+	public String getString() {
+		if (token == JSONToken.NULL) {
+			return null;
+		}
+		return reader.chars().toString();
+	}
+
+	/** 当前值 */
+	public boolean getBoolean() throws IOException {
+		return reader.getBoolean();
+	}
+
+	/** 当前值 */
+	public int getInt() throws IOException {
+		return reader.getInt();
+	}
+
+	/** 当前值 */
+	public long getLong() throws IOException {
+		return reader.getLong();
+	}
+
+	/** 当前值 */
+	public double getDouble() throws IOException {
+		return reader.getDouble();
+	}
+
+	/** 当前值 */
+	public BigDecimal getBigDecimal() throws IOException {
+		return reader.getBigDecimal();
+	}
+}
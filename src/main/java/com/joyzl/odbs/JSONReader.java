@@ -1,6 +1,7 @@
 package com.joyzl.odbs;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
 import java.math.BigDecimal;
 import java.math.BigInteger;
@@ -22,17 +23,227 @@ final class JSONReader extends JSONCodec {
 		}
 	});
 
+	/** 字符缓存块大小 */
+	final static int BLOCK = 8192;
+
+	/**
+	 * 获取字符读取器，逐字符读取，不会读取超出JSON结构的字符；
+	 * 使用完成后须调用{@link #release()}解除对读取器的引用
+	 */
 	public final static JSONReader instance(Reader reader) {
 		final JSONReader w = JSON_READER.get();
-		w.reader = reader;
-		w.begin = w.end = 0;
+		w.reset(reader, 1);
+		return w;
+	}
+
+	/**
+	 * 获取UTF-8字节读取器，逐字节读取并解码，不会读取超出JSON结构的字节；
+	 * 使用完成后须调用{@link #release()}解除对输入流的引用
+	 */
+	public final static JSONReader instance(InputStream input) {
+		final JSONReader w = JSON_READER.get();
+		w.reset(input, 1);
 		return w;
 	}
 
 	private Reader reader;
-	private int begin, end;
+	private InputStream input;
+	private int begin, end, block;
+
+	/** 字符缓存 [position,limit) 为未解析字符 */
+	private final char[] chars = new char[BLOCK];
+	private int position, limit;
+	/** UTF-8 字节缓存 [offset,count) 为未解码字节 */
+	private final byte[] bytes = new byte[BLOCK];
+	private int offset, count;
+
+	JSONReader() {
+	}
+
+	/**
+	 * 设置字符读取器，丢弃已缓存的字符
+	 *
+	 * @param block 每次读取的最大字符数，大于1时可能读取超出JSON结构的字符
+	 */
+	void reset(Reader reader, int block) {
+		this.reader = reader;
+		this.block = block;
+		input = null;
+		position = limit = 0;
+		offset = count = 0;
+		clear();
+	}
+
+	/**
+	 * 设置UTF-8字节输入流，丢弃已缓存的字节和字符
+	 *
+	 * @param block 每次读取的最大字节数，大于1时可能读取超出JSON结构的字节
+	 */
+	void reset(InputStream input, int block) {
+		this.input = input;
+		this.block = block;
+		reader = null;
+		position = limit = 0;
+		offset = count = 0;
+		clear();
+	}
+
+	/** 开始读取下一个JSON值，保留已缓存但未解析的字符 */
+	void clear() {
+		begin = end = 0;
+	}
+
+	/** 解除对读取器或输入流的引用 */
+	void release() {
+		reader = null;
+		input = null;
+	}
 
-	private JSONReader() {
+	/** 读取单个字符，缓存耗尽时块读取 */
+	private int read() throws IOException {
+		if (position < limit) {
+			return chars[position++];
+		}
+		if (fill() > 0) {
+			return chars[position++];
+		}
+		return -1;
+	}
+
+	/** 块读取字符到缓存，返回读取的字符数，流结束返回-1 */
+	private int fill() throws IOException {
+		position = 0;
+		if (input != null) {
+			limit = decode();
+		} else {
+			limit = reader.read(chars, 0, block);
+		}
+		if (limit < 0) {
+			limit = 0;
+			return -1;
+		}
+		return limit;
+	}
+
+	/** 解码UTF-8字节到字符缓存，不完整的字节序列保留到下次解码 */
+	private int decode() throws IOException {
+		int n = 0, b, b2, b3, b4, u;
+		while (true) {
+			// 保留一个字符位置用于代理对
+			while (offset < count && n < chars.length - 1) {
+				b = bytes[offset];
+				if (b >= 0) {
+					chars[n++] = (char) b;
+					offset++;
+				} else if ((b & 0xE0) == 0xC0) {
+					if (offset + 2 > count) {
+						break;
+					}
+					b2 = bytes[offset + 1];
+					chars[n++] = (char) (((b & 0x1F) << 6) | (b2 & 0x3F));
+					offset += 2;
+				} else if ((b & 0xF0) == 0xE0) {
+					if (offset + 3 > count) {
+						break;
+					}
+					b2 = bytes[offset + 1];
+					b3 = bytes[offset + 2];
+					chars[n++] = (char) (((b & 0x0F) << 12) | ((b2 & 0x3F) << 6) | (b3 & 0x3F));
+					offset += 3;
+				} else if ((b & 0xF8) == 0xF0) {
+					if (offset + 4 > count) {
+						break;
+					}
+					b2 = bytes[offset + 1];
+					b3 = bytes[offset + 2];
+					b4 = bytes[offset + 3];
+					u = ((b & 0x07) << 18) | ((b2 & 0x3F) << 12) | ((b3 & 0x3F) << 6) | (b4 & 0x3F);
+					chars[n++] = Character.highSurrogate(u);
+					chars[n++] = Character.lowSurrogate(u);
+					offset += 4;
+				} else {
+					// 无效字节
+					chars[n++] = '\uFFFD';
+					offset++;
+				}
+			}
+			if (n > 0) {
+				return n;
+			}
+			if (offset > 0) {
+				System.arraycopy(bytes, offset, bytes, 0, count - offset);
+				count -= offset;
+				offset = 0;
+			}
+			b = input.read(bytes, count, Math.min(block, bytes.length - count));
+			if (b < 0) {
+				if (count > 0) {
+					throw new IOException("UTF-8 字节流意外结束");
+				}
+				return -1;
+			}
+			count += b;
+		}
+	}
+
+	/**
+	 * 读取引号包围的字符串，必须事先读取到起始引号；
+	 * 在缓存中扫描连续无转义字符并批量复制
+	 */
+	private void readQuoted(int quote) throws IOException {
+		int c, i;
+		while (true) {
+			for (i = position; i < limit; i++) {
+				c = chars[i];
+				if (c == quote || c == ESCAPE) {
+					break;
+				}
+			}
+			if (i > position) {
+				builder.append(chars, position, i - position);
+			}
+			if (i < limit) {
+				position = i + 1;
+				if (chars[i] == quote) {
+					return;
+				}
+				c = readEscape();
+				if (c == 0) {
+					continue;
+				}
+				if (c == quote) {
+					return;
+				}
+				builder.append((char) c);
+			} else if (fill() < 0) {
+				throw new IOException("字符流意外结束");
+			}
+		}
+	}
+
+	/**
+	 * 读取无引号值，必须事先读取到首字符；
+	 * 在缓存中扫描至逗号、结构字符或空白并批量复制，返回结束字符
+	 */
+	private int readBare() throws IOException {
+		int c, i;
+		while (true) {
+			for (i = position; i < limit; i++) {
+				c = chars[i];
+				if (c == COMMA || c == OBJECT_END || c == ARRAY_END || Character.isWhitespace(c)) {
+					break;
+				}
+			}
+			if (i > position) {
+				builder.append(chars, position, i - position);
+			}
+			if (i < limit) {
+				position = i + 1;
+				return chars[i];
+			} else if (fill() < 0) {
+				throw new IOException("字符流意外结束");
+			}
+		}
 	}
 
 	/*-
@@ -79,6 +290,14 @@ final class JSONReader extends JSONCodec {
 		}
 	}
 
+	/** 探查下一个值的首字符，不消耗该字符；只能在值位置探查 */
+	public int peek() throws IOException {
+		if (begin == 0) {
+			begin = readSkip();
+		}
+		return begin;
+	}
+
 	/** beginArray() 探查数组是否还有下一个值 */
 	public boolean readNext() throws IOException {
 		if (end == ARRAY_END) {
@@ -127,46 +346,18 @@ final class JSONReader extends JSONCodec {
 		}
 
 		builder.setLength(0);
-		if (c == QUOTES) {
-			// 双引号包围的键
-			while ((c = reader.read()) >= 0) {
-				if (c == ESCAPE) {
-					c = readEscape();
-					if (c == 0) {
-						continue;
-					}
-				}
-				if (c == QUOTES) {
-					if (readSkip() == COLON) {
-						return true;
-					} else {
-						throw new IOException("键语法错误 " + builder.toString());
-					}
-				}
-				builder.append((char) c);
-			}
-		} else if (c == QUOTE) {
-			// 单引号包围的键
-			while ((c = reader.read()) >= 0) {
-				if (c == ESCAPE) {
-					c = readEscape();
-					if (c == 0) {
-						continue;
-					}
-				}
-				if (c == QUOTE) {
-					if (readSkip() == COLON) {
-						return true;
-					} else {
-						throw new IOException("键语法错误 " + builder.toString());
-					}
-				}
-				builder.append((char) c);
+		if (c == QUOTES || c == QUOTE) {
+			// 双引号或单引号包围的键
+			readQuoted(c);
+			if (readSkip() == COLON) {
+				return true;
+			} else {
+				throw new IOException("键语法错误 " + builder.toString());
 			}
 		} else {
 			// 无引号键
 			builder.append((char) c);
-			while ((c = reader.read()) >= 0) {
+			while ((c = read()) >= 0) {
 				if (c == COLON) {
 					return true;
 				}
@@ -202,59 +393,27 @@ final class JSONReader extends JSONCodec {
 		}
 
 		builder.setLength(0);
-		if (c == QUOTES) {
-			// 双引号字符串
-			// 执行可能的字符转义
-			while ((c = reader.read()) >= 0) {
-				if (c == ESCAPE) {
-					c = readEscape();
-					if (c == 0) {
-						continue;
-					}
-				}
-				if (c == QUOTES) {
-					// 继续直到逗号或结构字符
-					end = readSkip();
-					return true;
-				}
-				builder.append((char) c);
-			}
-		} else if (c == QUOTE) {
-			// 单引号字符串
+		if (c == QUOTES || c == QUOTE) {
+			// 双引号或单引号字符串
 			// 执行可能的字符转义
-			while ((c = reader.read()) >= 0) {
-				if (c == ESCAPE) {
-					c = readEscape();
-					if (c == 0) {
-						continue;
-					}
-				}
-				if (c == QUOTE) {
-					// 继续直到逗号或结构字符
-					end = readSkip();
-					return true;
-				}
-				builder.append((char) c);
-			}
+			readQuoted(c);
+			// 继续直到逗号或结构字符
+			end = readSkip();
+			return true;
 		} else {
 			// 没有双引号的字符串
 			// 不执行任何字符转义
 			builder.append((char) c);
-			while ((c = reader.read()) >= 0) {
-				if (c == COMMA || c == OBJECT_END || c == ARRAY_END) {
-					// 须报告被消耗的结束符
-					end = c;
-					return true;
-				}
-				if (Character.isWhitespace(c)) {
-					// 继续直到逗号或结构字符
-					end = readSkip();
-					return true;
-				}
-				builder.append((char) c);
+			c = readBare();
+			if (Character.isWhitespace(c)) {
+				// 继续直到逗号或结构字符
+				end = readSkip();
+			} else {
+				// 须报告被消耗的结束符
+				end = c;
 			}
+			return true;
 		}
-		throw new IOException("字符流意外结束");
 	}
 
 	/** 读取并忽略值 */
@@ -287,7 +446,7 @@ final class JSONReader extends JSONCodec {
 			// 字符串值，防止字符串中的结构字符干扰
 			// 值间的注释，防止注释干扰
 			int tag = 1;
-			while ((c = reader.read()) >= 0) {
+			while ((c = read()) >= 0) {
 				if (c == OBJECT_END) {
 					if (--tag > 0) {
 						continue;
@@ -302,23 +461,23 @@ final class JSONReader extends JSONCodec {
 					continue;
 				}
 				if (c == QUOTES) {
-					while ((c = reader.read()) >= 0) {
+					while ((c = read()) >= 0) {
 						if (c == QUOTES) {
 							break;
 						}
 						if (c == ESCAPE) {
-							reader.read();
+							read();
 						}
 					}
 					continue;
 				}
 				if (c == QUOTE) {
-					while ((c = reader.read()) >= 0) {
+					while ((c = read()) >= 0) {
 						if (c == QUOTE) {
 							break;
 						}
 						if (c == ESCAPE) {
-							reader.read();
+							read();
 						}
 					}
 					continue;
@@ -333,7 +492,7 @@ final class JSONReader extends JSONCodec {
 			// 字符串值，防止字符串中的结构字符干扰
 			// 值间的注释，防止注释干扰
 			int tag = 1;
-			while ((c = reader.read()) >= 0) {
+			while ((c = read()) >= 0) {
 				if (c == ARRAY_END) {
 					if (--tag > 0) {
 						continue;
@@ -348,23 +507,23 @@ final class JSONReader extends JSONCodec {
 					continue;
 				}
 				if (c == QUOTES) {
-					while ((c = reader.read()) >= 0) {
+					while ((c = read()) >= 0) {
 						if (c == QUOTES) {
 							break;
 						}
 						if (c == ESCAPE) {
-							reader.read();
+							read();
 						}
 					}
 					continue;
 				}
 				if (c == QUOTE) {
-					while ((c = reader.read()) >= 0) {
+					while ((c = read()) >= 0) {
 						if (c == QUOTE) {
 							break;
 						}
 						if (c == ESCAPE) {
-							reader.read();
+							read();
 						}
 					}
 					continue;
@@ -378,14 +537,14 @@ final class JSONReader extends JSONCodec {
 			// 双引号字符串值
 			// 忽略转义字符，防止转义干扰
 			// 字符串中不能有注释
-			while ((c = reader.read()) >= 0) {
+			while ((c = read()) >= 0) {
 				if (c == QUOTES) {
 					// 继续直到逗号或结构字符
 					end = readSkip();
 					return;
 				}
 				if (c == ESCAPE) {
-					reader.read();
+					read();
 				}
 			}
 		} else //
@@ -393,21 +552,21 @@ final class JSONReader extends JSONCodec {
 			// 单引号字符串值
 			// 忽略转义字符，防止转义干扰
 			// 字符串中不能有注释
-			while ((c = reader.read()) >= 0) {
+			while ((c = read()) >= 0) {
 				if (c == QUOTE) {
 					// 继续直到逗号或结构字符
 					end = readSkip();
 					return;
 				}
 				if (c == ESCAPE) {
-					reader.read();
+					read();
 				}
 			}
 		} else {
 			// 无引号值
 			// 空白必须结束，防止注释干扰
 			// 值紧贴注释，防止注释干扰 k:0//紧贴的注释
-			while ((c = reader.read()) >= 0) {
+			while ((c = read()) >= 0) {
 				if (c == COMMA || c == ARRAY_END || c == OBJECT_END) {
 					// 忽略值时需要报告结束
 					// 因为忽略值可能会消耗结构结束符
@@ -433,7 +592,7 @@ final class JSONReader extends JSONCodec {
 		// 只能在允许任意空白的位置略过
 		// 忽略可能出现的注释
 		int c;
-		while ((c = reader.read()) >= 0) {
+		while ((c = read()) >= 0) {
 			if (Character.isWhitespace(c)) {
 				continue;
 			}
@@ -448,10 +607,10 @@ final class JSONReader extends JSONCodec {
 
 	/** 读取并忽略注释，必须事先读取到 '/' */
 	private void readComment() throws IOException {
-		int c = reader.read();
+		int c = read();
 		if (c == '/') {
 			// 单行注释 //...
-			while ((c = reader.read()) >= 0) {
+			while ((c = read()) >= 0) {
 				if (c == '\r' || c == '\n' || c == 0x2028 || c == 0x2029) {
 					return;
 				}
@@ -459,9 +618,9 @@ final class JSONReader extends JSONCodec {
 		} else //
 		if (c == '*') {
 			// 多行注释 /*...*/
-			while ((c = reader.read()) >= 0) {
+			while ((c = read()) >= 0) {
 				if (c == '*') {
-					c = reader.read();
+					c = read();
 					if (c == '/') {
 						return;
 					}
@@ -479,7 +638,7 @@ final class JSONReader extends JSONCodec {
 	 * 续行符也由'\'开始，后跟换行
 	 */
 	private int readEscape() throws IOException {
-		int c = reader.read();
+		int c = read();
 		if (c < 0) {
 			throw new IOException("字符流意外结束");
 		}
@@ -520,13 +679,13 @@ final class JSONReader extends JSONCodec {
 			case 'x': // \x00
 			{
 				int x = 0;
-				c = reader.read();
+				c = read();
 				if (c < 0) {
 					throw new IOException("字符流意外结束");
 				} else {
 					x = Character.digit(c, 16) * 16;
 				}
-				c = reader.read();
+				c = read();
 				if (c < 0) {
 					throw new IOException("字符流意外结束");
 				} else {
@@ -538,25 +697,25 @@ final class JSONReader extends JSONCodec {
 			case 'u': // \u005C
 			{
 				int u = 0;
-				c = reader.read();
+				c = read();
 				if (c < 0) {
 					throw new IOException("字符流意外结束");
 				} else {
 					u = Character.digit(c, 16) * 16 * 16 * 16;
 				}
-				c = reader.read();
+				c = read();
 				if (c < 0) {
 					throw new IOException("字符流意外结束");
 				} else {
 					u += Character.digit(c, 16) * 16 * 16;
 				}
-				c = reader.read();
+				c = read();
 				if (c < 0) {
 					throw new IOException("字符流意外结束");
 				} else {
 					u += Character.digit(c, 16) * 16;
 				}
-				c = reader.read();
+				c = read();
 				if (c < 0) {
 					throw new IOException("字符流意外结束");
 				} else {
@@ -569,7 +728,7 @@ final class JSONReader extends JSONCodec {
 				break;
 			case 0xD: // 续行
 			{ // 检查 \r\n 情况
-				c = reader.read();
+				c = read();
 				if (c < 0) {
 					throw new IOException("字符流意外结束");
 				}
@@ -679,13 +838,145 @@ final class JSONReader extends JSONCodec {
 		return (byte) Integer.parseInt(builder, 0, builder.length(), 10);
 	}
 
+	/** 可精确表示的10的幂 */
+	private final static double[] POW10 = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+	private final static float[] POW10F = { 1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f };
+
+	/** 十进制数值的有效数字、有效位数和指数，由 decimal() 解析 */
+	private long significand;
+	private int digits, exponent;
+	private boolean negative, integral;
+
+	/**
+	 * 直接从字符解析十进制数值 [-]d[.d][e[-]d]，
+	 * 有效位数超过18位或非十进制格式时返回false
+	 */
+	private boolean decimal() {
+		final int length = builder.length();
+		int i = 0, c;
+		significand = 0;
+		digits = exponent = 0;
+		negative = false;
+		integral = true;
+		if (length == 0) {
+			return false;
+		}
+		c = builder.charAt(0);
+		if (c == '-') {
+			negative = true;
+			i++;
+		} else if (c == '+') {
+			i++;
+		}
+		boolean any = false;
+		for (; i < length; i++) {
+			c = builder.charAt(i) - '0';
+			if (c < 0 || c > 9) {
+				break;
+			}
+			any = true;
+			if (significand > 0 || c > 0) {
+				if (++digits > 18) {
+					return false;
+				}
+				significand = significand * 10 + c;
+			}
+		}
+		if (i < length && builder.charAt(i) == '.') {
+			integral = false;
+			for (i++; i < length; i++) {
+				c = builder.charAt(i) - '0';
+				if (c < 0 || c > 9) {
+					break;
+				}
+				any = true;
+				exponent--;
+				if (significand > 0 || c > 0) {
+					if (++digits > 18) {
+						return false;
+					}
+					significand = significand * 10 + c;
+				}
+			}
+		}
+		if (!any) {
+			return false;
+		}
+		if (i < length && (builder.charAt(i) == 'e' || builder.charAt(i) == 'E')) {
+			boolean minus = false;
+			integral = false;
+			if (++i < length) {
+				c = builder.charAt(i);
+				if (c == '-') {
+					minus = true;
+					i++;
+				} else if (c == '+') {
+					i++;
+				}
+			}
+			int e = 0;
+			any = false;
+			for (; i < length; i++) {
+				c = builder.charAt(i) - '0';
+				if (c < 0 || c > 9) {
+					break;
+				}
+				any = true;
+				if (e < 1000) {
+					e = e * 10 + c;
+				}
+			}
+			if (!any) {
+				return false;
+			}
+			exponent += minus ? -e : e;
+		}
+		return i == length;
+	}
+
 	/** 读取值 */
 	public double getDouble() throws IOException {
+		// 有效数字和10的幂均可精确表示时一次乘除即为正确舍入结果
+		if (decimal() && digits <= 15) {
+			if (significand == 0) {
+				return negative ? -0.0 : 0.0;
+			}
+			double value = significand;
+			if (exponent == 0) {
+				return negative ? -value : value;
+			}
+			if (exponent > 0 && exponent < POW10.length) {
+				value *= POW10[exponent];
+				return negative ? -value : value;
+			}
+			if (exponent < 0 && -exponent < POW10.length) {
+				value /= POW10[-exponent];
+				return negative ? -value : value;
+			}
+		}
 		return Double.parseDouble(builder.toString());
 	}
 
 	/** 读取值 */
 	public float getFloat() throws IOException {
+		// 有效数字和10的幂均可精确表示时一次乘除即为正确舍入结果
+		if (decimal() && digits <= 7) {
+			if (significand == 0) {
+				return negative ? -0.0f : 0.0f;
+			}
+			float value = significand;
+			if (exponent == 0) {
+				return negative ? -value : value;
+			}
+			if (exponent > 0 && exponent < POW10F.length) {
+				value *= POW10F[exponent];
+				return negative ? -value : value;
+			}
+			if (exponent < 0 && -exponent < POW10F.length) {
+				value /= POW10F[-exponent];
+				return negative ? -value : value;
+			}
+		}
 		return Float.parseFloat(builder.toString());
 	}
 
@@ -699,6 +990,9 @@ final class JSONReader extends JSONCodec {
 		if (is0x()) {
 			return Integer.parseInt(builder, 2, builder.length(), 16);
 		}
+		if (decimal() && integral && digits <= 9) {
+			return negative ? (int) -significand : (int) significand;
+		}
 		return Integer.parseInt(builder, 0, builder.length(), 10);
 	}
 
@@ -707,6 +1001,9 @@ final class JSONReader extends JSONCodec {
 		if (is0x()) {
 			return Long.parseLong(builder, 2, builder.length(), 16);
 		}
+		if (decimal() && integral) {
+			return negative ? -significand : significand;
+		}
 		return Long.parseLong(builder, 0, builder.length(), 10);
 	}
 
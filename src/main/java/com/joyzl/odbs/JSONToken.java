@@ -0,0 +1,34 @@
+/*
+ * Copyright © 2017-2025 重庆骄智科技有限公司.
+ * 本软件根据 Apache License 2.0 开源，详见 LICENSE 文件。
+ */
+package com.joyzl.odbs;
+
+/**
+ * JSON解析事件
+ *
+ * @author ZhangXi
+ * @date 2026年10月18日
+ * @see JSONParser
+ */
+public enum JSONToken {
+
+	/** 对象开始 { */
+	BEGIN_OBJECT,
+	/** 对象结束 } */
+	END_OBJECT,
+	/** 数组开始 [ */
+	BEGIN_ARRAY,
+	/** 数组结束 ] */
+	END_ARRAY,
+	/** 对象键 "key": */
+	KEY,
+	/** 字符串值 "value" */
+	STRING,
+	/** 数值 0/-1.5/Infinity/NaN 及其它无引号值 */
+	NUMBER,
+	/** 布尔值 true/false */
+	BOOLEAN,
+	/** 空值 null */
+	NULL;
+}
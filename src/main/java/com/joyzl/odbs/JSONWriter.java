@@ -1,9 +1,11 @@
 package com.joyzl.odbs;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Writer;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.text.DateFormat;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -21,38 +23,209 @@ final class JSONWriter extends JSONCodec {
 		}
 	});
 
+	/** UTF-8 字节缓存块大小 */
+	final static int BLOCK = 8192;
+	/** 需要转义的ASCII字符 */
+	private final static boolean[] ESCAPES = new boolean[128];
+	static {
+		for (int c = 0; c < 0x20; c++) {
+			ESCAPES[c] = true;
+		}
+		ESCAPES[QUOTE] = true;
+		ESCAPES[QUOTES] = true;
+		ESCAPES[ESCAPE] = true;
+		ESCAPES['/'] = true;
+	}
+
+	/** 获取字符写入器 */
 	public final static JSONWriter instance(Writer writer) {
 		final JSONWriter w = JSON_WRITER.get();
 		w.writer = writer;
+		w.output = null;
+		w.buffer = null;
+		w.size = 0;
+		w.level = 0;
+		return w;
+	}
+
+	/** 获取UTF-8字节写入器，字符直接编码为UTF-8字节并以块方式写入输出流，结束时须调用 flush() */
+	public final static JSONWriter instance(OutputStream output) {
+		final JSONWriter w = JSON_WRITER.get();
+		w.writer = null;
+		w.output = output;
+		w.buffer = null;
+		w.size = 0;
+		w.level = 0;
+		return w;
+	}
+
+	/**
+	 * 获取UTF-8字节写入器，字符直接编码为UTF-8字节并以块方式写入缓冲区，结束时须调用 flush()；
+	 * 缓冲区剩余空间不足时恢复缓冲区位置(已写入的字节视为未写入)并抛出 IOException，不会抛出 BufferOverflowException
+	 */
+	public final static JSONWriter instance(ByteBuffer buffer) {
+		final JSONWriter w = JSON_WRITER.get();
+		w.writer = null;
+		w.output = null;
+		w.buffer = buffer;
+		w.mark = buffer.position();
+		w.size = 0;
 		w.level = 0;
 		return w;
 	}
 
 	private Writer writer;
+	private OutputStream output;
+	private ByteBuffer buffer;
+	/** 缓冲区开始写入的位置 */
+	private int mark;
+	/** UTF-8 字节缓存 [0,size) 为未输出字节 */
+	private final byte[] bytes = new byte[BLOCK];
+	private int size;
 	private int level;
 
 	private JSONWriter() {
 	}
 
+	/** 输出缓存的UTF-8字节，字符写入器无须调用 */
+	public void flush() throws IOException {
+		if (size > 0) {
+			if (output != null) {
+				output.write(bytes, 0, size);
+			} else {
+				put(bytes, 0, size);
+			}
+			size = 0;
+		}
+	}
+
+	/** 写入缓冲区，剩余空间不足时恢复开始写入的位置 */
+	private void put(byte[] value, int offset, int length) throws IOException {
+		if (buffer.remaining() < length) {
+			buffer.position(mark);
+			size = 0;
+			throw new IOException("ODBS JSON 缓冲区空间不足");
+		}
+		buffer.put(value, offset, length);
+	}
+
+	/** 解除对字符写入器、输出流或缓冲区的引用 */
+	void release() {
+		writer = null;
+		output = null;
+		buffer = null;
+	}
+
+	/** 输出字符 */
+	private void write(char value) throws IOException {
+		if (writer != null) {
+			writer.write(value);
+		} else if (value < 0x80) {
+			if (size == bytes.length) {
+				flush();
+			}
+			bytes[size++] = (byte) value;
+		} else if (Character.isSurrogate(value)) {
+			// 无法配对的代理字符
+			write('?');
+		} else {
+			encode(value);
+		}
+	}
+
+	/** 输出字符序列，不执行转义 */
+	private void write(CharSequence value) throws IOException {
+		if (writer != null) {
+			writer.append(value);
+		} else {
+			char c;
+			for (int i = 0; i < value.length(); i++) {
+				c = value.charAt(i);
+				if (c < 0x80) {
+					if (size == bytes.length) {
+						flush();
+					}
+					bytes[size++] = (byte) c;
+				} else {
+					i = encode(value, i);
+				}
+			}
+		}
+	}
+
+	/** 输出已编码的UTF-8字节 */
+	private void write(byte[] value, int offset) throws IOException {
+		final int length = value.length - offset;
+		if (size + length > bytes.length) {
+			flush();
+			if (length > bytes.length) {
+				if (output != null) {
+					output.write(value, offset, length);
+				} else {
+					put(value, offset, length);
+				}
+				return;
+			}
+		}
+		System.arraycopy(value, offset, bytes, size, length);
+		size += length;
+	}
+
+	/** 编码非ASCII字符，代理对编码为4字节，返回最后处理的字符位置 */
+	private int encode(CharSequence value, int i) throws IOException {
+		final char c = value.charAt(i);
+		if (Character.isSurrogate(c)) {
+			if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+				encode(Character.toCodePoint(c, value.charAt(++i)));
+			} else {
+				// 无法配对的代理字符
+				write('?');
+			}
+		} else {
+			encode(c);
+		}
+		return i;
+	}
+
+	/** 编码非ASCII字符为UTF-8字节 */
+	private void encode(int c) throws IOException {
+		if (size + 4 > bytes.length) {
+			flush();
+		}
+		if (c < 0x800) {
+			bytes[size++] = (byte) (0xC0 | (c >> 6));
+			bytes[size++] = (byte) (0x80 | (c & 0x3F));
+		} else if (c < 0x10000) {
+			bytes[size++] = (byte) (0xE0 | (c >> 12));
+			bytes[size++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+			bytes[size++] = (byte) (0x80 | (c & 0x3F));
+		} else {
+			bytes[size++] = (byte) (0xF0 | (c >> 18));
+			bytes[size++] = (byte) (0x80 | ((c >> 12) & 0x3F));
+			bytes[size++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+			bytes[size++] = (byte) (0x80 | (c & 0x3F));
+		}
+	}
+
 	public void beginArray() throws IOException {
 		writeValueComma();
-		writer.write(JSONCodec.ARRAY_BEGIN);
+		write(JSONCodec.ARRAY_BEGIN);
 		level = level << 2;
 	}
 
 	public void endArray() throws IOException {
-		writer.write(JSONCodec.ARRAY_END);
+		write(JSONCodec.ARRAY_END);
 		level = level >>> 2;
 	}
 
 	public void beginObject() throws IOException {
 		writeValueComma();
-		writer.write(JSONCodec.OBJECT_BEGIN);
+		write(JSONCodec.OBJECT_BEGIN);
 		level = level << 2;
 	}
 
 	public void endObject() throws IOException {
-		writer.write(JSONCodec.OBJECT_END);
+		write(JSONCodec.OBJECT_END);
 		level = level >>> 2;
 	}
 
@@ -63,7 +236,7 @@ final class JSONWriter extends JSONCodec {
 
 		int v = level & 3;
 		if (v == 1) {
-			writer.write(JSONCodec.COMMA);
+			write(JSONCodec.COMMA);
 		} else if (v == 0) {
 			level += 1;
 		}
@@ -76,7 +249,7 @@ final class JSONWriter extends JSONCodec {
 
 		int v = level & 3;
 		if (v == 2) {
-			writer.write(JSONCodec.COMMA);
+			write(JSONCodec.COMMA);
 		} else if (v == 0) {
 			level += 2;
 		}
@@ -85,10 +258,30 @@ final class JSONWriter extends JSONCodec {
 	/** "key": */
 	public void writeKey(CharSequence value) throws IOException {
 		writeKeyComma();
-		writer.write(JSONCodec.QUOTES);
-		writer.append(value);
-		writer.write(JSONCodec.QUOTES);
-		writer.write(JSONCodec.COLON);
+		write(JSONCodec.QUOTES);
+		write(value);
+		write(JSONCodec.QUOTES);
+		write(JSONCodec.COLON);
+	}
+
+	/** "key": 方法键名，以预先生成的键片段 ,"key": 一次输出，无须逗号时跳过首字符 */
+	public void writeKey(ODBSMethod method, JSONName format) throws IOException {
+		final int offset;
+		final int v = level & 3;
+		if (v == 1) {
+			offset = 0;
+		} else {
+			if (v == 0) {
+				level += 1;
+			}
+			offset = 1;
+		}
+		if (writer != null) {
+			final char[] key = method.chars(format);
+			writer.write(key, offset, key.length - offset);
+		} else {
+			write(method.bytes(format), offset);
+		}
 	}
 
 	/** writeKeyBegin() writeValue() writeKeyEnd() */
@@ -98,7 +291,7 @@ final class JSONWriter extends JSONCodec {
 
 	/** writeKeyBegin() writeValue() writeKeyEnd() */
 	public void writeKeyEnd() throws IOException {
-		writer.write(JSONCodec.COLON);
+		write(JSONCodec.COLON);
 	}
 
 	/** value */
@@ -106,7 +299,7 @@ final class JSONWriter extends JSONCodec {
 		writeValueComma();
 		builder.setLength(0);
 		builder.append(value);
-		writer.append(builder);
+		write(builder);
 	}
 
 	/** value */
@@ -114,7 +307,7 @@ final class JSONWriter extends JSONCodec {
 		writeValueComma();
 		builder.setLength(0);
 		builder.append(value);
-		writer.append(builder);
+		write(builder);
 	}
 
 	/** value */
@@ -122,7 +315,7 @@ final class JSONWriter extends JSONCodec {
 		writeValueComma();
 		builder.setLength(0);
 		builder.append(value);
-		writer.append(builder);
+		write(builder);
 	}
 
 	/** value */
@@ -130,7 +323,7 @@ final class JSONWriter extends JSONCodec {
 		writeValueComma();
 		builder.setLength(0);
 		builder.append(value);
-		writer.append(builder);
+		write(builder);
 	}
 
 	/** value */
@@ -138,134 +331,172 @@ final class JSONWriter extends JSONCodec {
 		writeValueComma();
 		builder.setLength(0);
 		builder.append(value);
-		writer.append(builder);
+		write(builder);
 	}
 
 	/** "value" */
 	public void writeValue(char value) throws IOException {
 		writeValueComma();
-		writer.write(JSONCodec.QUOTES);
+		write(JSONCodec.QUOTES);
 		writeEscape(value);
-		writer.write(JSONCodec.QUOTES);
+		write(JSONCodec.QUOTES);
 	}
 
 	/** value */
 	public void writeValue(BigInteger value) throws IOException {
 		writeValueComma();
-		writer.write(value.toString());
+		write(value.toString());
 	}
 
 	/** value */
 	public void writeValue(BigDecimal value) throws IOException {
 		writeValueComma();
-		writer.write(value.toString());
+		write(value.toString());
 	}
 
 	/** "value" */
 	public void writeValue(DateFormat format, Date value) throws IOException {
 		writeValueComma();
-		writer.write(JSONCodec.QUOTES);
+		write(JSONCodec.QUOTES);
 		synchronized (format) {
-			writer.write(format.format(value));
+			write(format.format(value));
 		}
-		writer.write(JSONCodec.QUOTES);
+		write(JSONCodec.QUOTES);
 	}
 
 	/** "value" */
 	public void writeValue(DateTimeFormatter format, LocalDate value) throws IOException {
 		writeValueComma();
-		writer.write(JSONCodec.QUOTES);
-		format.formatTo(value, writer);
-		writer.write(JSONCodec.QUOTES);
+		write(JSONCodec.QUOTES);
+		if (writer != null) {
+			format.formatTo(value, writer);
+		} else {
+			builder.setLength(0);
+			format.formatTo(value, builder);
+			write(builder);
+		}
+		write(JSONCodec.QUOTES);
 	}
 
 	/** "value" */
 	public void writeValue(DateTimeFormatter format, LocalTime value) throws IOException {
 		writeValueComma();
-		writer.write(JSONCodec.QUOTES);
-		format.formatTo(value, writer);
-		writer.write(JSONCodec.QUOTES);
+		write(JSONCodec.QUOTES);
+		if (writer != null) {
+			format.formatTo(value, writer);
+		} else {
+			builder.setLength(0);
+			format.formatTo(value, builder);
+			write(builder);
+		}
+		write(JSONCodec.QUOTES);
 	}
 
 	/** "value" */
 	public void writeValue(DateTimeFormatter format, LocalDateTime value) throws IOException {
 		writeValueComma();
-		writer.write(JSONCodec.QUOTES);
-		format.formatTo(value, writer);
-		writer.write(JSONCodec.QUOTES);
+		write(JSONCodec.QUOTES);
+		if (writer != null) {
+			format.formatTo(value, writer);
+		} else {
+			builder.setLength(0);
+			format.formatTo(value, builder);
+			write(builder);
+		}
+		write(JSONCodec.QUOTES);
 	}
 
 	/** "value" */
 	public void writeValue(CharSequence value) throws IOException {
 		writeValueComma();
-		writer.write(JSONCodec.QUOTES);
-		for (int i = 0; i < value.length(); i++) {
-			writeEscape(value.charAt(i));
+		write(JSONCodec.QUOTES);
+		if (writer != null) {
+			for (int i = 0; i < value.length(); i++) {
+				writeEscape(value.charAt(i));
+			}
+		} else {
+			// ASCII 无须转义的字符直接写入字节缓存
+			char c;
+			for (int i = 0; i < value.length(); i++) {
+				c = value.charAt(i);
+				if (c < 0x80) {
+					if (ESCAPES[c]) {
+						writeEscape(c);
+					} else {
+						if (size == bytes.length) {
+							flush();
+						}
+						bytes[size++] = (byte) c;
+					}
+				} else {
+					i = encode(value, i);
+				}
+			}
 		}
-		writer.write(JSONCodec.QUOTES);
+		write(JSONCodec.QUOTES);
 	}
 
 	private void writeEscape(char value) throws IOException {
 		// 转义 \" \\ \/ \b \f \n \r \t \u0000
 		if (value < 0x20) {
 			// 所有控制字符须转义
-			writer.append(ESCAPE);
+			write(ESCAPE);
 			switch (value) {
 				case '\b':
-					writer.append('b');
+					write('b');
 					break;
 				case '\f':
-					writer.append('f');
+					write('f');
 					break;
 				case '\n':
-					writer.append('n');
+					write('n');
 					break;
 				case '\r':
-					writer.append('r');
+					write('r');
 					break;
 				case '\t':
 					// 水平制表符
-					writer.append('t');
+					write('t');
 					break;
 				case '\u000B':
 					// \v 垂直制表符 JSON5
-					writer.append('v');
+					write('v');
 					break;
 				default:
 					// 十六进制 \u0000
-					writer.append('u');
+					write('u');
 					if (value < 0x10) {
-						writer.append('0');
-						writer.append('0');
-						writer.append('0');
-						writer.append(Character.forDigit(value, 16));
+						write('0');
+						write('0');
+						write('0');
+						write(Character.forDigit(value, 16));
 					} else {
-						writer.append('0');
-						writer.append('0');
-						writer.append('1');
-						writer.append(Character.forDigit(value - 0x10, 16));
+						write('0');
+						write('0');
+						write('1');
+						write(Character.forDigit(value - 0x10, 16));
 					}
 			}
 		} else if (value == QUOTE) {
 			// \'
-			writer.append(ESCAPE);
-			writer.append(QUOTE);
+			write(ESCAPE);
+			write(QUOTE);
 		} else if (value == QUOTES) {
 			// \"
-			writer.append(ESCAPE);
-			writer.append(QUOTES);
+			write(ESCAPE);
+			write(QUOTES);
 		} else if (value == ESCAPE) {
 			// \\
-			writer.append(ESCAPE);
-			writer.append(ESCAPE);
+			write(ESCAPE);
+			write(ESCAPE);
 		} else if (value == '/') {
 			// \/
 			// 20200928
 			// JSON.parse() 不支持斜杠 '\/' 转义
-			writer.append(ESCAPE);
-			writer.append('/');
+			write(ESCAPE);
+			write('/');
 		} else {
-			writer.append(value);
+			write(value);
 		}
 	}
 }
\ No newline at end of file
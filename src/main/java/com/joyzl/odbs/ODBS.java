@@ -2,11 +2,14 @@ package com.joyzl.odbs;
 
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import com.joyzl.EnumCode;
 import com.joyzl.EnumCodeText;
@@ -19,11 +22,29 @@ public final class ODBS {
 	private final Map<String, TypeEntity> NAMES;
 	private final TypeEntity[] TYPES;
 	private final byte[] SIGNATURE;
+	/** 类型查找缓存，接口不能作为实体类型无须查找 */
+	private final ClassValue<TypeEntity> LOOKUP = new ClassValue<>() {
+		@Override
+		protected TypeEntity computeValue(Class<?> c) {
+			TypeEntity t;
+			while (c != null) {
+				t = CLASSES.get(c);
+				if (t != null) {
+					return t;
+				}
+				c = c.getSuperclass();
+			}
+			return null;
+		}
+	};
 
-	private ODBS(Map<Class<?>, TypeEntity> classes) {
+	/**
+	 * @param signature 编译时类型索引中的签名，null 时计算签名
+	 */
+	private ODBS(Map<Class<?>, TypeEntity> classes, byte[] signature) {
 		TYPES = classes.values().toArray(new TypeEntity[classes.size()]);
 		CLASSES = Map.copyOf(classes);
-		SIGNATURE = sign(TYPES);
+		SIGNATURE = signature == null ? sign(TYPES) : signature;
 
 		// 建立类型名称字典
 		// 基于字符串的序列化须通过名称定位类型
@@ -46,14 +67,68 @@ public final class ODBS {
 		return initialize(names);
 	}
 
-	@SuppressWarnings("unchecked")
 	public final static ODBS initialize(String... packages) {
-		// 扫描序列化类型（枚举和类）
+		return initialize(false, packages);
+	}
+
+	public final static ODBS initializeParallel(Package... packages) {
+		final String[] names = new String[packages.length];
+		for (int index = 0; index < packages.length; index++) {
+			names[index] = packages[index].getName();
+		}
+		return initializeParallel(names);
+	}
+
+	/**
+	 * 并行初始化，在公共线程池中并行扫描包和加载类，并行构建实体类型的序列化方法；
+	 * 类型顺序、索引和签名与 initialize() 一致，适用于实体类型较多时缩短启动时间
+	 */
+	public final static ODBS initializeParallel(String... packages) {
+		return initialize(true, packages);
+	}
+
+	private static ODBS initialize(boolean parallel, String... packages) {
+		// 编译时类型索引，每个包仅读取一次
+		final ODBSIndex[] indexes = new ODBSIndex[packages.length];
+		for (int p = 0; p < packages.length; p++) {
+			indexes[p] = ODBSReflect.readIndex(packages[p], ClassLoader.getSystemClassLoader());
+		}
+		return initialize(parallel, indexes, packages);
+	}
+
+	/**
+	 * @param indexes 各包的编译时类型索引，无索引时为 null；有方法表的实体类型无须遍历类的所有方法
+	 */
+	@SuppressWarnings("unchecked")
+	static ODBS initialize(boolean parallel, ODBSIndex[] indexes, String... packages) {
+		// 扫描类（仅加载不初始化）
+		final List<List<Class<?>>> scans;
+		final ClassLoader resources = ClassLoader.getSystemClassLoader();
+		final ClassLoader loader = ODBSReflect.class.getClassLoader();
+		if (parallel) {
+			scans = IntStream.range(0, packages.length).parallel().mapToObj(p -> ODBSReflect.scanClass(packages[p], indexes[p], true, resources, loader)).collect(Collectors.toList());
+		} else {
+			scans = new ArrayList<>(packages.length);
+			for (int p = 0; p < packages.length; p++) {
+				scans.add(ODBSReflect.scanClass(packages[p], indexes[p], false, resources, loader));
+			}
+		}
+
+		// 编译时类型索引中的方法表
+		final Map<String, String[][]> tables = new HashMap<>();
+		for (ODBSIndex i : indexes) {
+			if (i != null) {
+				tables.putAll(i.tables());
+			}
+		}
+
+		// 筛选序列化类型（枚举和类），按类名称排序确保类型顺序确定
+		List<Class<?>> cs;
 		final Map<Class<?>, ODBSType> types = new TreeMap<>(new ClassComparator());
-		for (String packega : packages) {
-			List<Class<?>> cs = ODBSReflect.scanClass(packega);
+		for (int p = 0; p < packages.length; p++) {
+			cs = scans.get(p);
 			if (cs == null || cs.isEmpty()) {
-				System.err.println("在模块或包未找到任何类：" + packega);
+				System.err.println("在模块或包未找到任何类：" + packages[p]);
 			} else {
 				for (Class<?> clazz : cs) {
 					if (ODBSReflect.canSerialize(clazz)) {
@@ -87,12 +162,52 @@ public final class ODBS {
 		}
 
 		// 构建序列化方法描述
-		for (TypeEntity e : entities.values()) {
-			e.resolve(types);
+		// 各实体类型仅读取 types 而不修改，可并行构建
+		if (parallel) {
+			entities.values().parallelStream().forEach(e -> e.resolve(types, tables.get(e.type().getName())));
+		} else {
+			for (TypeEntity e : entities.values()) {
+				e.resolve(types, tables.get(e.type().getName()));
+			}
 		}
 
 		// 返回构建的序列化描述实例
-		return new ODBS(entities);
+		return new ODBS(entities, signature(indexes, tables, types, entities));
+	}
+
+	/**
+	 * 编译时类型索引中的签名；仅初始化一个包，所有实体类型均按已验证的方法表构建，
+	 * 且索引中的类均为序列化类型时与计算的签名一致，否则返回 null 以计算签名
+	 */
+	private static byte[] signature(ODBSIndex[] indexes, Map<String, String[][]> tables, Map<Class<?>, ODBSType> types, Map<Class<?>, TypeEntity> entities) {
+		if (indexes.length != 1 || indexes[0] == null || indexes[0].signature() == null) {
+			return null;
+		}
+		for (Class<?> clazz : entities.keySet()) {
+			if (!tables.containsKey(clazz.getName())) {
+				return null;
+			}
+		}
+		int size = 0;
+		for (Class<?> clazz : types.keySet()) {
+			if (tables.containsKey(clazz.getName())) {
+				size++;
+			}
+		}
+		return size == tables.size() ? indexes[0].signature() : null;
+	}
+
+	/**
+	 * 为所有实体类型生成编码解码器(隐藏类)，以直接调用替代逐个方法的类型分派，
+	 * 应在初始化之后使用之前调用，例如 ODBS.initialize(...).compile()
+	 *
+	 * @throws IllegalStateException 实体类型生成失败，此前已生成的实体类型仍使用生成的编码解码器
+	 */
+	public ODBS compile() {
+		for (TypeEntity type : TYPES) {
+			type.compile();
+		}
+		return this;
 	}
 
 	/** 计算用户定义类型和参与序列化方法的签名 */
@@ -150,33 +265,12 @@ public final class ODBS {
 		return TYPES[i];
 	}
 
+	/**
+	 * 获取类对应的实体类型，未注册的子类(例如代理类和匿名类)逐级查找父类；
+	 * 结果(包括父类和未找到)按类缓存，每个类仅查找一次
+	 */
 	TypeEntity get(Class<?> c) {
-		TypeEntity t = CLASSES.get(c);
-		if (t == null) {
-			c = c.getSuperclass();
-			if (c != null) {
-				t = CLASSES.get(c);
-				if (t == null) {
-					c = c.getSuperclass();
-					if (c != null) {
-						t = CLASSES.get(c);
-						if (t == null) {
-							c = c.getSuperclass();
-							if (c != null) {
-								t = CLASSES.get(c);
-								if (t == null) {
-									c = c.getSuperclass();
-									if (c != null) {
-										t = CLASSES.get(c);
-									}
-								}
-							}
-						}
-					}
-				}
-			}
-		}
-		return t;
+		return LOOKUP.get(c);
 	}
 
 	TypeEntity find(CharSequence chars) {
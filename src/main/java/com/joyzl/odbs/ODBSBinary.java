@@ -3,38 +3,258 @@ package com.joyzl.odbs;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.joyzl.codec.BigEndianInputStream;
 import com.joyzl.codec.BigEndianOutputStream;
+import com.joyzl.codec.BlockInputStream;
+import com.joyzl.codec.BlockOutputStream;
+import com.joyzl.codec.ByteBufferDataInput;
+import com.joyzl.codec.ByteBufferDataOutput;
+import com.joyzl.codec.ChannelDataInput;
+import com.joyzl.codec.ChannelDataOutput;
 import com.joyzl.codec.DataInput;
 import com.joyzl.codec.DataOutput;
+import com.joyzl.codec.FrameDecoder;
+import com.joyzl.codec.FrameEncoder;
 
 public final class ODBSBinary extends ODBSBinaryCodec {
 
+	/** 格式版本1，字符串逐字符 varint 编码(默认) */
+	public final static int VERSION_1 = 1;
+	/** 格式版本2，字符串以字节长度和 Latin-1/UTF-8 字节批量编码 */
+	public final static int VERSION_2 = 2;
+	/** 格式版本3，在版本2基础上每次消息使用字符串字典，重复出现的字符串仅编码序号引用 */
+	public final static int VERSION_3 = 3;
+
+	/** 选项，跟踪实体引用，每次消息中共享的实体仅编码一次并解码为同一实例，循环引用的实体可编码 */
+	public final static int REFERENCES = 1;
+	/** 选项，嵌套实体和集合以字节长度为前缀，读取时可直接跳过 */
+	public final static int FRAMING = 2;
+	/**
+	 * 选项，输出流和通道按块压缩(BlockOutputStream)，DataOutput/DataInput 不受影响；
+	 * 仅支持阻塞通道，非阻塞通道抛出 IllegalBlockingModeException，非阻塞传输应使用 writeFrame()/readFrame(FrameDecoder)
+	 */
+	public final static int COMPRESSION = 4;
+
+	/** 块压缩输出流，每个线程复用缓冲和压缩散列表；使用中从线程移除，嵌套的编码创建新的输出流 */
+	private final static ThreadLocal<BlockOutputStream> BLOCKS = new ThreadLocal<>();
+
+	/** 视图解码器，仅用于读取且无消息状态，可由多个视图共享 */
+	private ODBSBinaryFraming views;
+
 	public ODBSBinary(ODBS odbs) {
-		super(odbs);
+		this(odbs, VERSION_1, 0);
+	}
+
+	/**
+	 * 指定格式版本，编码和解码须采用相同版本
+	 * 
+	 * @see #VERSION_1
+	 * @see #VERSION_2
+	 * @see #VERSION_3
+	 */
+	public ODBSBinary(ODBS odbs, int version) {
+		this(odbs, version, 0);
+	}
+
+	/**
+	 * 指定格式版本和选项，编码和解码须采用相同设置
+	 * 
+	 * @param options {@link #REFERENCES} {@link #FRAMING} {@link #COMPRESSION} 组合
+	 */
+	public ODBSBinary(ODBS odbs, int version, int options) {
+		super(odbs, version, options);
+	}
+
+	/** 格式版本 */
+	public int version() {
+		return version;
+	}
+
+	/** 选项 */
+	public int options() {
+		return options;
+	}
+
+	/** 是否跟踪实体引用 */
+	public boolean references() {
+		return (options & REFERENCES) != 0;
+	}
+
+	/** 是否按块压缩 */
+	public boolean compression() {
+		return (options & COMPRESSION) != 0;
+	}
+
+	/** 输出流，选项 COMPRESSION 时为当前线程的块压缩输出流 */
+	private DataOutput output(OutputStream out) {
+		if ((options & COMPRESSION) != 0) {
+			final BlockOutputStream output = block();
+			output.reset(out);
+			return output;
+		}
+		return new BigEndianOutputStream(out);
+	}
+
+	/** 取出当前线程的块压缩输出流，flush() 后归还 */
+	private static BlockOutputStream block() {
+		final BlockOutputStream output = BLOCKS.get();
+		if (output == null) {
+			return new BlockOutputStream();
+		}
+		BLOCKS.set(null);
+		return output;
+	}
+
+	/** 输出块压缩缓冲的字节，每次消息结束于块边界；块压缩输出流释放输出并归还当前线程 */
+	private static void flush(DataOutput out) throws IOException {
+		if (out instanceof BlockOutputStream) {
+			final BlockOutputStream output = (BlockOutputStream) out;
+			output.flush();
+			output.reset((OutputStream) null);
+			BLOCKS.set(output);
+		}
+	}
+
+	/** 输入流，选项 COMPRESSION 时为块压缩输入流 */
+	private DataInput input(InputStream in) {
+		if ((options & COMPRESSION) != 0) {
+			return new BlockInputStream(in);
+		}
+		return new BigEndianInputStream(in);
+	}
+
+	/**
+	 * 消息输入，没有后续消息时返回 null；选项 COMPRESSION 时读取首个块，
+	 * 输入流在块边界结束时视为没有后续消息，不依赖 available() (管道和套接字可能为0)
+	 */
+	private DataInput message(InputStream in) throws IOException {
+		if ((options & COMPRESSION) != 0) {
+			final BlockInputStream input = new BlockInputStream(in);
+			return input.readable() ? input : null;
+		}
+		return in.available() > 0 ? new BigEndianInputStream(in) : null;
+	}
+
+	/** 消息编码解码器，字符串字典、实体引用和长度前缀缓冲须每次消息独立 */
+	private ODBSBinaryCodec codec() {
+		if ((options & FRAMING) != 0) {
+			return new ODBSBinaryFraming(odbs, version, options);
+		}
+		if ((options & REFERENCES) != 0) {
+			return new ODBSBinaryReferences(odbs, version, options);
+		}
+		if (version == VERSION_3) {
+			return new ODBSBinaryDictionary(odbs, version, options);
+		}
+		return this;
 	}
 
 	public void writeEntities(Collection<?> entities, OutputStream out) throws IOException {
-		writeEntities(entities, (DataOutput) new BigEndianOutputStream(out));
+		final DataOutput output = output(out);
+		writeEntities(entities, output);
+		flush(output);
+	}
+
+	public void writeEntities(Collection<?> entities, WritableByteChannel channel) throws IOException {
+		if ((options & COMPRESSION) != 0) {
+			final BlockOutputStream out = block();
+			out.reset(channel);
+			writeEntities(entities, (DataOutput) out);
+			flush(out);
+			return;
+		}
+		final ChannelDataOutput out = new ChannelDataOutput(channel);
+		try {
+			writeEntities(entities, (DataOutput) out);
+		} finally {
+			out.release();
+		}
 	}
 
 	public void writeEntities(Collection<?> entities, DataOutput out) throws IOException {
+		final ODBSBinaryCodec codec = codec();
 		// 实体数量标识
 		out.writeVarint(entities.size());
 		for (Object entity : entities) {
-			writeEntity(entity, out);
+			writeEntity(codec, entity, out);
+		}
+	}
+
+	/**
+	 * 列式批量编码同一实体类型的实体集合，逐字段按列编码而非逐个实体编码，
+	 * 整数列以差值编码，字符串列使用列字典；须通过 readColumns() 读取
+	 */
+	public void writeColumns(Collection<?> entities, OutputStream out) throws IOException {
+		final DataOutput output = output(out);
+		writeColumns(entities, output);
+		flush(output);
+	}
+
+	/**
+	 * 列式批量编码同一实体类型的实体集合，逐字段按列编码而非逐个实体编码，
+	 * 整数列以差值编码，字符串列使用列字典；须通过 readColumns() 读取
+	 */
+	public void writeColumns(Collection<?> entities, DataOutput out) throws IOException {
+		final Object[] rows = entities.toArray();
+		// 实体数量标识
+		out.writeVarint(rows.length);
+		if (rows.length > 0) {
+			final TypeEntity type = odbs.get(rows[0].getClass());
+			if (type == null) {
+				throw new IOException("ODBS Binary 类型无效");
+			}
+			for (int index = 1; index < rows.length; index++) {
+				if (odbs.get(rows[index].getClass()) != type) {
+					throw new IOException("ODBS Binary 列式编码实体类型须一致");
+				}
+			}
+			// 实体类型标识
+			out.writeVarint(type.index());
+			new ODBSBinaryColumns(codec()).write(out, type, rows);
 		}
 	}
 
 	public void writeEntity(Object entity, OutputStream out) throws IOException {
-		writeEntity(entity, (DataOutput) new BigEndianOutputStream(out));
+		final DataOutput output = output(out);
+		writeEntity(entity, output);
+		flush(output);
+	}
+
+	public void writeEntity(Object entity, WritableByteChannel channel) throws IOException {
+		if ((options & COMPRESSION) != 0) {
+			final BlockOutputStream out = block();
+			out.reset(channel);
+			writeEntity(entity, (DataOutput) out);
+			flush(out);
+			return;
+		}
+		final ChannelDataOutput out = new ChannelDataOutput(channel);
+		try {
+			writeEntity(entity, (DataOutput) out);
+		} finally {
+			out.release();
+		}
 	}
 
 	public void writeEntity(Object entity, DataOutput out) throws IOException {
+		writeEntity(codec(), entity, out);
+	}
+
+	private void writeEntity(ODBSBinaryCodec codec, Object entity, DataOutput out) throws IOException {
 		final TypeEntity type = odbs.get(entity.getClass());
 		if (type == null) {
 			throw new IOException("ODBS Binary 类型无效");
@@ -42,7 +262,7 @@ public final class ODBSBinary extends ODBSBinaryCodec {
 
 		// 实体类型标识
 		out.writeVarint(type.index());
-		writeEntity(out, type, entity);
+		codec.writeEntity(out, type, entity);
 	}
 
 	public void writeStrictEntity(Object entity, DataOutput out) throws IOException {
@@ -51,13 +271,52 @@ public final class ODBSBinary extends ODBSBinaryCodec {
 			throw new IOException("ODBS Binary 类型无效");
 		}
 		// 没有实体类型标识
-		writeEntity(out, t, entity);
+		codec().writeEntity(out, t, entity);
 	}
 
 	public final <T> List<T> readEntities(InputStream in) throws IOException {
-		if (in.available() > 0) {
+		final DataInput input = message(in);
+		if (input != null) {
+			final List<T> entities = new ArrayList<>();
+			readEntities(entities, input);
+			return entities;
+		}
+		return null;
+	}
+
+	/**
+	 * 从阻塞通道读取一个消息，通道结束时返回 null；不可定位的通道(例如 SocketChannel 和 Pipe)不预读，
+	 * 每个数值须一次通道读取，连续读取多个消息时应保留预读模式的通道输入
+	 *
+	 * @see #readEntities(ChannelDataInput)
+	 */
+	public final <T> List<T> readEntities(ReadableByteChannel channel) throws IOException {
+		if ((options & COMPRESSION) != 0) {
+			final BlockInputStream in = new BlockInputStream(channel);
+			return in.readable() ? readEntities((DataInput) in) : null;
+		}
+		final ChannelDataInput in = new ChannelDataInput(channel);
+		try {
+			if (in.fill() > 0) {
+				final List<T> entities = new ArrayList<>();
+				readEntities(entities, (DataInput) in);
+				return entities;
+			}
+			return null;
+		} finally {
+			in.release();
+		}
+	}
+
+	/**
+	 * 从调用方保留的通道输入读取一个消息，通道结束时返回 null；
+	 * 预读模式的通道输入(new ChannelDataInput(channel, true))批量读取字节，可连续读取多个消息，
+	 * 不受选项 COMPRESSION 影响，使用完成后由调用方 release()
+	 */
+	public <T> List<T> readEntities(ChannelDataInput in) throws IOException {
+		if (in.fill() > 0) {
 			final List<T> entities = new ArrayList<>();
-			readEntities(entities, (DataInput) new BigEndianInputStream(in));
+			readEntities(entities, (DataInput) in);
 			return entities;
 		}
 		return null;
@@ -70,65 +329,401 @@ public final class ODBSBinary extends ODBSBinaryCodec {
 	}
 
 	public <T> void readEntities(Collection<T> entities, InputStream in) throws IOException {
-		if (in.available() > 0) {
-			readEntities(entities, (DataInput) new BigEndianInputStream(in));
+		final DataInput input = message(in);
+		if (input != null) {
+			readEntities(entities, input);
+		}
+	}
+
+	public <T> void readEntities(Collection<T> entities, ReadableByteChannel channel) throws IOException {
+		if ((options & COMPRESSION) != 0) {
+			final BlockInputStream in = new BlockInputStream(channel);
+			if (in.readable()) {
+				readEntities(entities, (DataInput) in);
+			}
+			return;
+		}
+		final ChannelDataInput in = new ChannelDataInput(channel);
+		try {
+			if (in.fill() > 0) {
+				readEntities(entities, (DataInput) in);
+			}
+		} finally {
+			in.release();
 		}
 	}
 
 	public <T> void readEntities(Collection<T> entities, DataInput in) throws IOException {
+		final ODBSBinaryCodec codec = codec();
 		int size = in.readVarint();
 		while (size-- > 0) {
-			entities.add(readEntity(null, in));
+			entities.add(readEntity(codec, null, in));
+		}
+	}
+
+	/** 读取 writeColumns() 输出的实体 */
+	public <T> List<T> readColumns(InputStream in) throws IOException {
+		return readColumns(input(in));
+	}
+
+	/** 读取 writeColumns() 输出的实体 */
+	@SuppressWarnings("unchecked")
+	public <T> List<T> readColumns(DataInput in) throws IOException {
+		final int size = in.readVarint();
+		final List<T> entities = new ArrayList<>(size);
+		if (size > 0) {
+			final TypeEntity type = odbs.get(in.readVarint());
+			if (type == null) {
+				throw new IOException("ODBS Binary 类型无效");
+			}
+			final Object[] rows = new Object[size];
+			for (int index = 0; index < size; index++) {
+				rows[index] = type.newInstance();
+			}
+			new ODBSBinaryColumns(codec()).read(in, type, rows);
+			for (int index = 0; index < size; index++) {
+				entities.add((T) rows[index]);
+			}
+		}
+		return entities;
+	}
+
+	/**
+	 * 分块并行编码实体集合，每4096个实体为一个分块，各分块在公共线程池(ForkJoinPool)中独立编码并按顺序输出为带校验的帧；
+	 * 须通过 readChunks() 读取，不受选项 COMPRESSION 影响
+	 */
+	public void writeChunks(Collection<?> entities, OutputStream out) throws IOException {
+		writeChunks(entities, out, ODBSBinaryChunks.CHUNK);
+	}
+
+	/**
+	 * 分块并行编码实体集合，字符串字典和实体引用不跨越分块
+	 *
+	 * @param chunk 每个分块的实体数量，分块编码后不能超过 FrameEncoder.MAX_LENGTH
+	 */
+	public void writeChunks(Collection<?> entities, OutputStream out, int chunk) throws IOException {
+		if (chunk <= 0) {
+			throw new IllegalArgumentException("分块实体数量无效 " + chunk);
+		}
+		new ODBSBinaryChunks(this).write(entities, out, chunk);
+	}
+
+	/** 读取 writeChunks() 输出的实体，各分块并行解码并按顺序合并 */
+	public <T> List<T> readChunks(InputStream in) throws IOException {
+		return new ODBSBinaryChunks(this).read(in);
+	}
+
+	/**
+	 * 逐个读取 writeEntities() 输出的实体，每次 next() 解码一个实体，无须将所有实体同时保留在内存中；
+	 * 读取错误以 UncheckedIOException 抛出
+	 */
+	public <T> Iterator<T> iterate(InputStream in) throws IOException {
+		return iterate(input(in), null);
+	}
+
+	/** 逐个读取 writeEntities() 输出的实体 */
+	public <T> Iterator<T> iterate(DataInput in) throws IOException {
+		return iterate(in, null);
+	}
+
+	/**
+	 * 逐个读取 writeEntities() 输出的实体，所有实体解码到指定的同一实例，
+	 * 每次 next() 返回此实例，实例须为所有实体的类型，下次 next() 之前使用
+	 */
+	public <T> Iterator<T> iterate(DataInput in, T instence) throws IOException {
+		// 实体数量标识
+		return new EntityIterator<>(codec(), in, in.readVarint(), instence);
+	}
+
+	/** 以顺序流逐个读取 writeEntities() 输出的实体 */
+	public <T> Stream<T> stream(InputStream in) throws IOException {
+		return stream(input(in), null);
+	}
+
+	/** 以顺序流逐个读取 writeEntities() 输出的实体 */
+	public <T> Stream<T> stream(DataInput in) throws IOException {
+		return stream(in, null);
+	}
+
+	/** 以顺序流逐个读取 writeEntities() 输出的实体，所有实体解码到指定的同一实例 */
+	public <T> Stream<T> stream(DataInput in, T instence) throws IOException {
+		final EntityIterator<T> iterator = new EntityIterator<>(codec(), in, in.readVarint(), instence);
+		return StreamSupport.stream(Spliterators.spliterator(iterator, iterator.size, Spliterator.ORDERED | Spliterator.NONNULL), false);
+	}
+
+	/** 实体迭代器，每次解码一个实体 */
+	private final class EntityIterator<T> implements Iterator<T> {
+
+		private final ODBSBinaryCodec codec;
+		private final DataInput in;
+		private final T instence;
+		private final int size;
+		private int index;
+
+		EntityIterator(ODBSBinaryCodec codec, DataInput in, int size, T instence) {
+			this.codec = codec;
+			this.in = in;
+			this.size = size;
+			this.instence = instence;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return index < size;
+		}
+
+		@Override
+		public T next() {
+			if (index >= size) {
+				throw new NoSuchElementException();
+			}
+			index++;
+			try {
+				return readEntity(codec, instence, in);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
 		}
 	}
 
 	public <T> T readEntity(InputStream in) throws IOException {
-		if (in.available() > 0) {
-			return readEntity(null, (DataInput) new BigEndianInputStream(in));
+		return readEntity(null, in);
+	}
+
+	/**
+	 * 从阻塞通道读取一个消息，通道结束时返回 null；不可定位的通道(例如 SocketChannel 和 Pipe)不预读，
+	 * 每个数值须一次通道读取，连续读取多个消息时应保留预读模式的通道输入
+	 *
+	 * @see #readEntity(ChannelDataInput)
+	 */
+	public <T> T readEntity(ReadableByteChannel channel) throws IOException {
+		return readEntity(null, channel);
+	}
+
+	/**
+	 * 从调用方保留的通道输入读取一个消息，通道结束时返回 null；
+	 * 预读模式的通道输入(new ChannelDataInput(channel, true))批量读取字节，可连续读取多个消息，
+	 * 不受选项 COMPRESSION 影响，使用完成后由调用方 release()
+	 *
+	 * <pre>
+	 * final ChannelDataInput in = new ChannelDataInput(channel, true);
+	 * try {
+	 * 	while ((entity = binary.readEntity(in)) != null) {
+	 * 		...
+	 * 	}
+	 * } finally {
+	 * 	in.release();
+	 * }
+	 * </pre>
+	 */
+	public <T> T readEntity(ChannelDataInput in) throws IOException {
+		if (in.fill() > 0) {
+			return readEntity(codec(), null, in);
 		}
 		return null;
 	}
 
 	public <T> T readEntity(DataInput in) throws IOException {
-		// 读取实体类型标识
-		final TypeEntity t = odbs.get(in.readVarint());
-		if (t != null) {
-			return readEntity(in, t, null);
-		} else {
-			throw new IOException("ODBS Binary 类型无效");
-		}
+		return readEntity(codec(), null, in);
 	}
 
 	public <T> T readEntity(T instence, InputStream in) throws IOException {
-		if (in.available() > 0) {
-			return readEntity(instence, (DataInput) new BigEndianInputStream(in));
+		final DataInput input = message(in);
+		if (input != null) {
+			return readEntity(instence, input);
 		}
 		return null;
 	}
 
+	public <T> T readEntity(T instence, ReadableByteChannel channel) throws IOException {
+		if ((options & COMPRESSION) != 0) {
+			final BlockInputStream in = new BlockInputStream(channel);
+			return in.readable() ? readEntity(instence, (DataInput) in) : null;
+		}
+		final ChannelDataInput in = new ChannelDataInput(channel);
+		try {
+			if (in.fill() > 0) {
+				return readEntity(instence, (DataInput) in);
+			}
+			return null;
+		} finally {
+			in.release();
+		}
+	}
+
 	public <T> T readEntity(T entity, DataInput in) throws IOException {
+		return readEntity(codec(), entity, in);
+	}
+
+	private <T> T readEntity(ODBSBinaryCodec codec, T entity, DataInput in) throws IOException {
 		// 读取实体类型标识
 		final TypeEntity t = odbs.get(in.readVarint());
 		if (t != null) {
-			return readEntity(in, t, entity);
+			return codec.readEntity(in, t, entity);
 		} else {
 			throw new IOException("ODBS Binary 类型无效");
 		}
 	}
 
+	/**
+	 * 输出实体为一个帧，帧以字节长度和可选的CRC32C校验为前缀，适用于TCP等流式传输中连续发送多个实体；
+	 * 帧内容为 writeEntity(DataOutput) 输出的字节，不受选项 COMPRESSION 影响
+	 *
+	 * @param checksum 是否附加CRC32C校验
+	 * @see FrameEncoder
+	 */
+	public void writeFrame(Object entity, OutputStream out, boolean checksum) throws IOException {
+		final ByteBufferDataOutput output = new ByteBufferDataOutput();
+		writeEntity(entity, (DataOutput) output);
+		FrameEncoder.write(out, output.buffer().array(), output.buffer().arrayOffset(), output.size(), checksum);
+	}
+
+	/**
+	 * 输出实体为一个帧
+	 *
+	 * @see #writeFrame(Object, OutputStream, boolean)
+	 */
+	public void writeFrame(Object entity, WritableByteChannel channel, boolean checksum) throws IOException {
+		final ByteBufferDataOutput output = new ByteBufferDataOutput();
+		writeEntity(entity, (DataOutput) output);
+		FrameEncoder.write(channel, output.buffer().flip(), checksum);
+	}
+
+	/**
+	 * 读取帧解码器中下一个完整帧的实体，帧不完整时返回 null，不阻塞
+	 *
+	 * <pre>
+	 * while (decoder.read(channel) &gt;= 0) {
+	 * 	while ((entity = binary.readFrame(decoder)) != null) {
+	 * 		...
+	 * 	}
+	 * }
+	 * </pre>
+	 *
+	 * @see FrameDecoder
+	 */
+	public <T> T readFrame(FrameDecoder decoder) throws IOException {
+		final ByteBuffer frame = decoder.next();
+		if (frame == null) {
+			return null;
+		}
+		return readEntity((DataInput) new ByteBufferDataInput(frame));
+	}
+
+	/**
+	 * 从输入流阻塞读取一个帧的实体，输入流在帧边界结束时返回 null
+	 */
+	public <T> T readFrame(InputStream in) throws IOException {
+		final byte[] frame = FrameDecoder.read(in, FrameEncoder.MAX_LENGTH);
+		if (frame == null) {
+			return null;
+		}
+		return readEntity((DataInput) new ByteBufferDataInput(frame));
+	}
+
+	/**
+	 * 读取 writeEntity() 输出的实体，仅解码投影选定的字段，其余字段跳过
+	 *
+	 * @see ODBSProjection
+	 */
+	public <T> T readEntity(Class<T> type, InputStream in, ODBSProjection projection) throws IOException {
+		final DataInput input = message(in);
+		if (input != null) {
+			return readEntity(type, input, projection);
+		}
+		return null;
+	}
+
+	/**
+	 * 读取 writeEntity() 输出的实体，仅解码投影选定的字段，其余字段跳过
+	 *
+	 * @see ODBSProjection
+	 */
+	public <T> T readEntity(Class<T> type, DataInput in, ODBSProjection projection) throws IOException {
+		final TypeEntity t = projection(type, projection);
+		if (odbs.get(in.readVarint()) != t) {
+			throw new IOException("ODBS Binary 类型无效");
+		}
+		return new ODBSBinaryProjection(odbs, version, options, projection).readEntity(in, t, null);
+	}
+
+	/**
+	 * 读取 writeEntities() 输出的实体，投影类型的实体仅解码选定的字段，其它类型的实体完整解码
+	 *
+	 * @see ODBSProjection
+	 */
+	public <T> List<T> readEntities(Class<T> type, DataInput in, ODBSProjection projection) throws IOException {
+		projection(type, projection);
+		final ODBSBinaryCodec codec = new ODBSBinaryProjection(odbs, version, options, projection);
+		final List<T> entities = new ArrayList<>();
+		int size = in.readVarint();
+		while (size-- > 0) {
+			entities.add(readEntity(codec, null, in));
+		}
+		return entities;
+	}
+
+	private TypeEntity projection(Class<?> type, ODBSProjection projection) throws IOException {
+		final TypeEntity t = odbs.get(type);
+		if (t == null) {
+			throw new IOException("ODBS Binary 类型无效");
+		}
+		if (projection.type() != t) {
+			throw new IllegalArgumentException("ODBS 投影类型不匹配 " + projection.entity());
+		}
+		return t;
+	}
+
+	/**
+	 * 创建 writeEntity() 输出的实体只读视图，访问字段时才从缓冲区解码此字段；
+	 * 视图从缓冲区当前位置开始，不改变缓冲区的位置
+	 *
+	 * @throws UnsupportedOperationException 格式版本3或选项 REFERENCES，字段须按顺序解码
+	 * @see ODBSView
+	 */
+	public ODBSView view(ByteBuffer buffer) throws IOException {
+		if (version == VERSION_3 || (options & REFERENCES) != 0) {
+			throw new UnsupportedOperationException("ODBS Binary 视图不支持字符串字典和实体引用");
+		}
+		final ByteBuffer b = buffer.duplicate().order(buffer.order());
+		// 实体类型标识
+		final TypeEntity t = odbs.get(new ByteBufferDataInput(b).readVarint());
+		if (t == null) {
+			throw new IOException("ODBS Binary 类型无效");
+		}
+		if (views == null) {
+			views = new ODBSBinaryFraming(odbs, version, options);
+		}
+		return ODBSView.view(views, t, b);
+	}
+
 	public <T> T readStrictEntity(T entity, DataInput in) throws IOException {
 		final TypeEntity t = odbs.get(entity.getClass());
 		if (t != null) {
-			return readEntity(in, t, entity);
+			return codec().readEntity(in, t, entity);
 		} else {
 			throw new IOException("ODBS Binary 类型无效");
 		}
 	}
 
+	/**
+	 * 跳过 writeEntity() 输出的实体，选项 FRAMING 时直接跳过实体字节，否则解码后丢弃；
+	 * 每次 writeEntity() 为独立消息，字符串字典和实体引用不会跨越实体
+	 */
+	public void skipEntity(DataInput in) throws IOException {
+		if ((options & FRAMING) != 0) {
+			// 实体类型标识
+			in.readVarint();
+			skip(in, in.readVarint());
+		} else {
+			readEntity(in);
+		}
+	}
+
 	public <T> T readStrictEntity(Class<T> type, DataInput in) throws IOException {
 		final TypeEntity t = odbs.get(type);
 		if (type != null) {
-			return readEntity(in, t, null);
+			return codec().readEntity(in, t, null);
 		} else {
 			throw new IOException("ODBS Binary 类型无效");
 		}
@@ -0,0 +1,146 @@
+package com.joyzl.odbs;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+
+import com.joyzl.codec.ByteBufferDataInput;
+import com.joyzl.codec.ByteBufferDataOutput;
+import com.joyzl.codec.DataInput;
+import com.joyzl.codec.FrameDecoder;
+import com.joyzl.codec.FrameEncoder;
+
+/**
+ * 分块并行编码解码器，实体集合拆分为多个分块，每个分块在公共线程池中独立编码为一个带校验的帧，
+ * 解码时并行解码各分块并按顺序合并；同时处理的分块数量受限，内存占用与集合大小无关
+ *
+ * <pre>
+ * 帧(varint(分块序号) writeEntities()输出的字节)... 空帧
+ * </pre>
+ *
+ * 每个分块是独立的消息，字符串字典和实体引用不跨越分块
+ *
+ * @author ZhangXi 2026年10月18日
+ */
+final class ODBSBinaryChunks {
+
+	/** 默认每个分块的实体数量 */
+	final static int CHUNK = 4096;
+
+	private final ODBSBinary binary;
+	/** 同时处理的最大分块数量 */
+	private final int window;
+
+	ODBSBinaryChunks(ODBSBinary binary) {
+		this.binary = binary;
+		window = Math.max(2, ForkJoinPool.getCommonPoolParallelism() * 2);
+	}
+
+	void write(Collection<?> entities, OutputStream out, int chunk) throws IOException {
+		final List<Object> rows = Arrays.asList(entities.toArray());
+		final ArrayDeque<CompletableFuture<ByteBufferDataOutput>> tasks = new ArrayDeque<>();
+		try {
+			for (int index = 0, from = 0; from < rows.size(); index++, from += chunk) {
+				final int i = index;
+				final List<Object> part = rows.subList(from, Math.min(from + chunk, rows.size()));
+				tasks.add(CompletableFuture.supplyAsync(() -> encode(i, part), ForkJoinPool.commonPool()));
+				if (tasks.size() >= window) {
+					write(join(tasks.poll()), out);
+				}
+			}
+			while (!tasks.isEmpty()) {
+				write(join(tasks.poll()), out);
+			}
+		} finally {
+			for (CompletableFuture<?> task : tasks) {
+				task.cancel(false);
+			}
+		}
+		// 结束标识
+		FrameEncoder.write(out, new byte[0], 0, 0, false);
+	}
+
+	<T> List<T> read(InputStream in) throws IOException {
+		final List<T> entities = new ArrayList<>();
+		final ArrayDeque<CompletableFuture<List<T>>> tasks = new ArrayDeque<>();
+		try {
+			byte[] frame;
+			int index = 0;
+			while (true) {
+				frame = FrameDecoder.read(in, FrameEncoder.MAX_LENGTH);
+				if (frame == null) {
+					throw new EOFException();
+				}
+				if (frame.length == 0) {
+					break;
+				}
+				final int i = index++;
+				final byte[] bytes = frame;
+				tasks.add(CompletableFuture.supplyAsync(() -> decode(i, bytes), ForkJoinPool.commonPool()));
+				if (tasks.size() >= window) {
+					entities.addAll(join(tasks.poll()));
+				}
+			}
+			while (!tasks.isEmpty()) {
+				entities.addAll(join(tasks.poll()));
+			}
+		} finally {
+			for (CompletableFuture<?> task : tasks) {
+				task.cancel(false);
+			}
+		}
+		return entities;
+	}
+
+	private ByteBufferDataOutput encode(int index, List<Object> entities) {
+		final ByteBufferDataOutput output = new ByteBufferDataOutput(entities.size() * 32);
+		try {
+			output.writeVarint(index);
+			binary.writeEntities(entities, output);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return output;
+	}
+
+	private <T> List<T> decode(int index, byte[] frame) {
+		final DataInput input = new ByteBufferDataInput(frame);
+		try {
+			if (input.readVarint() != index) {
+				throw new IOException("ODBS Binary 分块序号无效");
+			}
+			return binary.readEntities(input);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static void write(ByteBufferDataOutput output, OutputStream out) throws IOException {
+		FrameEncoder.write(out, output.buffer().array(), output.buffer().arrayOffset(), output.size(), true);
+	}
+
+	/** 等待分块完成，还原分块中的 IOException */
+	private static <T> T join(CompletableFuture<T> task) throws IOException {
+		try {
+			return task.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof UncheckedIOException) {
+				throw ((UncheckedIOException) e.getCause()).getCause();
+			}
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+	}
+}
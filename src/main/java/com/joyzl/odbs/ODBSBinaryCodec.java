@@ -23,9 +23,33 @@ import com.joyzl.codec.DataOutput;
 abstract class ODBSBinaryCodec extends ODBSCodec<DataOutput, DataInput> {
 
 	protected final ODBS odbs;
+	protected final int version;
+	protected final int options;
 
 	public ODBSBinaryCodec(ODBS odbs) {
+		this(odbs, ODBSBinary.VERSION_1, 0);
+	}
+
+	public ODBSBinaryCodec(ODBS odbs, int version, int options) {
+		if (version < ODBSBinary.VERSION_1 || version > ODBSBinary.VERSION_3) {
+			throw new IllegalArgumentException("ODBS Binary 版本无效:" + version);
+		}
 		this.odbs = odbs;
+		this.version = version;
+		this.options = options;
+	}
+
+	/** 跳过指定字节数，输入不足时抛出 EOFException */
+	static void skip(DataInput in, int length) throws IOException {
+		int size;
+		while (length > 0) {
+			size = in.skipBytes(length);
+			if (size <= 0) {
+				in.readByte();
+				size = 1;
+			}
+			length -= size;
+		}
 	}
 
 	@Override
@@ -215,10 +239,26 @@ abstract class ODBSBinaryCodec extends ODBSCodec<DataOutput, DataInput> {
 		if (entity == null) {
 			entity = type.newInstance();
 		}
+		readFields(in, type, entity);
+		return entity;
+	}
 
-		// 实体字段解码
+	/** 解码实体字段直至实体结束，未出现的字段赋予默认值 */
+	void readFields(DataInput in, TypeEntity type, Object entity) throws IOException {
 		ODBSMethod method;
 		int index = in.readVarint();
+		final ODBSSerializer serializer = type.serializer();
+		if (serializer != null) {
+			for (int i = 0; i < type.methods().length; i++) {
+				if (i < index) {
+					serializer.give(entity, i);
+				} else {
+					serializer.read(entity, i, this, in);
+					index = in.readVarint();
+				}
+			}
+			return;
+		}
 		for (int i = 0; i < type.methods().length; i++) {
 			method = type.methods()[i];
 			if (i < index) {
@@ -232,7 +272,6 @@ abstract class ODBSBinaryCodec extends ODBSCodec<DataOutput, DataInput> {
 				index = in.readVarint();
 			}
 		}
-		return entity;
 	}
 
 	@Override
@@ -261,7 +300,10 @@ abstract class ODBSBinaryCodec extends ODBSCodec<DataOutput, DataInput> {
 
 	@Override
 	String readString(DataInput in) throws IOException {
-		return in.readString();
+		if (version == ODBSBinary.VERSION_1) {
+			return in.readString();
+		}
+		return in.readCompactString();
 	}
 
 	@Override
@@ -452,11 +494,15 @@ abstract class ODBSBinaryCodec extends ODBSCodec<DataOutput, DataInput> {
 	@Override
 	void writeEntity(DataOutput out, TypeEntity type, Object value) throws IOException {
 		// 实体字段编码
-		ODBSMethod method;
-		for (int index = 0; index < type.methods().length; index++) {
-			method = type.methods()[index];
-			if (method.get() != null && method.set() != null) {
-				method.type().write1(value, method, this, out);
+		if (type.serializer() != null) {
+			type.serializer().write1(value, this, out);
+		} else {
+			ODBSMethod method;
+			for (int index = 0; index < type.methods().length; index++) {
+				method = type.methods()[index];
+				if (method.get() != null && method.set() != null) {
+					method.type().write1(value, method, this, out);
+				}
 			}
 		}
 		// 实体结束
@@ -491,6 +537,10 @@ abstract class ODBSBinaryCodec extends ODBSCodec<DataOutput, DataInput> {
 
 	@Override
 	void writeString(DataOutput out, String value) throws IOException {
-		out.writeString(value);
+		if (version == ODBSBinary.VERSION_1) {
+			out.writeString(value);
+		} else {
+			out.writeCompactString(value);
+		}
 	}
 }
\ No newline at end of file
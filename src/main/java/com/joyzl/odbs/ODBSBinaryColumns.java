@@ -0,0 +1,377 @@
+package com.joyzl.odbs;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.joyzl.codec.DataInput;
+import com.joyzl.codec.DataOutput;
+
+/**
+ * 列式批量编码解码器，同一实体类型的实体集合逐字段按列编码，不再逐个实体重复类型和字段索引；
+ * 整数列以与前值的差值 zigzag 变长编码，字符串列使用列字典，其它类型的列逐值编码
+ *
+ * <pre>
+ * varint(实体数量) varint(实体类型索引)
+ * 基本类型字段: 列值...
+ * 对象字段: byte(0 全部为null|1 全部有值|2 存在位图) [存在位图] 有值的列值...
+ * </pre>
+ *
+ * 布尔列以位图编码；字符串列首次出现的字符串编码 varint(0) 和紧凑字符串，之后出现时编码 varint(序号+1)
+ *
+ * @author ZhangXi 2026年10月18日
+ */
+final class ODBSBinaryColumns {
+
+	/** 列全部为null */
+	final static int NONE = 0;
+	/** 列全部有值 */
+	final static int ALL = 1;
+	/** 列存在位图 */
+	final static int BITMAP = 2;
+
+	private final static MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+	private final static MethodType SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+
+	/** 消息编码解码器，用于逐值编码的列 */
+	private final ODBSBinaryCodec codec;
+
+	ODBSBinaryColumns(ODBSBinaryCodec codec) {
+		this.codec = codec;
+	}
+
+	void write(DataOutput out, TypeEntity type, Object[] rows) throws IOException {
+		ODBSMethod method;
+		for (int index = 0; index < type.methods().length; index++) {
+			method = type.methods()[index];
+			if (method.get() != null && method.set() != null) {
+				try {
+					if (method.type() instanceof ValueType) {
+						writeValues(out, method, rows);
+					} else {
+						writeObjects(out, method, rows);
+					}
+				} catch (IOException | RuntimeException e) {
+					throw e;
+				} catch (Throwable e) {
+					throw new RuntimeException(e);
+				}
+			}
+		}
+	}
+
+	void read(DataInput in, TypeEntity type, Object[] rows) throws IOException {
+		ODBSMethod method;
+		for (int index = 0; index < type.methods().length; index++) {
+			method = type.methods()[index];
+			if (method.get() != null && method.set() != null) {
+				try {
+					if (method.type() instanceof ValueType) {
+						readValues(in, method, rows);
+					} else {
+						readObjects(in, method, rows);
+					}
+				} catch (IOException | RuntimeException e) {
+					throw e;
+				} catch (Throwable e) {
+					throw new RuntimeException(e);
+				}
+			}
+		}
+	}
+
+	/** 基本类型列 */
+	private void writeValues(DataOutput out, ODBSMethod method, Object[] rows) throws Throwable {
+		final MethodHandle get = method.get();
+		final ODBSType type = method.type();
+		if (type == ValueBool.INSTANCE) {
+			final byte[] bits = new byte[(rows.length + 7) >>> 3];
+			for (int r = 0; r < rows.length; r++) {
+				if ((boolean) get.invokeExact(rows[r])) {
+					bits[r >>> 3] |= 1 << (r & 7);
+				}
+			}
+			out.write(bits);
+		} else if (type == ValueByte.INSTANCE) {
+			int value, last = 0;
+			for (int r = 0; r < rows.length; r++) {
+				value = (byte) get.invokeExact(rows[r]);
+				out.writeVarint(zigzag(value - last));
+				last = value;
+			}
+		} else if (type == ValueChar.INSTANCE) {
+			int value, last = 0;
+			for (int r = 0; r < rows.length; r++) {
+				value = (char) get.invokeExact(rows[r]);
+				out.writeVarint(zigzag(value - last));
+				last = value;
+			}
+		} else if (type == ValueShort.INSTANCE) {
+			int value, last = 0;
+			for (int r = 0; r < rows.length; r++) {
+				value = (short) get.invokeExact(rows[r]);
+				out.writeVarint(zigzag(value - last));
+				last = value;
+			}
+		} else if (type == ValueInt.INSTANCE) {
+			int value, last = 0;
+			for (int r = 0; r < rows.length; r++) {
+				value = (int) get.invokeExact(rows[r]);
+				out.writeVarint(zigzag(value - last));
+				last = value;
+			}
+		} else if (type == ValueLong.INSTANCE) {
+			long value, last = 0;
+			for (int r = 0; r < rows.length; r++) {
+				value = (long) get.invokeExact(rows[r]);
+				out.writeVarlong(zigzag(value - last));
+				last = value;
+			}
+		} else if (type == ValueFloat.INSTANCE) {
+			for (int r = 0; r < rows.length; r++) {
+				codec.writeFloat(out, (float) get.invokeExact(rows[r]));
+			}
+		} else if (type == ValueDouble.INSTANCE) {
+			for (int r = 0; r < rows.length; r++) {
+				codec.writeDouble(out, (double) get.invokeExact(rows[r]));
+			}
+		} else {
+			throw new IOException("ODBS Binary 类型无效");
+		}
+	}
+
+	private void readValues(DataInput in, ODBSMethod method, Object[] rows) throws Throwable {
+		final MethodHandle set = method.set();
+		final ODBSType type = method.type();
+		if (type == ValueBool.INSTANCE) {
+			final byte[] bits = new byte[(rows.length + 7) >>> 3];
+			in.readFully(bits);
+			for (int r = 0; r < rows.length; r++) {
+				set.invokeExact(rows[r], (bits[r >>> 3] & (1 << (r & 7))) != 0);
+			}
+		} else if (type == ValueByte.INSTANCE) {
+			int value = 0;
+			for (int r = 0; r < rows.length; r++) {
+				value += unzigzag(in.readVarint());
+				set.invokeExact(rows[r], (byte) value);
+			}
+		} else if (type == ValueChar.INSTANCE) {
+			int value = 0;
+			for (int r = 0; r < rows.length; r++) {
+				value += unzigzag(in.readVarint());
+				set.invokeExact(rows[r], (char) value);
+			}
+		} else if (type == ValueShort.INSTANCE) {
+			int value = 0;
+			for (int r = 0; r < rows.length; r++) {
+				value += unzigzag(in.readVarint());
+				set.invokeExact(rows[r], (short) value);
+			}
+		} else if (type == ValueInt.INSTANCE) {
+			int value = 0;
+			for (int r = 0; r < rows.length; r++) {
+				value += unzigzag(in.readVarint());
+				set.invokeExact(rows[r], value);
+			}
+		} else if (type == ValueLong.INSTANCE) {
+			long value = 0;
+			for (int r = 0; r < rows.length; r++) {
+				value += unzigzag(in.readVarlong());
+				set.invokeExact(rows[r], value);
+			}
+		} else if (type == ValueFloat.INSTANCE) {
+			for (int r = 0; r < rows.length; r++) {
+				set.invokeExact(rows[r], codec.readFloat(in));
+			}
+		} else if (type == ValueDouble.INSTANCE) {
+			for (int r = 0; r < rows.length; r++) {
+				set.invokeExact(rows[r], codec.readDouble(in));
+			}
+		} else {
+			throw new IOException("ODBS Binary 类型无效");
+		}
+	}
+
+	/** 对象列，先编码存在标识，再编码有值的列值 */
+	private void writeObjects(DataOutput out, ODBSMethod method, Object[] rows) throws Throwable {
+		final MethodHandle get = method.get().asType(GETTER);
+		final Object[] values = new Object[rows.length];
+		final byte[] bits = new byte[(rows.length + 7) >>> 3];
+		int size = 0;
+		for (int r = 0; r < rows.length; r++) {
+			values[r] = (Object) get.invokeExact(rows[r]);
+			if (values[r] != null) {
+				bits[r >>> 3] |= 1 << (r & 7);
+				size++;
+			}
+		}
+		if (size == 0) {
+			out.writeByte(NONE);
+			return;
+		}
+		if (size == rows.length) {
+			out.writeByte(ALL);
+		} else {
+			out.writeByte(BITMAP);
+			out.write(bits);
+		}
+
+		final ODBSType type = method.type();
+		if (type == BaseByte.INSTANCE || type == BaseShort.INSTANCE || type == BaseInteger.INSTANCE || type == BaseLong.INSTANCE) {
+			long value, last = 0;
+			for (int r = 0; r < rows.length; r++) {
+				if (values[r] != null) {
+					value = ((Number) values[r]).longValue();
+					out.writeVarlong(zigzag(value - last));
+					last = value;
+				}
+			}
+		} else if (type == BaseBoolean.INSTANCE) {
+			final byte[] trues = new byte[(size + 7) >>> 3];
+			for (int r = 0, v = 0; r < rows.length; r++) {
+				if (values[r] != null) {
+					if ((Boolean) values[r]) {
+						trues[v >>> 3] |= 1 << (v & 7);
+					}
+					v++;
+				}
+			}
+			out.write(trues);
+		} else if (type == BaseString.INSTANCE) {
+			// 列字典
+			final Map<String, Integer> indexes = new HashMap<>();
+			Integer index;
+			for (int r = 0; r < rows.length; r++) {
+				if (values[r] != null) {
+					index = indexes.putIfAbsent((String) values[r], indexes.size());
+					if (index == null) {
+						out.writeVarint(0);
+						out.writeCompactString((String) values[r]);
+					} else {
+						out.writeVarint(index + 1);
+					}
+				}
+			}
+		} else {
+			for (int r = 0; r < rows.length; r++) {
+				if (values[r] != null) {
+					type.write(values[r], codec, out);
+				}
+			}
+		}
+	}
+
+	private void readObjects(DataInput in, ODBSMethod method, Object[] rows) throws Throwable {
+		final ODBSType type = method.type();
+		final byte[] bits = new byte[(rows.length + 7) >>> 3];
+		final int flag = in.readByte();
+		if (flag == NONE) {
+			for (int r = 0; r < rows.length; r++) {
+				type.give(rows[r], method);
+			}
+			return;
+		}
+		if (flag == ALL) {
+			for (int r = 0; r < rows.length; r++) {
+				bits[r >>> 3] |= 1 << (r & 7);
+			}
+		} else if (flag == BITMAP) {
+			in.readFully(bits);
+		} else {
+			throw new IOException("ODBS Binary 列标识无效");
+		}
+
+		final MethodHandle set = method.set().asType(SETTER);
+		if (type == BaseByte.INSTANCE || type == BaseShort.INSTANCE || type == BaseInteger.INSTANCE || type == BaseLong.INSTANCE) {
+			long value = 0;
+			for (int r = 0; r < rows.length; r++) {
+				if ((bits[r >>> 3] & (1 << (r & 7))) != 0) {
+					value += unzigzag(in.readVarlong());
+					set.invokeExact(rows[r], number(type, value));
+				} else {
+					type.give(rows[r], method);
+				}
+			}
+		} else if (type == BaseBoolean.INSTANCE) {
+			int size = 0;
+			for (int r = 0; r < rows.length; r++) {
+				if ((bits[r >>> 3] & (1 << (r & 7))) != 0) {
+					size++;
+				}
+			}
+			final byte[] trues = new byte[(size + 7) >>> 3];
+			in.readFully(trues);
+			for (int r = 0, v = 0; r < rows.length; r++) {
+				if ((bits[r >>> 3] & (1 << (r & 7))) != 0) {
+					set.invokeExact(rows[r], (Object) Boolean.valueOf((trues[v >>> 3] & (1 << (v & 7))) != 0));
+					v++;
+				} else {
+					type.give(rows[r], method);
+				}
+			}
+		} else if (type == BaseString.INSTANCE) {
+			// 列字典
+			final List<String> strings = new ArrayList<>();
+			int index;
+			String value;
+			for (int r = 0; r < rows.length; r++) {
+				if ((bits[r >>> 3] & (1 << (r & 7))) != 0) {
+					index = in.readVarint();
+					if (index == 0) {
+						value = in.readCompactString();
+						strings.add(value);
+					} else if (index <= strings.size()) {
+						value = strings.get(index - 1);
+					} else {
+						throw new IOException("ODBS Binary 字符串引用无效");
+					}
+					set.invokeExact(rows[r], (Object) value);
+				} else {
+					type.give(rows[r], method);
+				}
+			}
+		} else {
+			for (int r = 0; r < rows.length; r++) {
+				if ((bits[r >>> 3] & (1 << (r & 7))) != 0) {
+					set.invokeExact(rows[r], type.read(codec, in));
+				} else {
+					type.give(rows[r], method);
+				}
+			}
+		}
+	}
+
+	/** 整数列值转换为字段类型 */
+	private static Object number(ODBSType type, long value) {
+		if (type == BaseInteger.INSTANCE) {
+			return Integer.valueOf((int) value);
+		}
+		if (type == BaseLong.INSTANCE) {
+			return Long.valueOf(value);
+		}
+		if (type == BaseShort.INSTANCE) {
+			return Short.valueOf((short) value);
+		}
+		return Byte.valueOf((byte) value);
+	}
+
+	static int zigzag(int value) {
+		return (value << 1) ^ (value >> 31);
+	}
+
+	static long zigzag(long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	static int unzigzag(int value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	static long unzigzag(long value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+}
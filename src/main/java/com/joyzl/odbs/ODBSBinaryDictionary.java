@@ -0,0 +1,74 @@
+package com.joyzl.odbs;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.joyzl.codec.DataInput;
+import com.joyzl.codec.DataOutput;
+
+/**
+ * 字符串字典编码解码器，每次消息(writeEntities/writeEntity)创建独立实例；
+ * 格式版本3时字符串首次出现时分配序号并完整编码，之后出现时仅编码序号引用，解码时每个不同字符串仅创建一次
+ *
+ * <pre>
+ * varint(序号&lt;&lt;1|1)                       引用
+ * varint((字节长度&lt;&lt;1|1)&lt;&lt;1) Latin-1字节  首次
+ * varint((字节长度&lt;&lt;1)&lt;&lt;1)   UTF-8字节     首次
+ * </pre>
+ *
+ * @author ZhangXi 2026年10月18日
+ */
+class ODBSBinaryDictionary extends ODBSBinaryCodec {
+
+	/** 编码字典 */
+	private Map<String, Integer> indexes;
+	/** 解码字典 */
+	private List<String> strings;
+
+	ODBSBinaryDictionary(ODBS odbs, int version, int options) {
+		super(odbs, version, options);
+	}
+
+	@Override
+	String readString(DataInput in) throws IOException {
+		if (version != ODBSBinary.VERSION_3) {
+			return super.readString(in);
+		}
+		if (strings == null) {
+			strings = new ArrayList<>();
+		}
+		final int head = in.readVarint();
+		if ((head & 1) == 1) {
+			final int index = head >>> 1;
+			if (index < strings.size()) {
+				return strings.get(index);
+			}
+			throw new IOException("ODBS Binary 字符串引用无效");
+		}
+
+		final String value = in.readCompactString(head >>> 1);
+		strings.add(value);
+		return value;
+	}
+
+	@Override
+	void writeString(DataOutput out, String value) throws IOException {
+		if (version != ODBSBinary.VERSION_3) {
+			super.writeString(out, value);
+			return;
+		}
+		if (indexes == null) {
+			indexes = new HashMap<>();
+		}
+		final Integer index = indexes.putIfAbsent(value, indexes.size());
+		if (index != null) {
+			out.writeVarint(index << 1 | 1);
+			return;
+		}
+
+		out.writeCompactString(value, 1);
+	}
+}
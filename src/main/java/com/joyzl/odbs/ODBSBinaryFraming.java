@@ -0,0 +1,208 @@
+package com.joyzl.odbs;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.joyzl.codec.ByteBufferDataOutput;
+import com.joyzl.codec.DataInput;
+import com.joyzl.codec.DataOutput;
+import com.joyzl.codec.LittleEndianDataOutput;
+
+/**
+ * 长度前缀编码解码器，每次消息(writeEntities/writeEntity)创建独立实例；
+ * 选项 FRAMING 时实体和集合(数组/列表/集/映射)以字节长度为前缀，读取时可直接跳过而无须解码
+ *
+ * <pre>
+ * varint(字节长度) 实体或集合编码...
+ * </pre>
+ *
+ * 编码时嵌套内容先写入缓冲区以确定长度，缓冲区按嵌套层级复用
+ *
+ * @author ZhangXi 2026年10月18日
+ */
+class ODBSBinaryFraming extends ODBSBinaryReferences {
+
+	/** 嵌套层级缓冲区 */
+	private final List<ByteBufferDataOutput> buffers = new ArrayList<>();
+	private int depth;
+	/** 选项 FRAMING */
+	private final boolean framing;
+	/** 可按字节长度直接跳过，字符串字典和实体引用时后续内容可能引用被跳过部分 */
+	private final boolean skippable;
+
+	ODBSBinaryFraming(ODBS odbs, int version, int options) {
+		super(odbs, version, options);
+		framing = (options & ODBSBinary.FRAMING) != 0;
+		skippable = framing && (options & ODBSBinary.REFERENCES) == 0 && version != ODBSBinary.VERSION_3;
+	}
+
+	/**
+	 * 跳过值，选项 FRAMING 时实体和集合按字节长度直接跳过，
+	 * 格式版本3或选项 REFERENCES 时后续内容可能引用被跳过部分中的字符串或实体，须解码后丢弃
+	 */
+	void skip(DataInput in, ODBSType type) throws IOException {
+		if (skippable) {
+			if (type instanceof TypeObject) {
+				// 实体类型标识
+				in.readVarint();
+				skip(in, in.readVarint());
+				return;
+			}
+			if (type instanceof TypeEntity || type instanceof TypeArray || type instanceof TypeCollection || type instanceof TypeList || type instanceof TypeSet || type instanceof TypeMap) {
+				skip(in, in.readVarint());
+				return;
+			}
+		}
+		type.skip(this, in);
+	}
+
+	/** 开始长度前缀内容，返回当前层级的缓冲区，字节序与输出一致 */
+	private ByteBufferDataOutput begin(DataOutput out) {
+		final ByteBufferDataOutput buffer;
+		if (depth < buffers.size()) {
+			buffer = buffers.get(depth);
+			buffer.reset();
+		} else {
+			buffers.add(buffer = new ByteBufferDataOutput(256, false, order(out)));
+		}
+		depth++;
+		return buffer;
+	}
+
+	/** 结束长度前缀内容，输出字节长度和缓冲的字节 */
+	private void end(DataOutput out, ByteBufferDataOutput buffer) throws IOException {
+		depth--;
+		out.writeVarint(buffer.size());
+		out.write(buffer.buffer().array(), buffer.buffer().arrayOffset(), buffer.size());
+	}
+
+	private static ByteOrder order(DataOutput out) {
+		if (out instanceof ByteBufferDataOutput b) {
+			return b.order();
+		}
+		if (out instanceof LittleEndianDataOutput) {
+			return ByteOrder.LITTLE_ENDIAN;
+		}
+		return ByteOrder.BIG_ENDIAN;
+	}
+
+	@Override
+	Object readArray(DataInput in, ODBSType type, Object values) throws IOException {
+		if (framing) {
+			// 字节长度
+			in.readVarint();
+		}
+		return super.readArray(in, type, values);
+	}
+
+	@Override
+	<V> void readCollection(DataInput in, ODBSType type, Collection<V> values) throws IOException {
+		if (framing) {
+			in.readVarint();
+		}
+		super.readCollection(in, type, values);
+	}
+
+	@Override
+	<V> void readList(DataInput in, ODBSType value, List<V> values) throws IOException {
+		if (framing) {
+			in.readVarint();
+		}
+		super.readList(in, value, values);
+	}
+
+	@Override
+	<V> void readSet(DataInput in, ODBSType type, Set<V> values) throws IOException {
+		if (framing) {
+			in.readVarint();
+		}
+		super.readSet(in, type, values);
+	}
+
+	@Override
+	<K, V> void readMap(DataInput in, ODBSType key, ODBSType value, Map<K, V> values) throws IOException {
+		if (framing) {
+			in.readVarint();
+		}
+		super.readMap(in, key, value, values);
+	}
+
+	@Override
+	<T> T readEntity(DataInput in, TypeEntity type, T entity) throws IOException {
+		if (framing) {
+			in.readVarint();
+		}
+		return super.readEntity(in, type, entity);
+	}
+
+	@Override
+	void writeArray(DataOutput out, ODBSType value, Object values) throws IllegalArgumentException, IOException {
+		if (!framing) {
+			super.writeArray(out, value, values);
+			return;
+		}
+		final ByteBufferDataOutput buffer = begin(out);
+		super.writeArray(buffer, value, values);
+		end(out, buffer);
+	}
+
+	@Override
+	void writeCollection(DataOutput out, ODBSType value, Collection<?> values) throws IOException {
+		if (!framing) {
+			super.writeCollection(out, value, values);
+			return;
+		}
+		final ByteBufferDataOutput buffer = begin(out);
+		super.writeCollection(buffer, value, values);
+		end(out, buffer);
+	}
+
+	@Override
+	void writeList(DataOutput out, ODBSType value, List<?> values) throws IOException {
+		if (!framing) {
+			super.writeList(out, value, values);
+			return;
+		}
+		final ByteBufferDataOutput buffer = begin(out);
+		super.writeList(buffer, value, values);
+		end(out, buffer);
+	}
+
+	@Override
+	void writeSet(DataOutput out, ODBSType value, Set<?> values) throws IOException {
+		if (!framing) {
+			super.writeSet(out, value, values);
+			return;
+		}
+		final ByteBufferDataOutput buffer = begin(out);
+		super.writeSet(buffer, value, values);
+		end(out, buffer);
+	}
+
+	@Override
+	void writeMap(DataOutput out, ODBSType key, ODBSType value, Map<?, ?> values) throws IOException {
+		if (!framing) {
+			super.writeMap(out, key, value, values);
+			return;
+		}
+		final ByteBufferDataOutput buffer = begin(out);
+		super.writeMap(buffer, key, value, values);
+		end(out, buffer);
+	}
+
+	@Override
+	void writeEntity(DataOutput out, TypeEntity type, Object value) throws IOException {
+		if (!framing) {
+			super.writeEntity(out, type, value);
+			return;
+		}
+		final ByteBufferDataOutput buffer = begin(out);
+		super.writeEntity(buffer, type, value);
+		end(out, buffer);
+	}
+}
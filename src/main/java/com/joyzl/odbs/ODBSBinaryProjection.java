@@ -0,0 +1,57 @@
+package com.joyzl.odbs;
+
+import java.io.IOException;
+
+import com.joyzl.codec.DataInput;
+
+/**
+ * 投影解码器，每次消息(readEntity/readEntities)创建独立实例；
+ * 仅解码投影选定的字段，未选定的字段跳过且不赋予默认值
+ *
+ * @author ZhangXi 2026年10月18日
+ */
+final class ODBSBinaryProjection extends ODBSBinaryFraming {
+
+	/** 当前实体的投影，null 解码完整实体 */
+	private ODBSProjection projection;
+
+	ODBSBinaryProjection(ODBS odbs, int version, int options, ODBSProjection projection) {
+		super(odbs, version, options);
+		this.projection = projection;
+	}
+
+	@Override
+	void readFields(DataInput in, TypeEntity type, Object entity) throws IOException {
+		final ODBSProjection node = projection;
+		if (node == null || node.type() != type) {
+			super.readFields(in, type, entity);
+			return;
+		}
+
+		ODBSMethod method;
+		int index = in.readVarint();
+		try {
+			for (int i = 0; i < type.methods().length; i++) {
+				method = type.methods()[i];
+				if (i < index) {
+					if (node.selected(i) && method.set() != null) {
+						method.type().give(entity, method);
+					}
+				} else {
+					if (node.selected(i)) {
+						if (method.set() != null) {
+							projection = node.child(i);
+							method.type().read(entity, method, this, in);
+						}
+					} else {
+						projection = null;
+						skip(in, method.type());
+					}
+					index = in.readVarint();
+				}
+			}
+		} finally {
+			projection = node;
+		}
+	}
+}
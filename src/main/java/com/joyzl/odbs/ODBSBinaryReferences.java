@@ -0,0 +1,69 @@
+package com.joyzl.odbs;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.joyzl.codec.DataInput;
+import com.joyzl.codec.DataOutput;
+
+/**
+ * 实体引用编码解码器，每次消息(writeEntities/writeEntity)创建独立实例；
+ * 选项 REFERENCES 时实体首次出现时分配序号并完整编码，之后出现时(共享或循环引用)仅编码序号引用，解码为同一实例
+ *
+ * <pre>
+ * varint(0) 实体字段...  首次
+ * varint(序号+1)         引用
+ * </pre>
+ *
+ * @author ZhangXi 2026年10月18日
+ */
+class ODBSBinaryReferences extends ODBSBinaryDictionary {
+
+	/** 编码实体表(对象标识) */
+	private final Map<Object, Integer> indexes = new IdentityHashMap<>();
+	/** 解码实体表 */
+	private final List<Object> entities = new ArrayList<>();
+
+	ODBSBinaryReferences(ODBS odbs, int version, int options) {
+		super(odbs, version, options);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	<T> T readEntity(DataInput in, TypeEntity type, T entity) throws IOException {
+		if ((options & ODBSBinary.REFERENCES) == 0) {
+			return super.readEntity(in, type, entity);
+		}
+		final int index = in.readVarint();
+		if (index > 0) {
+			if (index <= entities.size()) {
+				return (T) entities.get(index - 1);
+			}
+			throw new IOException("ODBS Binary 实体引用无效");
+		}
+		if (entity == null) {
+			entity = type.newInstance();
+		}
+		// 解码字段之前登记，循环引用可解析为此实例
+		entities.add(entity);
+		return super.readEntity(in, type, entity);
+	}
+
+	@Override
+	void writeEntity(DataOutput out, TypeEntity type, Object value) throws IOException {
+		if ((options & ODBSBinary.REFERENCES) == 0) {
+			super.writeEntity(out, type, value);
+			return;
+		}
+		final Integer index = indexes.putIfAbsent(value, indexes.size());
+		if (index != null) {
+			out.writeVarint(index + 1);
+		} else {
+			out.writeVarint(0);
+			super.writeEntity(out, type, value);
+		}
+	}
+}
@@ -0,0 +1,607 @@
+package com.joyzl.odbs;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * 实体编码解码器生成
+ * <p>
+ * 为实体类型生成隐藏类实现{@link ODBSSerializer}，逐个方法展开为直线代码，
+ * 值类型和基本类型直接调用编解码方法，其余类型委托{@link ODBSType}处理；
+ * 实例方法句柄作为隐藏类的静态常量，JIT编译时可内联为直接调用。
+ * 生成的类仅引用本模块和java.base的类型，不受实体类加载器影响。
+ * </p>
+ *
+ * @author ZhangXi 2026年10月18日
+ */
+final class ODBSCompiler {
+
+	private final static String OBJECT = "java/lang/Object";
+	private final static String HANDLE = "java/lang/invoke/MethodHandle";
+	private final static String CODEC = "com/joyzl/odbs/ODBSCodec";
+	private final static String TYPE = "com/joyzl/odbs/ODBSType";
+	private final static String METHOD = "com/joyzl/odbs/ODBSMethod";
+	private final static String SERIALIZER = "com/joyzl/odbs/ODBSSerializer";
+
+	/** 值类型和基本类型直接调用的编解码方法 */
+	private final static Map<ODBSType, Kind> KINDS = new IdentityHashMap<>();
+	static {
+		KINDS.put(ValueBool.INSTANCE, new Kind("writeBoolean", "Z", null, "readBool", "Z", null));
+		KINDS.put(ValueByte.INSTANCE, new Kind("writeByte", "B", null, "readByte", "B", null));
+		KINDS.put(ValueChar.INSTANCE, new Kind("writeChar", "C", null, "readChar", "C", null));
+		KINDS.put(ValueShort.INSTANCE, new Kind("writeShort", "S", null, "readShort", "S", null));
+		KINDS.put(ValueInt.INSTANCE, new Kind("writeInt", "I", null, "readInt", "I", null));
+		KINDS.put(ValueLong.INSTANCE, new Kind("writeLong", "J", null, "readLong", "J", null));
+		KINDS.put(ValueFloat.INSTANCE, new Kind("writeFloat", "F", null, "readFloat", "F", null));
+		KINDS.put(ValueDouble.INSTANCE, new Kind("writeDouble", "D", null, "readDouble", "D", null));
+
+		KINDS.put(BaseBoolean.INSTANCE, new Kind("writeBoolean", "Ljava/lang/Boolean;", null, "readBoolea", "Z", "java/lang/Boolean"));
+		KINDS.put(BaseByte.INSTANCE, new Kind("writeByte", "B", "byteValue", "readByte", "B", "java/lang/Byte"));
+		KINDS.put(BaseCharacter.INSTANCE, new Kind("writeChar", "C", "charValue", "readChar", "C", "java/lang/Character"));
+		KINDS.put(BaseShort.INSTANCE, new Kind("writeShort", "S", "shortValue", "readShort", "S", "java/lang/Short"));
+		KINDS.put(BaseInteger.INSTANCE, new Kind("writeInt", "I", "intValue", "readInt", "I", "java/lang/Integer"));
+		KINDS.put(BaseLong.INSTANCE, new Kind("writeLong", "J", "longValue", "readLong", "J", "java/lang/Long"));
+		KINDS.put(BaseFloat.INSTANCE, new Kind("writeFloat", "F", "floatValue", "readFloat", "F", "java/lang/Float"));
+		KINDS.put(BaseDouble.INSTANCE, new Kind("writeDouble", "D", "doubleValue", "readDouble", "D", "java/lang/Double"));
+		KINDS.put(BaseBigDecimal.INSTANCE, new Kind("writeBigDecimal", "Ljava/math/BigDecimal;", null, "readBigDecimal", "Ljava/math/BigDecimal;", null));
+		KINDS.put(BaseBigInteger.INSTANCE, new Kind("writeBigInteger", "Ljava/math/BigInteger;", null, "readBigInteger", "Ljava/math/BigInteger;", null));
+		KINDS.put(BaseDate.INSTANCE, new Kind("writeDate", "Ljava/util/Date;", null, "readDate", "Ljava/util/Date;", null));
+		KINDS.put(BaseLocalTime.INSTANCE, new Kind("writeLocalTime", "Ljava/time/LocalTime;", null, "readLocalTime", "Ljava/time/LocalTime;", null));
+		KINDS.put(BaseLocalDate.INSTANCE, new Kind("writeLocaleDate", "Ljava/time/LocalDate;", null, "readLocalDate", "Ljava/time/LocalDate;", null));
+		KINDS.put(BaseLocalDateTime.INSTANCE, new Kind("writeLocalDateTime", "Ljava/time/LocalDateTime;", null, "readLocalDateTime", "Ljava/time/LocalDateTime;", null));
+		KINDS.put(BaseString.INSTANCE, new Kind("writeString", "Ljava/lang/String;", null, "readString", "Ljava/lang/String;", null));
+	}
+
+	/** 为实体类型生成编码解码器 */
+	static ODBSSerializer compile(TypeEntity type) throws ReflectiveOperationException {
+		final ODBSCompiler compiler = new ODBSCompiler(type);
+		final byte[] bytes = compiler.generate();
+		final Lookup lookup = MethodHandles.lookup().defineHiddenClassWithClassData(bytes, compiler.constants.toArray(), true);
+		try {
+			return (ODBSSerializer) lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class)).invoke();
+		} catch (ReflectiveOperationException | RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+
+	private final TypeEntity type;
+	private final String name;
+	/** 静态常量(名称,描述,值) */
+	private final List<String> fields = new ArrayList<>();
+	private final List<Object> constants = new ArrayList<>();
+	private final ConstantPool pool = new ConstantPool();
+
+	private ODBSCompiler(TypeEntity type) {
+		this.type = type;
+		name = "com/joyzl/odbs/ODBSSerializer$" + type.type().getSimpleName();
+	}
+
+	private String constant(String prefix, int index, String descriptor, Object value) {
+		final String field = prefix + index;
+		if (!fields.contains(field)) {
+			fields.add(field);
+			fields.add(descriptor);
+			constants.add(value);
+		}
+		return field;
+	}
+
+	private String method(ODBSMethod method) {
+		return constant("M", method.index(), "L" + METHOD + ";", method);
+	}
+
+	private String getter(ODBSMethod method) {
+		return constant("G", method.index(), "L" + HANDLE + ";", method.get());
+	}
+
+	private String setter(ODBSMethod method) {
+		return constant("S", method.index(), "L" + HANDLE + ";", method.set());
+	}
+
+	private String type(ODBSMethod method) {
+		return constant("T", method.index(), "L" + TYPE + ";", method.type());
+	}
+
+	private byte[] generate() {
+		final ODBSMethod[] methods = type.methods();
+		final Code write1 = new Code();
+		final Code write2 = new Code();
+		for (ODBSMethod method : methods) {
+			if (method.get() != null && method.set() != null) {
+				write(write1, method, true);
+			}
+			if (method.get() != null) {
+				write(write2, method, false);
+			}
+		}
+		write1.u1(0xB1);
+		write2.u1(0xB1);
+
+		final Code read = new Code();
+		final Code give = new Code();
+		// iload_2 tableswitch
+		read.u1(0x1C);
+		give.u1(0x1C);
+		final int readSwitch = read.tableswitch(methods.length);
+		final int giveSwitch = give.tableswitch(methods.length);
+		for (ODBSMethod method : methods) {
+			if (method.set() != null) {
+				read.target(readSwitch, method.index());
+				read(read, method);
+				give.target(giveSwitch, method.index());
+				give(give, method);
+			}
+		}
+		read.target(readSwitch, -1);
+		read.u1(0xB1);
+		give.target(giveSwitch, -1);
+		give.u1(0xB1);
+
+		final Code init = new Code();
+		// aload_0 invokespecial Object.<init> return
+		init.u1(0x2A);
+		init.u1(0xB7).u2(pool.method(OBJECT, "<init>", "()V"));
+		init.u1(0xB1);
+
+		final Code clinit = new Code();
+		// Object[] constants = MethodHandles.classData(MethodHandles.lookup(), "_", Object[].class)
+		clinit.u1(0xB8).u2(pool.method("java/lang/invoke/MethodHandles", "lookup", "()Ljava/lang/invoke/MethodHandles$Lookup;"));
+		clinit.ldc(pool.string("_"));
+		clinit.ldc(pool.type("[Ljava/lang/Object;"));
+		clinit.u1(0xB8).u2(pool.method("java/lang/invoke/MethodHandles", "classData", "(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;Ljava/lang/Class;)Ljava/lang/Object;"));
+		clinit.u1(0xC0).u2(pool.type("[Ljava/lang/Object;"));
+		clinit.u1(0x4B);
+		for (int index = 0; index < constants.size(); index++) {
+			final String descriptor = fields.get(index * 2 + 1);
+			// aload_0 sipush aaload checkcast putstatic
+			clinit.u1(0x2A);
+			clinit.u1(0x11).u2(index);
+			clinit.u1(0x32);
+			clinit.u1(0xC0).u2(pool.type(descriptor.substring(1, descriptor.length() - 1)));
+			clinit.u1(0xB3).u2(pool.field(name, fields.get(index * 2), descriptor));
+		}
+		clinit.u1(0xB1);
+
+		final String writeDescriptor = "(Ljava/lang/Object;L" + CODEC + ";Ljava/lang/Object;)V";
+		try {
+			final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			final DataOutputStream out = new DataOutputStream(bytes);
+			final int thisClass = pool.type(name);
+			final int superClass = pool.type(OBJECT);
+			final int serializer = pool.type(SERIALIZER);
+			final byte[][] ms = new byte[][] { //
+					init.method(pool, 0x0001, "<init>", "()V", 1, 1), //
+					clinit.method(pool, 0x0008, "<clinit>", "()V", 5, 1), //
+					write1.method(pool, 0x0001, "write1", writeDescriptor, 8, 6), //
+					write2.method(pool, 0x0001, "write2", writeDescriptor, 8, 6), //
+					read.method(pool, 0x0001, "read", "(Ljava/lang/Object;IL" + CODEC + ";Ljava/lang/Object;)V", 8, 5), //
+					give.method(pool, 0x0001, "give", "(Ljava/lang/Object;I)V", 8, 3) };
+			final int[] fs = new int[fields.size()];
+			for (int index = 0; index < fields.size(); index++) {
+				fs[index] = pool.utf8(fields.get(index));
+			}
+
+			out.writeInt(0xCAFEBABE);
+			out.writeShort(0);
+			// Java 8 类文件版本
+			out.writeShort(52);
+			pool.write(out);
+			// ACC_FINAL ACC_SUPER ACC_SYNTHETIC
+			out.writeShort(0x1030);
+			out.writeShort(thisClass);
+			out.writeShort(superClass);
+			out.writeShort(1);
+			out.writeShort(serializer);
+			out.writeShort(fs.length / 2);
+			for (int index = 0; index < fs.length; index += 2) {
+				// ACC_PRIVATE ACC_STATIC ACC_FINAL
+				out.writeShort(0x001A);
+				out.writeShort(fs[index]);
+				out.writeShort(fs[index + 1]);
+				out.writeShort(0);
+			}
+			out.writeShort(ms.length);
+			for (byte[] m : ms) {
+				out.write(m);
+			}
+			out.writeShort(0);
+			return bytes.toByteArray();
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/** 局部变量：0 this, 1 entity, 2 codec, 3 out, 4 value */
+	private void write(Code code, ODBSMethod method, boolean ignoreDefault) {
+		final Kind kind = KINDS.get(method.type());
+		if (kind == null) {
+			// type.write1/write2(entity, method, codec, out)
+			code.u1(0xB2).u2(pool.field(name, type(method), "L" + TYPE + ";"));
+			code.u1(0x2B);
+			code.u1(0xB2).u2(pool.field(name, method(method), "L" + METHOD + ";"));
+			code.u1(0x2C);
+			code.u1(0x2D);
+			code.u1(0xB6).u2(pool.method(TYPE, ignoreDefault ? "write1" : "write2", "(Ljava/lang/Object;L" + METHOD + ";L" + CODEC + ";Ljava/lang/Object;)V"));
+			return;
+		}
+
+		// value = get.invokeExact(entity)
+		final MethodType getter = method.get().type();
+		final char value = getter.returnType().isPrimitive() ? kind.read.charAt(0) : 'L';
+		code.u1(0xB2).u2(pool.field(name, getter(method), "L" + HANDLE + ";"));
+		code.u1(0x2B);
+		code.u1(0xB6).u2(pool.method(HANDLE, "invokeExact", getter.toMethodDescriptorString()));
+		code.u1(store(value)).u1(4);
+
+		int skip = -1;
+		if (value == 'L') {
+			// if (value != null)
+			code.u1(load(value)).u1(4);
+			skip = code.branch(0xC6);
+		} else if (ignoreDefault) {
+			// if (value != 0)
+			code.u1(load(value)).u1(4);
+			if (value == 'J') {
+				code.u1(0x09).u1(0x94);
+			} else if (value == 'F') {
+				code.u1(0x0B).u1(0x95);
+			} else if (value == 'D') {
+				code.u1(0x0E).u1(0x97);
+			}
+			skip = code.branch(0x99);
+		}
+
+		// codec.writeField(out, method)
+		code.u1(0x2C);
+		code.u1(0x2D);
+		code.u1(0xB2).u2(pool.field(name, method(method), "L" + METHOD + ";"));
+		code.u1(0xB6).u2(pool.method(CODEC, "writeField", "(Ljava/lang/Object;L" + METHOD + ";)V"));
+		// codec.writeXXX(out, value)
+		code.u1(0x2C);
+		code.u1(0x2D);
+		code.u1(load(value)).u1(4);
+		if (kind.unbox != null) {
+			code.u1(0xB6).u2(pool.method(kind.box, kind.unbox, "()" + kind.write));
+		}
+		code.u1(0xB6).u2(pool.method(CODEC, kind.writer, "(Ljava/lang/Object;" + kind.write + ")V"));
+
+		if (skip >= 0) {
+			code.target(skip);
+		}
+	}
+
+	/** 局部变量：0 this, 1 entity, 2 index, 3 codec, 4 in */
+	private void read(Code code, ODBSMethod method) {
+		final Kind kind = KINDS.get(method.type());
+		if (kind == null) {
+			// type.read(entity, method, codec, in)
+			code.u1(0xB2).u2(pool.field(name, type(method), "L" + TYPE + ";"));
+			code.u1(0x2B);
+			code.u1(0xB2).u2(pool.field(name, method(method), "L" + METHOD + ";"));
+			code.u1(0x2D);
+			code.u1(0x19).u1(4);
+			code.u1(0xB6).u2(pool.method(TYPE, "read", "(Ljava/lang/Object;L" + METHOD + ";L" + CODEC + ";Ljava/lang/Object;)V"));
+		} else {
+			// set.invokeExact(entity, codec.readXXX(in))
+			code.u1(0xB2).u2(pool.field(name, setter(method), "L" + HANDLE + ";"));
+			code.u1(0x2B);
+			code.u1(0x2D);
+			code.u1(0x19).u1(4);
+			code.u1(0xB6).u2(pool.method(CODEC, kind.reader, "(Ljava/lang/Object;)" + kind.read));
+			if (kind.box != null) {
+				code.u1(0xB8).u2(pool.method(kind.box, "valueOf", "(" + kind.read + ")L" + kind.box + ";"));
+			}
+			code.u1(0xB6).u2(pool.method(HANDLE, "invokeExact", method.set().type().toMethodDescriptorString()));
+		}
+		code.u1(0xB1);
+	}
+
+	/** 局部变量：0 this, 1 entity, 2 index */
+	private void give(Code code, ODBSMethod method) {
+		final Kind kind = KINDS.get(method.type());
+		if (kind == null) {
+			// type.give(entity, method)
+			code.u1(0xB2).u2(pool.field(name, type(method), "L" + TYPE + ";"));
+			code.u1(0x2B);
+			code.u1(0xB2).u2(pool.field(name, method(method), "L" + METHOD + ";"));
+			code.u1(0xB6).u2(pool.method(TYPE, "give", "(Ljava/lang/Object;L" + METHOD + ";)V"));
+		} else {
+			// set.invokeExact(entity, 0/null)
+			final MethodType setter = method.set().type();
+			code.u1(0xB2).u2(pool.field(name, setter(method), "L" + HANDLE + ";"));
+			code.u1(0x2B);
+			final Class<?> value = setter.parameterType(1);
+			if (value == long.class) {
+				code.u1(0x09);
+			} else if (value == float.class) {
+				code.u1(0x0B);
+			} else if (value == double.class) {
+				code.u1(0x0E);
+			} else if (value.isPrimitive()) {
+				code.u1(0x03);
+			} else {
+				code.u1(0x01);
+			}
+			code.u1(0xB6).u2(pool.method(HANDLE, "invokeExact", setter.toMethodDescriptorString()));
+		}
+		code.u1(0xB1);
+	}
+
+	private static int load(char type) {
+		switch (type) {
+			case 'J':
+				return 0x16;
+			case 'F':
+				return 0x17;
+			case 'D':
+				return 0x18;
+			case 'L':
+				return 0x19;
+			default:
+				return 0x15;
+		}
+	}
+
+	private static int store(char type) {
+		switch (type) {
+			case 'J':
+				return 0x37;
+			case 'F':
+				return 0x38;
+			case 'D':
+				return 0x39;
+			case 'L':
+				return 0x3A;
+			default:
+				return 0x36;
+		}
+	}
+
+	////////////////////////////////////////////////////////////////////////////////
+
+	/** 编解码方法；writer(Object,write)V, reader(Object)read, unbox/box 基本类型装箱拆箱 */
+	private final static class Kind {
+
+		final String writer, write, unbox, reader, read, box;
+
+		Kind(String writer, String write, String unbox, String reader, String read, String box) {
+			this.writer = writer;
+			this.write = write;
+			this.unbox = unbox;
+			this.reader = reader;
+			this.read = read;
+			this.box = box;
+		}
+	}
+
+	/** 常量池 */
+	private final static class ConstantPool {
+
+		private final Map<String, Integer> indexes = new HashMap<>();
+		private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		private final DataOutputStream out = new DataOutputStream(bytes);
+		private int size = 1;
+
+		private int add(String key, int tag, int a, int b, String utf8) {
+			final Integer index = indexes.get(key);
+			if (index != null) {
+				return index;
+			}
+			try {
+				out.writeByte(tag);
+				if (utf8 != null) {
+					out.writeUTF(utf8);
+				} else {
+					out.writeShort(a);
+					if (b >= 0) {
+						out.writeShort(b);
+					}
+				}
+			} catch (IOException e) {
+				throw new IllegalStateException(e);
+			}
+			indexes.put(key, size);
+			return size++;
+		}
+
+		int utf8(String value) {
+			return add("U" + value, 1, 0, 0, value);
+		}
+
+		int type(String name) {
+			return add("C" + name, 7, utf8(name), -1, null);
+		}
+
+		int string(String value) {
+			return add("S" + value, 8, utf8(value), -1, null);
+		}
+
+		private int nameAndType(String name, String descriptor) {
+			return add("N" + name + ' ' + descriptor, 12, utf8(name), utf8(descriptor), null);
+		}
+
+		int field(String owner, String name, String descriptor) {
+			return add("F" + owner + '.' + name + ' ' + descriptor, 9, type(owner), nameAndType(name, descriptor), null);
+		}
+
+		int method(String owner, String name, String descriptor) {
+			return add("M" + owner + '.' + name + ' ' + descriptor, 10, type(owner), nameAndType(name, descriptor), null);
+		}
+
+		void write(DataOutputStream out) throws IOException {
+			if (size > 0xFFFF) {
+				throw new IllegalStateException("常量池溢出");
+			}
+			out.writeShort(size);
+			bytes.writeTo(out);
+		}
+	}
+
+	/** 方法字节码，跳转目标处操作数栈为空且局部变量与方法参数一致 */
+	private final static class Code {
+
+		private byte[] bytes = new byte[256];
+		private int size;
+		private final TreeSet<Integer> frames = new TreeSet<>();
+		/** tableswitch 位置 */
+		private final List<int[]> switches = new ArrayList<>();
+
+		Code u1(int value) {
+			if (size == bytes.length) {
+				final byte[] temp = new byte[bytes.length << 1];
+				System.arraycopy(bytes, 0, temp, 0, size);
+				bytes = temp;
+			}
+			bytes[size++] = (byte) value;
+			return this;
+		}
+
+		Code u2(int value) {
+			u1(value >>> 8);
+			return u1(value);
+		}
+
+		Code u4(int value) {
+			u2(value >>> 16);
+			return u2(value);
+		}
+
+		void ldc(int index) {
+			if (index > 0xFF) {
+				u1(0x13).u2(index);
+			} else {
+				u1(0x12).u1(index);
+			}
+		}
+
+		/** 跳转指令，返回待设置目标的位置 */
+		int branch(int opcode) {
+			u1(opcode);
+			u2(0);
+			return size - 3;
+		}
+
+		/** 跳转到当前位置 */
+		void target(int branch) {
+			final int offset = size - branch;
+			if (offset > Short.MAX_VALUE) {
+				throw new IllegalStateException("跳转超出范围");
+			}
+			bytes[branch + 1] = (byte) (offset >>> 8);
+			bytes[branch + 2] = (byte) offset;
+			frames.add(size);
+		}
+
+		/** tableswitch 0 ~ count-1，返回switch编号 */
+		int tableswitch(int count) {
+			final int position = size;
+			u1(0xAA);
+			while (size % 4 != 0) {
+				u1(0);
+			}
+			final int table = size;
+			count = Math.max(1, count);
+			// default low high offsets
+			u4(0);
+			u4(0);
+			u4(count - 1);
+			for (int index = 0; index < count; index++) {
+				u4(0);
+			}
+			switches.add(new int[] { position, table });
+			return switches.size() - 1;
+		}
+
+		/** 设置tableswitch分支到当前位置，index -1表示default */
+		void target(int number, int index) {
+			final int[] s = switches.get(number);
+			final int offset = size - s[0];
+			final int at = index < 0 ? s[1] : s[1] + 12 + index * 4;
+			bytes[at] = (byte) (offset >>> 24);
+			bytes[at + 1] = (byte) (offset >>> 16);
+			bytes[at + 2] = (byte) (offset >>> 8);
+			bytes[at + 3] = (byte) offset;
+			if (index < 0) {
+				// 未设置的分支跳转至default
+				for (int i = s[1] + 12; i < s[1] + 12 + (count(s) * 4); i += 4) {
+					if (bytes[i] == 0 && bytes[i + 1] == 0 && bytes[i + 2] == 0 && bytes[i + 3] == 0) {
+						bytes[i] = (byte) (offset >>> 24);
+						bytes[i + 1] = (byte) (offset >>> 16);
+						bytes[i + 2] = (byte) (offset >>> 8);
+						bytes[i + 3] = (byte) offset;
+					}
+				}
+			}
+			frames.add(size);
+		}
+
+		private int count(int[] s) {
+			return ((bytes[s[1] + 8] & 0xFF) << 24 | (bytes[s[1] + 9] & 0xFF) << 16 | (bytes[s[1] + 10] & 0xFF) << 8 | (bytes[s[1] + 11] & 0xFF)) + 1;
+		}
+
+		/** 生成方法结构 method_info */
+		byte[] method(ConstantPool pool, int access, String name, String descriptor, int stack, int locals) {
+			if (size > 0xFFFF) {
+				throw new IllegalStateException("方法代码超出长度");
+			}
+			try {
+				final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+				final DataOutputStream out = new DataOutputStream(bytes);
+				out.writeShort(access);
+				out.writeShort(pool.utf8(name));
+				out.writeShort(pool.utf8(descriptor));
+				out.writeShort(1);
+
+				// StackMapTable same_frame/same_frame_extended
+				final ByteArrayOutputStream map = new ByteArrayOutputStream();
+				final DataOutputStream m = new DataOutputStream(map);
+				int last = -1;
+				for (int offset : frames) {
+					final int delta = offset - last - 1;
+					if (delta < 64) {
+						m.writeByte(delta);
+					} else {
+						m.writeByte(251);
+						m.writeShort(delta);
+					}
+					last = offset;
+				}
+
+				out.writeShort(pool.utf8("Code"));
+				out.writeInt(12 + size + (frames.isEmpty() ? 0 : 8 + map.size()));
+				out.writeShort(stack);
+				out.writeShort(locals);
+				out.writeInt(size);
+				out.write(this.bytes, 0, size);
+				out.writeShort(0);
+				if (frames.isEmpty()) {
+					out.writeShort(0);
+				} else {
+					out.writeShort(1);
+					out.writeShort(pool.utf8("StackMapTable"));
+					out.writeInt(2 + map.size());
+					out.writeShort(frames.size());
+					map.writeTo(out);
+				}
+				return bytes.toByteArray();
+			} catch (IOException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+}
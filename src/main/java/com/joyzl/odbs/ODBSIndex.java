@@ -0,0 +1,160 @@
+package com.joyzl.odbs;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 编译时类型索引 META-INF/odbs/包名称，由 ODBSProcessor 生成，读取类路径中所有同名索引
+ *
+ * <pre>
+ * # ODBS 2 signature=签名
+ * 类名称
+ * \t键名称\tgetter方法|-\tsetter方法|-\t值类名称\tODBS类型名称
+ * </pre>
+ *
+ * 方法行按序列化方法顺序排列，运行时按名称直接获取方法而无须遍历类的所有方法；
+ * 签名为仅初始化此包时的 ODBS.signature()，类路径中仅有一个索引时可用；
+ * 首行没有版本标识的索引仅包含类名称，不提供方法表
+ *
+ * @author ZhangXi 2026年10月18日
+ */
+final class ODBSIndex {
+
+	/** 方法表中没有对应方法 */
+	final static String NONE = "-";
+	/** 版本标识之后的签名 */
+	private final static String SIGNATURE = " signature=";
+
+	/** 类名称 */
+	private final List<String> classes = new ArrayList<>();
+	/** 类名称:方法表 */
+	private final Map<String, String[][]> tables = new HashMap<>();
+	/** 包含索引的类路径位置 */
+	private final Set<String> roots = new HashSet<>();
+	/** 签名，多个索引时为null */
+	private byte[] signature;
+	/** 已读取的索引数量 */
+	private int count;
+
+	/**
+	 * 读取指定包的所有索引，无索引时返回null
+	 */
+	static ODBSIndex read(String name, ClassLoader loader) throws IOException {
+		final String path = ODBSReflect.INDEX + name;
+		final Enumeration<URL> urls = loader.getResources(path);
+		if (urls.hasMoreElements()) {
+			URL url;
+			String root;
+			final ODBSIndex index = new ODBSIndex();
+			while (urls.hasMoreElements()) {
+				url = urls.nextElement();
+				root = url.toString();
+				index.roots.add(root.substring(0, root.length() - path.length()));
+				try (Reader reader = new InputStreamReader(url.openStream(), StandardCharsets.UTF_8)) {
+					index.read(reader);
+				}
+			}
+			return index;
+		}
+		return null;
+	}
+
+	/** 读取一个索引 */
+	void read(Reader reader) throws IOException {
+		final BufferedReader lines = new BufferedReader(reader);
+		String line = lines.readLine();
+		final boolean table = line != null && line.startsWith(ODBSReflect.INDEX_VERSION);
+		if (count++ == 0 && table && line.startsWith(SIGNATURE, ODBSReflect.INDEX_VERSION.length())) {
+			try {
+				signature = HexFormat.of().parseHex(line, ODBSReflect.INDEX_VERSION.length() + SIGNATURE.length(), line.length());
+			} catch (IllegalArgumentException e) {
+				throw new IOException("ODBS 类型索引签名无效 " + line);
+			}
+		} else {
+			signature = null;
+		}
+
+		String name = null;
+		final List<String[]> rows = new ArrayList<>();
+		for (; line != null; line = lines.readLine()) {
+			if (line.isBlank() || line.charAt(0) == '#') {
+				continue;
+			}
+			if (line.charAt(0) == '\t') {
+				if (table) {
+					final String[] row = line.substring(1).split("\t");
+					if (row.length != 5 || name == null) {
+						throw new IOException("ODBS 类型索引无效 " + line);
+					}
+					rows.add(row);
+				}
+				continue;
+			}
+			if (table && name != null) {
+				tables.put(name, rows.toArray(new String[rows.size()][]));
+				rows.clear();
+			}
+			name = line.trim();
+			classes.add(name);
+		}
+		if (table && name != null) {
+			tables.put(name, rows.toArray(new String[rows.size()][]));
+		}
+	}
+
+	/** 所有索引中的类名称 */
+	List<String> classes() {
+		return classes;
+	}
+
+	/** 类名称:方法表，旧版索引中的类没有方法表 */
+	Map<String, String[][]> tables() {
+		return tables;
+	}
+
+	/** 索引中的签名，多个索引或索引未提供签名时返回null */
+	byte[] signature() {
+		return signature;
+	}
+
+	/** 包含索引的类路径位置，例如 file:/classes/ 或 jar:file:/a.jar!/ */
+	Set<String> roots() {
+		return roots;
+	}
+
+	/** 加载方法表中的值类，包括基本类型 */
+	static Class<?> load(String name, ClassLoader loader) throws ClassNotFoundException {
+		switch (name) {
+			case "boolean":
+				return boolean.class;
+			case "byte":
+				return byte.class;
+			case "char":
+				return char.class;
+			case "short":
+				return short.class;
+			case "int":
+				return int.class;
+			case "long":
+				return long.class;
+			case "float":
+				return float.class;
+			case "double":
+				return double.class;
+			default:
+				return Class.forName(name, false, loader);
+		}
+	}
+}
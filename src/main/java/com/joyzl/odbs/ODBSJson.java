@@ -1,11 +1,21 @@
 package com.joyzl.odbs;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.io.Writer;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public final class ODBSJson extends ODBSJsonCodec {
 
@@ -13,8 +23,92 @@ public final class ODBSJson extends ODBSJsonCodec {
 		super(odbs);
 	}
 
+	/** 消息编码解码器，实体引用须每次消息独立 */
+	ODBSJsonCodec codec() {
+		if (isReferences()) {
+			return new ODBSJsonReferences(this);
+		}
+		return this;
+	}
+
 	public void writeEntities(Collection<?> entities, Writer writer) throws IOException {
 		final JSONWriter out = JSONWriter.instance(writer);
+		try {
+			writeEntities(out, entities);
+		} finally {
+			out.release();
+		}
+	}
+
+	public void writeEntity(Object entity, Writer writer) throws IOException {
+		final TypeEntity t = odbs.get(entity.getClass());
+		if (t == null) {
+			throw new IOException("ODBS JSON 类型无效");
+		}
+		final JSONWriter out = JSONWriter.instance(writer);
+		try {
+			codec().writeEntity(out, t, entity);
+		} finally {
+			out.release();
+		}
+	}
+
+	public void writeEntities(Collection<?> entities, OutputStream output) throws IOException {
+		final JSONWriter out = JSONWriter.instance(output);
+		try {
+			writeEntities(out, entities);
+			out.flush();
+		} finally {
+			out.release();
+		}
+	}
+
+	/**
+	 * 编码为UTF-8字节写入缓冲区，缓冲区剩余空间不足时抛出 IOException，缓冲区位置恢复为写入之前
+	 */
+	public void writeEntities(Collection<?> entities, ByteBuffer buffer) throws IOException {
+		final JSONWriter out = JSONWriter.instance(buffer);
+		try {
+			writeEntities(out, entities);
+			out.flush();
+		} finally {
+			out.release();
+		}
+	}
+
+	public void writeEntity(Object entity, OutputStream output) throws IOException {
+		final TypeEntity t = odbs.get(entity.getClass());
+		if (t == null) {
+			throw new IOException("ODBS JSON 类型无效");
+		}
+		final JSONWriter out = JSONWriter.instance(output);
+		try {
+			codec().writeEntity(out, t, entity);
+			out.flush();
+		} finally {
+			out.release();
+		}
+	}
+
+	/**
+	 * 编码为UTF-8字节写入缓冲区，缓冲区剩余空间不足时抛出 IOException，缓冲区位置恢复为写入之前
+	 */
+	public void writeEntity(Object entity, ByteBuffer buffer) throws IOException {
+		final TypeEntity t = odbs.get(entity.getClass());
+		if (t == null) {
+			throw new IOException("ODBS JSON 类型无效");
+		}
+		final JSONWriter out = JSONWriter.instance(buffer);
+		try {
+			codec().writeEntity(out, t, entity);
+			out.flush();
+		} finally {
+			out.release();
+		}
+	}
+
+	private void writeEntities(JSONWriter out, Collection<?> entities) throws IOException {
+		final ODBSJsonCodec codec = codec();
 		out.beginArray();
 		TypeEntity t = null;
 		for (Object v : entities) {
@@ -24,53 +118,322 @@ public final class ODBSJson extends ODBSJsonCodec {
 					throw new IOException("ODBS JSON 类型无效");
 				}
 			}
-			writeEntity(out, t, v);
+			codec.writeEntity(out, t, v);
 		}
 		out.endArray();
 	}
 
-	public void writeEntity(Object entity, Writer writer) throws IOException {
-		final TypeEntity t = odbs.get(entity.getClass());
+	/**
+	 * 读取JSON数组中的实体；逐字符读取，每个字符一次 Reader.read() 调用，不会读取超出JSON值的字符，
+	 * 之后的字符仍可由其它方式读取。读取较大或连续的多个JSON值时应使用块读取的 ODBSJsonReader
+	 *
+	 * @see ODBSJsonReader
+	 */
+	public <T> List<T> readEntities(Class<T> type, Reader reader) throws IOException {
+		final TypeEntity t = odbs.get(type);
 		if (t == null) {
 			throw new IOException("ODBS JSON 类型无效");
 		}
-		writeEntity(JSONWriter.instance(writer), t, entity);
+		final List<T> entities = new ArrayList<>();
+		final JSONReader in = JSONReader.instance(reader);
+		try {
+			codec().readList(in, t, entities);
+		} finally {
+			in.release();
+		}
+		return entities;
 	}
 
-	public <T> List<T> readEntities(Class<T> type, Reader reader) throws IOException {
+	/** 读取JSON数组中的实体，逐字符读取 */
+	public <T> void readEntities(Collection<T> entities, Class<T> type, Reader reader) throws IOException {
+		final TypeEntity t = odbs.get(type);
+		if (t == null) {
+			throw new IOException("ODBS JSON 类型无效");
+		}
+		final JSONReader in = JSONReader.instance(reader);
+		try {
+			codec().readCollection(in, t, entities);
+		} finally {
+			in.release();
+		}
+	}
+
+	/**
+	 * 读取实体；逐字符读取，不会读取超出JSON值的字符，块读取参见 ODBSJsonReader
+	 *
+	 * @see ODBSJsonReader
+	 */
+	public <T> T readEntity(Class<T> type, Reader reader) throws IOException {
+		final TypeEntity t = odbs.get(type);
+		if (t == null) {
+			throw new IOException("ODBS JSON 类型无效");
+		}
+		final JSONReader in = JSONReader.instance(reader);
+		try {
+			return codec().readEntity(in, t, null);
+		} finally {
+			in.release();
+		}
+	}
+
+	/** 读取实体到指定实例，逐字符读取 */
+	public <T> T readEntity(T instence, Reader reader) throws IOException {
+		final TypeEntity t = odbs.get(instence.getClass());
+		if (t == null) {
+			throw new IOException("ODBS JSON 类型无效");
+		}
+		final JSONReader in = JSONReader.instance(reader);
+		try {
+			return codec().readEntity(in, t, instence);
+		} finally {
+			in.release();
+		}
+	}
+
+	/**
+	 * 读取JSON数组中的实体，UTF-8字节流；逐字节读取并解码，每个字节一次 InputStream.read() 调用，
+	 * 不会读取超出JSON值的字节。读取较大或连续的多个JSON值时应使用块读取的 ODBSJsonReader
+	 *
+	 * @see ODBSJsonReader
+	 */
+	public <T> List<T> readEntities(Class<T> type, InputStream input) throws IOException {
 		final TypeEntity t = odbs.get(type);
 		if (t == null) {
 			throw new IOException("ODBS JSON 类型无效");
 		}
 		final List<T> entities = new ArrayList<>();
-		readList(JSONReader.instance(reader), t, entities);
+		final JSONReader in = JSONReader.instance(input);
+		try {
+			codec().readList(in, t, entities);
+		} finally {
+			in.release();
+		}
 		return entities;
 	}
 
-	public <T> void readEntities(Collection<T> entities, Class<T> type, Reader reader) throws IOException {
+	/** 读取JSON数组中的实体，UTF-8字节流，逐字节读取 */
+	public <T> void readEntities(Collection<T> entities, Class<T> type, InputStream input) throws IOException {
 		final TypeEntity t = odbs.get(type);
 		if (t == null) {
 			throw new IOException("ODBS JSON 类型无效");
 		}
-		readCollection(JSONReader.instance(reader), t, entities);
+		final JSONReader in = JSONReader.instance(input);
+		try {
+			codec().readCollection(in, t, entities);
+		} finally {
+			in.release();
+		}
 	}
 
-	public <T> T readEntity(Class<T> type, Reader reader) throws IOException {
+	/**
+	 * 读取实体，UTF-8字节流；逐字节读取，不会读取超出JSON值的字节，块读取参见 ODBSJsonReader
+	 *
+	 * @see ODBSJsonReader
+	 */
+	public <T> T readEntity(Class<T> type, InputStream input) throws IOException {
 		final TypeEntity t = odbs.get(type);
 		if (t == null) {
 			throw new IOException("ODBS JSON 类型无效");
 		}
-		return readEntity(JSONReader.instance(reader), t, null);
+		final JSONReader in = JSONReader.instance(input);
+		try {
+			return codec().readEntity(in, t, null);
+		} finally {
+			in.release();
+		}
 	}
 
-	public <T> T readEntity(T instence, Reader reader) throws IOException {
+	/** 读取实体到指定实例，UTF-8字节流，逐字节读取 */
+	public <T> T readEntity(T instence, InputStream input) throws IOException {
 		final TypeEntity t = odbs.get(instence.getClass());
 		if (t == null) {
 			throw new IOException("ODBS JSON 类型无效");
 		}
-		return readEntity(JSONReader.instance(reader), t, instence);
+		final JSONReader in = JSONReader.instance(input);
+		try {
+			return codec().readEntity(in, t, instence);
+		} finally {
+			in.release();
+		}
+	}
+
+	/**
+	 * 读取JSON数组中的实体，仅解码投影选定的字段，其余字段跳过；逐字符读取
+	 *
+	 * @see ODBSProjection
+	 * @see ODBSJsonReader#readEntities(Class, ODBSProjection)
+	 */
+	public <T> List<T> readEntities(Class<T> type, Reader reader, ODBSProjection projection) throws IOException {
+		final TypeEntity t = type(type, projection);
+		final List<T> entities = new ArrayList<>();
+		final JSONReader in = JSONReader.instance(reader);
+		try {
+			new ODBSJsonProjection(this, projection).readList(in, t, entities);
+		} finally {
+			in.release();
+		}
+		return entities;
+	}
+
+	/** 读取JSON数组中的实体，仅解码投影选定的字段，UTF-8字节流 */
+	public <T> List<T> readEntities(Class<T> type, InputStream input, ODBSProjection projection) throws IOException {
+		final TypeEntity t = type(type, projection);
+		final List<T> entities = new ArrayList<>();
+		final JSONReader in = JSONReader.instance(input);
+		try {
+			new ODBSJsonProjection(this, projection).readList(in, t, entities);
+		} finally {
+			in.release();
+		}
+		return entities;
+	}
+
+	/**
+	 * 读取实体，仅解码投影选定的字段，其余字段跳过；逐字符读取
+	 *
+	 * @see ODBSProjection
+	 * @see ODBSJsonReader#readEntity(Class, ODBSProjection)
+	 */
+	public <T> T readEntity(Class<T> type, Reader reader, ODBSProjection projection) throws IOException {
+		final TypeEntity t = type(type, projection);
+		final JSONReader in = JSONReader.instance(reader);
+		try {
+			return new ODBSJsonProjection(this, projection).readEntity(in, t, null);
+		} finally {
+			in.release();
+		}
 	}
 
+	/** 读取实体，仅解码投影选定的字段，UTF-8字节流 */
+	public <T> T readEntity(Class<T> type, InputStream input, ODBSProjection projection) throws IOException {
+		final TypeEntity t = type(type, projection);
+		final JSONReader in = JSONReader.instance(input);
+		try {
+			return new ODBSJsonProjection(this, projection).readEntity(in, t, null);
+		} finally {
+			in.release();
+		}
+	}
+
+	/**
+	 * 逐个读取JSON数组中的实体，每次 next() 解码一个实体，无须将所有实体同时保留在内存中；
+	 * 迭代器使用独立的读取器，字符以块方式读取，可能读取超出JSON数组的字符；读取错误以 UncheckedIOException 抛出
+	 */
+	public <T> Iterator<T> iterate(Class<T> type, Reader reader) throws IOException {
+		final JSONReader in = new JSONReader();
+		in.reset(reader, JSONReader.BLOCK);
+		return new EntityIterator<>(codec(), in, type(type), null);
+	}
+
+	/** 逐个读取JSON数组中的实体，UTF-8字节流 */
+	public <T> Iterator<T> iterate(Class<T> type, InputStream input) throws IOException {
+		final JSONReader in = new JSONReader();
+		in.reset(input, JSONReader.BLOCK);
+		return new EntityIterator<>(codec(), in, type(type), null);
+	}
+
+	/**
+	 * 逐个读取JSON数组中的实体，所有实体解码到指定的同一实例，
+	 * 每次 next() 返回此实例，解码前实例所有可写方法恢复为默认值
+	 */
+	public <T> Iterator<T> iterate(T instence, Reader reader) throws IOException {
+		final JSONReader in = new JSONReader();
+		in.reset(reader, JSONReader.BLOCK);
+		return new EntityIterator<>(codec(), in, type(instence.getClass()), instence);
+	}
+
+	/** 逐个读取JSON数组中的实体，所有实体解码到指定的同一实例，UTF-8字节流 */
+	public <T> Iterator<T> iterate(T instence, InputStream input) throws IOException {
+		final JSONReader in = new JSONReader();
+		in.reset(input, JSONReader.BLOCK);
+		return new EntityIterator<>(codec(), in, type(instence.getClass()), instence);
+	}
+
+	/** 以顺序流逐个读取JSON数组中的实体 */
+	public <T> Stream<T> stream(Class<T> type, Reader reader) throws IOException {
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterate(type, reader), Spliterator.ORDERED | Spliterator.NONNULL), false);
+	}
+
+	/** 以顺序流逐个读取JSON数组中的实体，UTF-8字节流 */
+	public <T> Stream<T> stream(Class<T> type, InputStream input) throws IOException {
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterate(type, input), Spliterator.ORDERED | Spliterator.NONNULL), false);
+	}
+
+	TypeEntity type(Class<?> type) throws IOException {
+		final TypeEntity t = odbs.get(type);
+		if (t == null) {
+			throw new IOException("ODBS JSON 类型无效");
+		}
+		return t;
+	}
+
+	TypeEntity type(Class<?> type, ODBSProjection projection) throws IOException {
+		final TypeEntity t = type(type);
+		if (projection.type() != t) {
+			throw new IllegalArgumentException("ODBS 投影类型不匹配 " + projection.entity());
+		}
+		return t;
+	}
+
+	/** 实体迭代器，每次解码数组中的一个实体 */
+	private final class EntityIterator<T> implements Iterator<T> {
+
+		private final ODBSJsonCodec codec;
+		private final JSONReader in;
+		private final TypeEntity type;
+		private final T instence;
+		/** 0 未探查 1 有下一个 2 结束 */
+		private int state;
+
+		EntityIterator(ODBSJsonCodec codec, JSONReader in, TypeEntity type, T instence) throws IOException {
+			this.codec = codec;
+			this.in = in;
+			this.type = type;
+			this.instence = instence;
+			in.beginArray();
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (state == 0) {
+				try {
+					state = in.readNext() ? 1 : 2;
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}
+			return state == 1;
+		}
+
+		@Override
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			state = 0;
+			try {
+				if (instence != null) {
+					// JSON 未输出空值，须恢复默认值
+					ODBSMethod method;
+					for (int index = 0; index < type.methods().length; index++) {
+						method = type.methods()[index];
+						if (method.set() != null) {
+							if (type.serializer() != null) {
+								type.serializer().give(instence, index);
+							} else {
+								method.type().give(instence, method);
+							}
+						}
+					}
+				}
+				return codec.readEntity(in, type, instence);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+
+	/** 读取JSON字符串数组，逐字符读取 */
 	public List<String> readStrings(Reader reader) throws IOException {
 		final List<String> values = new ArrayList<>();
 		readStrings(values, reader);
@@ -79,6 +442,14 @@ public final class ODBSJson extends ODBSJsonCodec {
 
 	public void readStrings(Collection<String> values, Reader reader) throws IOException {
 		final JSONReader in = JSONReader.instance(reader);
+		try {
+			readStrings(in, values);
+		} finally {
+			in.release();
+		}
+	}
+
+	static void readStrings(JSONReader in, Collection<String> values) throws IOException {
 		in.beginArray();
 		while (in.readNext()) {
 			in.readValue();
@@ -39,11 +39,25 @@ abstract class ODBSJsonCodec extends ODBSCodec<JSONWriter, JSONReader> {
 	private DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss");
 	/** 表示类型的键 */
 	private String KEY_TYPE = "*";
+	/** 跟踪实体引用 */
+	private boolean REFERENCES = false;
 
 	public ODBSJsonCodec(ODBS odbs) {
 		this.odbs = odbs;
 	}
 
+	/** 复制设置 */
+	ODBSJsonCodec(ODBSJsonCodec codec) {
+		odbs = codec.odbs;
+		KEY_NAME_FORMAT = codec.KEY_NAME_FORMAT;
+		DATE_FORMAT = codec.DATE_FORMAT;
+		DATE_FORMATTER = codec.DATE_FORMATTER;
+		DATE_TIME_FORMATTER = codec.DATE_TIME_FORMATTER;
+		TIME_FORMATTER = codec.TIME_FORMATTER;
+		KEY_TYPE = codec.KEY_TYPE;
+		REFERENCES = codec.REFERENCES;
+	}
+
 	/**
 	 * 获取类型键，当类型不明确时通过此键值指定类型名称
 	 */
@@ -128,6 +142,21 @@ abstract class ODBSJsonCodec extends ODBSCodec<JSONWriter, JSONReader> {
 		DATE_FORMAT = value;
 	}
 
+	/**
+	 * 获取是否跟踪实体引用
+	 */
+	public boolean isReferences() {
+		return REFERENCES;
+	}
+
+	/**
+	 * 设置是否跟踪实体引用，默认为 false，此设置同时影响对序列化和反序列化；
+	 * 跟踪时每次消息中共享的实体仅输出一次 {"$id":n,...}，之后输出引用 {"$ref":n}，解码为同一实例，循环引用的实体可输出
+	 */
+	public void setReferences(boolean value) {
+		REFERENCES = value;
+	}
+
 	////////////////////////////////////////////////////////////////////////////////
 
 	@Override
@@ -278,20 +307,31 @@ abstract class ODBSJsonCodec extends ODBSCodec<JSONWriter, JSONReader> {
 		if (entity == null) {
 			entity = type.newInstance();
 		}
+		if (in.readKey()) {
+			readFields(in, type, entity);
+		}
+		return entity;
+	}
 
+	/** 解码实体字段直至对象结束，首个键已读取 */
+	void readFields(JSONReader in, TypeEntity type, Object entity) throws IOException {
 		ODBSMethod method;
-		while (in.readKey()) {
-			method = type.find(KEY_NAME_FORMAT, in.chars());
-			if (method == null || method.set() == null) {
+		int next = 0;
+		do {
+			method = type.find(KEY_NAME_FORMAT, in.chars(), next);
+			if (method == null) {
+				in.readIgnore();
+				continue;
+			}
+			if (method.set() == null) {
 				in.readIgnore();
+			} else if (type.serializer() != null) {
+				type.serializer().read(entity, method.index(), this, in);
 			} else {
-				if ("EnumCodes".contentEquals(in.chars())) {
-					in.chars().toString();
-				}
 				method.type().read(entity, method, this, in);
 			}
-		}
-		return entity;
+			next = method.index() + 1;
+		} while (in.readKey());
 	}
 
 	@Override
@@ -308,15 +348,8 @@ abstract class ODBSJsonCodec extends ODBSCodec<JSONWriter, JSONReader> {
 				if (value == null) {
 					value = t.newInstance();
 				}
-
-				ODBSMethod method;
-				while (in.readKey()) {
-					method = t.find(KEY_NAME_FORMAT, in.chars());
-					if (method == null || method.set() == null) {
-						in.readIgnore();
-					} else {
-						method.type().read(value, method, this, in);
-					}
+				if (in.readKey()) {
+					readFields(in, t, value);
 				}
 				return value;
 			} else {
@@ -722,21 +755,29 @@ abstract class ODBSJsonCodec extends ODBSCodec<JSONWriter, JSONReader> {
 
 	@Override
 	void writeField(JSONWriter out, ODBSMethod method) throws IOException {
-		out.writeKey(method.name(KEY_NAME_FORMAT));
+		out.writeKey(method, KEY_NAME_FORMAT);
 	}
 
 	@Override
 	void writeEntity(JSONWriter out, TypeEntity type, Object value) throws IOException {
 		out.beginObject();
-		// 实体字段编码
-		ODBSMethod method;
-		for (int index = 0; index < type.methods().length; index++) {
-			method = type.methods()[index];
-			if (method.get() != null) {
-				method.type().write2(value, method, this, out);
+		writeFields(out, type, value);
+		out.endObject();
+	}
+
+	/** 实体字段编码 */
+	void writeFields(JSONWriter out, TypeEntity type, Object value) throws IOException {
+		if (type.serializer() != null) {
+			type.serializer().write2(value, this, out);
+		} else {
+			ODBSMethod method;
+			for (int index = 0; index < type.methods().length; index++) {
+				method = type.methods()[index];
+				if (method.get() != null) {
+					method.type().write2(value, method, this, out);
+				}
 			}
 		}
-		out.endObject();
 	}
 
 	@Override
@@ -750,14 +791,7 @@ abstract class ODBSJsonCodec extends ODBSCodec<JSONWriter, JSONReader> {
 		// 输出类型标记
 		out.writeKey(KEY_TYPE);
 		out.writeValue(t.name());
-		// 实体字段编码
-		ODBSMethod method;
-		for (int index = 0; index < t.methods().length; index++) {
-			method = t.methods()[index];
-			if (method.get() != null) {
-				method.type().write2(value, method, this, out);
-			}
-		}
+		writeFields(out, t, value);
 		out.endObject();
 	}
 
@@ -0,0 +1,59 @@
+package com.joyzl.odbs;
+
+import java.io.IOException;
+
+/**
+ * 投影解码器，每次消息(readEntity/readEntities)创建独立实例并复制设置；
+ * 仅解码投影选定的字段，未选定字段的值以 readIgnore() 跳过；
+ * 设置 REFERENCES 时后续内容可能引用被跳过部分中的实体，须解码后丢弃
+ *
+ * @author ZhangXi 2026年10月18日
+ */
+final class ODBSJsonProjection extends ODBSJsonReferences {
+
+	/** 当前实体的投影，null 解码完整实体 */
+	private ODBSProjection projection;
+
+	ODBSJsonProjection(ODBSJsonCodec codec, ODBSProjection projection) {
+		super(codec);
+		this.projection = projection;
+	}
+
+	@Override
+	void readFields(JSONReader in, TypeEntity type, Object entity) throws IOException {
+		final ODBSProjection node = projection;
+		if (node == null || node.type() != type) {
+			super.readFields(in, type, entity);
+			return;
+		}
+
+		ODBSMethod method;
+		int next = 0;
+		try {
+			do {
+				method = type.find(getKeyNameFormat(), in.chars(), next);
+				if (method == null) {
+					in.readIgnore();
+					continue;
+				}
+				if (method.set() == null) {
+					in.readIgnore();
+				} else if (!node.selected(method.index())) {
+					if (isReferences()) {
+						// 后续内容可能引用被跳过部分中的实体
+						projection = null;
+						method.type().skip(this, in);
+					} else {
+						in.readIgnore();
+					}
+				} else {
+					projection = node.child(method.index());
+					method.type().read(entity, method, this, in);
+				}
+				next = method.index() + 1;
+			} while (in.readKey());
+		} finally {
+			projection = node;
+		}
+	}
+}
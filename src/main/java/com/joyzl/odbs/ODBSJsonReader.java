@@ -0,0 +1,99 @@
+/*
+ * Copyright © 2017-2025 重庆骄智科技有限公司.
+ * 本软件根据 Apache License 2.0 开源，详见 LICENSE 文件。
+ */
+package com.joyzl.odbs;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JSON块读取，字符(或UTF-8字节)以块方式读入此对象的缓存，字符串和数值在缓存中批量扫描
+ * <p>
+ * 块读取可能读取超出当前JSON值的字符，已缓存但未解析的字符保留在此对象中，
+ * 同一字符流中连续的多个JSON值须通过同一对象读取；不再读取时此对象可直接丢弃，
+ * 字符流中剩余的字符不可再由其它方式读取。ODBSJson 的字符流和字节流方法逐字符读取，不会读取超出JSON值的字符。
+ * </p>
+ *
+ * <pre>
+ * final ODBSJsonReader reader = new ODBSJsonReader(json, input);
+ * final Entity a = reader.readEntity(Entity.class);
+ * final Entity b = reader.readEntity(Entity.class);
+ * </pre>
+ *
+ * 读取器不是多线程安全的。
+ *
+ * @author ZhangXi
+ * @date 2026年10月18日
+ */
+public final class ODBSJsonReader {
+
+	private final ODBSJson json;
+	private final JSONReader in = new JSONReader();
+
+	/** 从字符流块读取 */
+	public ODBSJsonReader(ODBSJson json, Reader reader) {
+		this.json = json;
+		in.reset(reader, JSONReader.BLOCK);
+	}
+
+	/** 从UTF-8字节流块读取并解码 */
+	public ODBSJsonReader(ODBSJson json, InputStream input) {
+		this.json = json;
+		in.reset(input, JSONReader.BLOCK);
+	}
+
+	public <T> T readEntity(Class<T> type) throws IOException {
+		in.clear();
+		return json.codec().readEntity(in, json.type(type), null);
+	}
+
+	public <T> T readEntity(T instence) throws IOException {
+		in.clear();
+		return json.codec().readEntity(in, json.type(instence.getClass()), instence);
+	}
+
+	public <T> List<T> readEntities(Class<T> type) throws IOException {
+		final List<T> entities = new ArrayList<>();
+		readEntities(entities, type);
+		return entities;
+	}
+
+	public <T> void readEntities(Collection<T> entities, Class<T> type) throws IOException {
+		in.clear();
+		json.codec().readCollection(in, json.type(type), entities);
+	}
+
+	/**
+	 * 读取实体，仅解码投影选定的字段，其余字段跳过
+	 *
+	 * @see ODBSProjection
+	 */
+	public <T> T readEntity(Class<T> type, ODBSProjection projection) throws IOException {
+		in.clear();
+		return new ODBSJsonProjection(json, projection).readEntity(in, json.type(type, projection), null);
+	}
+
+	/**
+	 * 读取JSON数组中的实体，仅解码投影选定的字段，其余字段跳过
+	 *
+	 * @see ODBSProjection
+	 */
+	public <T> List<T> readEntities(Class<T> type, ODBSProjection projection) throws IOException {
+		in.clear();
+		final List<T> entities = new ArrayList<>();
+		new ODBSJsonProjection(json, projection).readList(in, json.type(type, projection), entities);
+		return entities;
+	}
+
+	public List<String> readStrings() throws IOException {
+		in.clear();
+		final List<String> values = new ArrayList<>();
+		ODBSJson.readStrings(in, values);
+		return values;
+	}
+}
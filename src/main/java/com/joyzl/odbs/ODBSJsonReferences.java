@@ -0,0 +1,171 @@
+package com.joyzl.odbs;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 实体引用编码解码器，每次消息(writeEntities/writeEntity)创建独立实例并复制设置；
+ * 设置 REFERENCES 时实体首次出现时输出序号 {"$id":n,...}，之后出现时(共享或循环引用)仅输出引用 {"$ref":n}，解码为同一实例
+ *
+ * @author ZhangXi 2026年10月18日
+ */
+class ODBSJsonReferences extends ODBSJsonCodec {
+
+	/** 实体序号键 */
+	final static String KEY_ID = "$id";
+	/** 实体引用键 */
+	final static String KEY_REF = "$ref";
+
+	/** 编码实体表(对象标识) */
+	private final Map<Object, Integer> indexes = new IdentityHashMap<>();
+	/** 解码实体表 */
+	private final List<Object> entities = new ArrayList<>();
+
+	ODBSJsonReferences(ODBSJsonCodec codec) {
+		super(codec);
+	}
+
+	@Override
+	<T> T readEntity(JSONReader in, TypeEntity type, T entity) throws IOException {
+		if (!isReferences()) {
+			return super.readEntity(in, type, entity);
+		}
+		in.beginObject();
+		if (in.readKey()) {
+			if (KEY_REF.contentEquals(in.chars())) {
+				return reference(in);
+			}
+			if (entity == null) {
+				entity = type.newInstance();
+			}
+			if (KEY_ID.contentEquals(in.chars())) {
+				register(in, entity);
+				if (!in.readKey()) {
+					return entity;
+				}
+			}
+			readFields(in, type, entity);
+			return entity;
+		}
+		if (entity == null) {
+			entity = type.newInstance();
+		}
+		return entity;
+	}
+
+	@Override
+	Object readObject(JSONReader in, TypeObject type, Object value) throws IOException {
+		if (!isReferences()) {
+			return super.readObject(in, type, value);
+		}
+		in.beginObject();
+		if (in.readKey()) {
+			if (KEY_REF.contentEquals(in.chars())) {
+				return reference(in);
+			}
+			if (getKeyType().contentEquals(in.chars())) {
+				in.readValue();
+				final TypeEntity t = odbs.find(in.chars());
+				if (t == null) {
+					throw new IOException("ODBSJson 类型无效 " + in.chars());
+				}
+
+				if (value == null) {
+					value = t.newInstance();
+				}
+				if (in.readKey()) {
+					if (KEY_ID.contentEquals(in.chars())) {
+						register(in, value);
+						if (!in.readKey()) {
+							return value;
+						}
+					}
+					readFields(in, t, value);
+				}
+				return value;
+			}
+		}
+		throw new IOException("ODBSJson 无类型标记");
+	}
+
+	/** 读取序号并登记实体，解码字段之前登记，循环引用可解析为此实例 */
+	private void register(JSONReader in, Object entity) throws IOException {
+		in.readValue();
+		if (in.getInt() != entities.size()) {
+			throw new IOException("ODBSJson 实体序号无效 " + in.chars());
+		}
+		entities.add(entity);
+	}
+
+	/** 读取引用并返回已登记的实体 */
+	@SuppressWarnings("unchecked")
+	private <T> T reference(JSONReader in) throws IOException {
+		in.readValue();
+		final int index = in.getInt();
+		if (index < 0 || index >= entities.size()) {
+			throw new IOException("ODBSJson 实体引用无效 " + in.chars());
+		}
+		while (in.readKey()) {
+			in.readIgnore();
+		}
+		return (T) entities.get(index);
+	}
+
+	@Override
+	void writeEntity(JSONWriter out, TypeEntity type, Object value) throws IOException {
+		if (!isReferences()) {
+			super.writeEntity(out, type, value);
+			return;
+		}
+		out.beginObject();
+		if (register(out, value)) {
+			writeFields(out, type, value);
+		}
+		out.endObject();
+	}
+
+	@Override
+	void writeObject(JSONWriter out, TypeObject type, Object value) throws IOException {
+		if (!isReferences()) {
+			super.writeObject(out, type, value);
+			return;
+		}
+		final Integer index = indexes.get(value);
+		if (index != null) {
+			out.beginObject();
+			out.writeKey(KEY_REF);
+			out.writeValue(index.intValue());
+			out.endObject();
+			return;
+		}
+
+		final TypeEntity t = odbs.get(value.getClass());
+		if (t == null) {
+			throw new IOException("ODBS JSON 类型无效");
+		}
+
+		out.beginObject();
+		// 输出类型标记
+		out.writeKey(getKeyType());
+		out.writeValue(t.name());
+		register(out, value);
+		writeFields(out, t, value);
+		out.endObject();
+	}
+
+	/** 输出序号或引用，首次出现时返回 true */
+	private boolean register(JSONWriter out, Object value) throws IOException {
+		final Integer index = indexes.putIfAbsent(value, indexes.size());
+		if (index != null) {
+			out.writeKey(KEY_REF);
+			out.writeValue(index.intValue());
+			return false;
+		}
+		out.writeKey(KEY_ID);
+		out.writeValue(indexes.size() - 1);
+		return true;
+	}
+}
@@ -9,6 +9,7 @@ import java.lang.reflect.TypeVariable;
 import java.lang.reflect.WildcardType;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -28,6 +29,9 @@ final class ODBSMethod {
 	private final int index;
 	private final ODBSType type;
 	private final String[] names;
+	/** 各命名格式的键片段 ,"key": 字符和UTF-8字节 */
+	private final char[][] chars;
+	private final byte[][] bytes;
 	private final MethodHandle get, set;
 
 	public ODBSMethod(Method getter, Method setter, Map<?, ODBSType> types, int i) {
@@ -59,6 +63,14 @@ final class ODBSMethod {
 		} catch (Exception e) {
 			throw new RuntimeException(e);
 		}
+		// Java 方法名称无须转义
+		chars = new char[names.length][];
+		bytes = new byte[names.length][];
+		for (int n = 0; n < names.length; n++) {
+			final String key = JSONCodec.COMMA + "" + JSONCodec.QUOTES + names[n] + JSONCodec.QUOTES + JSONCodec.COLON;
+			chars[n] = key.toCharArray();
+			bytes[n] = key.getBytes(StandardCharsets.UTF_8);
+		}
 	}
 
 	public int index() {
@@ -86,6 +98,16 @@ final class ODBSMethod {
 		return names[format.ordinal()];
 	}
 
+	/** 获取指定命名格式的键片段字符 ,"key": **/
+	public char[] chars(JSONName format) {
+		return chars[format.ordinal()];
+	}
+
+	/** 获取指定命名格式的键片段UTF-8字节 ,"key": **/
+	public byte[] bytes(JSONName format) {
+		return bytes[format.ordinal()];
+	}
+
 	/** 检查键名是否匹配方法名称 */
 	public boolean match(JSONName format, CharSequence name) {
 		return JSONName.match(names, format, name);
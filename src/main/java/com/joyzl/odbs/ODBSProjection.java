@@ -0,0 +1,134 @@
+/*
+ * Copyright © 2017-2025 重庆骄智科技有限公司.
+ * 本软件根据 Apache License 2.0 开源，详见 LICENSE 文件。
+ */
+package com.joyzl.odbs;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * 投影，解码实体时仅解码选定的字段，其余字段跳过；
+ * 字段路径以"."分隔嵌套实体字段，例如"Items.Sku"，集合(数组/列表/集/映射值)字段路径作用于元素实体，
+ * 名称可为任意键名格式；选定整个字段时忽略其嵌套路径，未选定的字段保持实例初始值
+ *
+ * <pre>
+ * ODBSProjection projection = ODBSProjection.of(odbs, Order.class, "Id", "Items.Sku");
+ * Order order = binary.readEntity(Order.class, input, projection);
+ * </pre>
+ *
+ * 投影构建后不可变，可在多个线程中复用
+ *
+ * @author ZhangXi
+ * @date 2026年10月18日
+ */
+public final class ODBSProjection {
+
+	/** 路径分隔符 */
+	public final static char SEPARATOR = '.';
+
+	private final TypeEntity type;
+	/** 选定的字段，按方法索引 */
+	private final boolean[] selected;
+	/** 选定字段的嵌套投影，null 解码完整字段 */
+	private final ODBSProjection[] children;
+
+	private ODBSProjection(TypeEntity type) {
+		this.type = type;
+		selected = new boolean[type.methods().length];
+		children = new ODBSProjection[type.methods().length];
+	}
+
+	/**
+	 * 构建指定实体类型的投影
+	 *
+	 * @param paths 字段路径，以"."分隔嵌套字段
+	 * @throws IllegalArgumentException 类型不是实体或字段路径无效
+	 */
+	public static ODBSProjection of(ODBS odbs, Class<?> type, String... paths) {
+		return of(odbs, type, Arrays.asList(paths));
+	}
+
+	/**
+	 * 构建指定实体类型的投影
+	 *
+	 * @param paths 字段路径，以"."分隔嵌套字段
+	 * @throws IllegalArgumentException 类型不是实体或字段路径无效
+	 */
+	public static ODBSProjection of(ODBS odbs, Class<?> type, Collection<String> paths) {
+		final TypeEntity t = odbs.get(type);
+		if (t == null) {
+			throw new IllegalArgumentException("ODBS 类型无效 " + type);
+		}
+		final ODBSProjection projection = new ODBSProjection(t);
+		for (String path : paths) {
+			projection.add(path, 0);
+		}
+		return projection;
+	}
+
+	/** 添加字段路径，begin 为当前层级字段名称的起始位置 */
+	private void add(String path, int begin) {
+		int end = path.indexOf(SEPARATOR, begin);
+		if (end < 0) {
+			end = path.length();
+		}
+		final ODBSMethod method = type.find(null, path.subSequence(begin, end));
+		if (method == null) {
+			throw new IllegalArgumentException("ODBS 字段无效 " + path);
+		}
+
+		final int index = method.index();
+		if (end >= path.length()) {
+			// 选定整个字段
+			selected[index] = true;
+			children[index] = null;
+			return;
+		}
+		if (selected[index] && children[index] == null) {
+			// 已选定整个字段
+			return;
+		}
+
+		final TypeEntity child = entity(method.type());
+		if (child == null) {
+			throw new IllegalArgumentException("ODBS 字段无嵌套实体 " + path);
+		}
+		if (children[index] == null) {
+			children[index] = new ODBSProjection(child);
+			selected[index] = true;
+		}
+		children[index].add(path, end + 1);
+	}
+
+	/** 字段或集合元素的实体类型 */
+	private static TypeEntity entity(ODBSType type) {
+		if (type instanceof TypeEntity) {
+			return (TypeEntity) type;
+		}
+		if (type.element() instanceof TypeEntity) {
+			return (TypeEntity) type.element();
+		}
+		return null;
+	}
+
+	/** 投影的实体类型 */
+	TypeEntity type() {
+		return type;
+	}
+
+	/** 字段是否选定 */
+	boolean selected(int index) {
+		return selected[index];
+	}
+
+	/** 选定字段的嵌套投影，null 解码完整字段 */
+	ODBSProjection child(int index) {
+		return children[index];
+	}
+
+	/** 投影的实体类 */
+	public Class<?> entity() {
+		return type.type();
+	}
+}
@@ -19,12 +19,17 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Enumeration;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
+import java.util.stream.Collectors;
 
 /**
  * 对象反射相关辅助方法
@@ -34,6 +39,11 @@ import java.util.jar.JarFile;
  */
 public final class ODBSReflect {
 
+	/** 编译时类型索引资源路径，之后为包名称 */
+	public final static String INDEX = "META-INF/odbs/";
+	/** 编译时类型索引首行版本标识，包含方法表 */
+	public final static String INDEX_VERSION = "# ODBS 2";
+
 	private ODBSReflect() {
 		// 禁止实例化
 	}
@@ -418,27 +428,111 @@ public final class ODBSReflect {
 	 * 扫描指定模块/包中的所有类和资源
 	 */
 	public final static List<Class<?>> scanClass(String name) {
-		final List<String> resources = scan(name);
-		if (resources != null) {
-			final List<Class<?>> classes = new ArrayList<>();
-			for (String resource : resources) {
-				if ("module-info.class".equalsIgnoreCase(resource)) {
-					continue;
-				}
-				if (resource.endsWith(".class")) {
-					resource = resource.substring(0, resource.length() - 6);
-					resource = resource.replace('/', '.');
-					try {
-						classes.add(Class.forName(resource));
-					} catch (Exception e) {
-						// 忽略此异常,不中断运行
-						// e.printStackTrace();
-					}
-				}
+		return scanClass(name, false);
+	}
+
+	/**
+	 * 扫描指定模块/包中的所有类，类仅加载不初始化(不执行静态初始化)
+	 * 
+	 * @param parallel 是否在公共线程池中并行加载类，返回的类顺序与扫描顺序一致
+	 */
+	public final static List<Class<?>> scanClass(String name, boolean parallel) {
+		return scanClass(name, parallel, ClassLoader.getSystemClassLoader(), ODBSReflect.class.getClassLoader());
+	}
+
+	/**
+	 * 扫描指定模块/包中的所有类，优先使用编译时生成的索引；
+	 * 类路径中未包含索引的位置(目录或JAR)仍扫描其中的类，与索引合并
+	 *
+	 * @param resources 查找索引和资源的类加载器
+	 * @param loader 加载类的类加载器
+	 */
+	static List<Class<?>> scanClass(String name, boolean parallel, ClassLoader resources, ClassLoader loader) {
+		return scanClass(name, readIndex(name, resources), parallel, resources, loader);
+	}
+
+	/**
+	 * 扫描指定模块/包中的所有类，使用已读取的编译时类型索引
+	 *
+	 * @param index 编译时类型索引，无索引时为null
+	 */
+	static List<Class<?>> scanClass(String name, ODBSIndex index, boolean parallel, ClassLoader resources, ClassLoader loader) {
+		final Collection<String> names;
+		if (index == null) {
+			final List<String> items = scan(name);
+			if (items == null) {
+				return null;
 			}
-			return classes;
+			names = classNames(items, new ArrayList<>(items.size()));
+		} else if (name.indexOf('/') >= 0) {
+			// 模块中的包
+			names = index.classes();
+		} else {
+			names = classNames(scanPackage(name, resources, index.roots()), new LinkedHashSet<>(index.classes()));
+		}
+
+		if (parallel) {
+			return names.parallelStream().map(n -> loadClass(n, loader)).filter(Objects::nonNull).collect(Collectors.toList());
+		}
+		Class<?> clazz;
+		final List<Class<?>> classes = new ArrayList<>(names.size());
+		for (String n : names) {
+			clazz = loadClass(n, loader);
+			if (clazz != null) {
+				classes.add(clazz);
+			}
+		}
+		return classes;
+	}
+
+	/** 资源中的类名称 */
+	private final static Collection<String> classNames(List<String> resources, Collection<String> names) {
+		for (String resource : resources) {
+			if (resource.endsWith("module-info.class")) {
+				continue;
+			}
+			if (resource.endsWith(".class")) {
+				resource = resource.substring(0, resource.length() - 6);
+				names.add(resource.replace('/', '.'));
+			}
+		}
+		return names;
+	}
+
+	/** 加载类但不初始化，失败时返回null */
+	private final static Class<?> loadClass(String name, ClassLoader loader) {
+		try {
+			return Class.forName(name, false, loader);
+		} catch (Exception | LinkageError e) {
+			// 忽略此异常,不中断运行
+			return null;
+		}
+	}
+
+	/**
+	 * 读取指定包的编译时类型索引，包括所有类路径和模块中的同名索引<br>
+	 * 包名称 "com.joyzl.odbs.test"<br>
+	 * 或模块中的包名称 "com.joyzl.odbs/com.joyzl.odbs.test"<br>
+	 * 
+	 * @see com.joyzl.odbs.processor.ODBSProcessor
+	 * @return null/List&lt;String&gt; 类名称，无索引时返回null
+	 */
+	public final static List<String> scanIndex(String name) {
+		final ODBSIndex index = readIndex(name, ClassLoader.getSystemClassLoader());
+		return index == null ? null : index.classes();
+	}
+
+	/** 读取编译时类型索引，无索引时返回null */
+	static ODBSIndex readIndex(String name, ClassLoader loader) {
+		final int index = name.indexOf('/');
+		if (index >= 0) {
+			name = name.substring(index + 1);
+		}
+		try {
+			return ODBSIndex.read(name, loader);
+		} catch (IOException ex) {
+			throw new RuntimeException(ex);
 		}
-		return null;
 	}
 
 	/**
@@ -515,18 +609,36 @@ public final class ODBSReflect {
 	 * @return null/List&lt;String&gt;
 	 */
 	public final static List<String> scanPackage(String name) {
+		return scanPackage(name, ClassLoader.getSystemClassLoader(), Set.of());
+	}
+
+	/**
+	 * 扫描指定包中的所有类和资源，排除指定的类路径位置
+	 * 
+	 * @param excludes 排除的类路径位置，例如 file:/classes/ 或 jar:file:/a.jar!/
+	 */
+	private final static List<String> scanPackage(String name, ClassLoader loader, Set<String> excludes) {
 		final String path = name.replace('.', '/');
 		// System.out.println("scanPackage:" + name);
 		try {
 			URL url;
+			String root;
 			final List<String> resources = new ArrayList<>();
 			// final Enumeration<URL> urls =
 			// Thread.currentThread().getContextClassLoader().getResources(path);
-			final Enumeration<URL> urls = ClassLoader.getSystemClassLoader().getResources(path);
+			final Enumeration<URL> urls = loader.getResources(path);
 			while (urls.hasMoreElements()) {
 				url = urls.nextElement();
 				// System.out.println(url);
 				if (url == null) {
+					continue;
+				}
+				root = url.toString();
+				if (root.endsWith("/")) {
+					root = root.substring(0, root.length() - 1);
+				}
+				if (excludes.contains(root.substring(0, root.length() - path.length()))) {
+					// 已包含索引
 				} else if ("file".equalsIgnoreCase(url.getProtocol())) {
 					scanPackage(new File(url.toURI()), path, resources);
 				} else if ("jar".equalsIgnoreCase(url.getProtocol())) {
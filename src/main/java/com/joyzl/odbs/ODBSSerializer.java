@@ -0,0 +1,24 @@
+package com.joyzl.odbs;
+
+import java.io.IOException;
+
+/**
+ * 实体编码解码器，由{@link ODBSCompiler}为实体类型生成；
+ * 方法与{@link ODBSType}中的实例方法值操作对应，字段以方法索引标识
+ *
+ * @author ZhangXi 2026年10月18日
+ */
+interface ODBSSerializer {
+
+	/** 编码实体所有可读写方法值，非空值和默认值编码 */
+	<O, I> void write1(Object entity, ODBSCodec<O, I> codec, O out) throws IOException;
+
+	/** 编码实体所有可读方法值，非空值均编码 */
+	<O, I> void write2(Object entity, ODBSCodec<O, I> codec, O out) throws IOException;
+
+	/** 解码指定索引的实例方法值 */
+	<O, I> void read(Object entity, int index, ODBSCodec<O, I> codec, I in) throws IOException;
+
+	/** 指定索引的实例方法设置默认值 */
+	void give(Object entity, int index);
+}
@@ -39,6 +39,16 @@ abstract class ODBSType {
 
 	abstract <O, I> void write(Object value, ODBSCodec<O, I> codec, O out) throws IOException;
 
+	/** 跳过实例方法值，默认解码后丢弃 */
+	<O, I> void skip(ODBSCodec<O, I> codec, I in) throws IOException {
+		read(codec, in);
+	}
+
+	/** 集合元素类型(映射为值类型)，非集合或未指定时为null */
+	ODBSType element() {
+		return null;
+	}
+
 	@Override
 	public String toString() {
 		return type().getSimpleName();
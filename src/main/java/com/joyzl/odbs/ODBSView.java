@@ -0,0 +1,230 @@
+/*
+ * Copyright © 2017-2025 重庆骄智科技有限公司.
+ * 本软件根据 Apache License 2.0 开源，详见 LICENSE 文件。
+ */
+package com.joyzl.odbs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import com.joyzl.codec.ByteBufferDataInput;
+
+/**
+ * 实体只读视图，包装 ODBSBinary.writeEntity() 输出的字节缓冲区，访问字段时才解码此字段而不创建完整实体；
+ * 首次访问时扫描字段并建立偏移索引，之后字段按偏移直接解码，嵌套实体字段可作为视图访问而不复制字节
+ *
+ * <pre>
+ * ODBSView view = binary.view(buffer);
+ * long id = view.getLong("Id");
+ * String sku = view.view("Item").getString("Sku");
+ * </pre>
+ *
+ * 选项 FRAMING 时建立索引按字节长度直接跳过实体和集合字段；
+ * 视图不修改缓冲区的位置，缓冲区内容在视图使用期间不得改变；视图不是线程安全的
+ *
+ * @author ZhangXi
+ * @date 2026年10月18日
+ */
+public final class ODBSView {
+
+	private final ODBSBinaryFraming codec;
+	private final TypeEntity type;
+	/** 字段读取，缓冲区位置0为首个字段索引 */
+	private final ByteBufferDataInput in;
+	/** 字段值偏移，按方法索引，-1 字段未编码(默认值) */
+	private int[] offsets;
+
+	ODBSView(ODBSBinaryFraming codec, TypeEntity type, ByteBuffer buffer) {
+		this.codec = codec;
+		this.type = type;
+		in = new ByteBufferDataInput(buffer);
+	}
+
+	/** 视图的实体类 */
+	public Class<?> type() {
+		return type.type();
+	}
+
+	/** 字段是否已编码，未编码的字段为默认值 */
+	public boolean has(String name) throws IOException {
+		return offset(method(name)) >= 0;
+	}
+
+	/** 解码字段值，基本类型字段返回包装对象，未编码的字段返回 null */
+	public Object get(String name) throws IOException {
+		final ODBSMethod method = method(name);
+		final int offset = offset(method);
+		if (offset < 0) {
+			return null;
+		}
+		in.buffer().position(offset);
+		return method.type().read(codec, in);
+	}
+
+	public boolean getBoolean(String name) throws IOException {
+		final int offset = offset(method(name, ValueBool.INSTANCE));
+		if (offset < 0) {
+			return false;
+		}
+		in.buffer().position(offset);
+		return codec.readBool(in);
+	}
+
+	public byte getByte(String name) throws IOException {
+		final int offset = offset(method(name, ValueByte.INSTANCE));
+		if (offset < 0) {
+			return 0;
+		}
+		in.buffer().position(offset);
+		return codec.readByte(in);
+	}
+
+	public char getChar(String name) throws IOException {
+		final int offset = offset(method(name, ValueChar.INSTANCE));
+		if (offset < 0) {
+			return 0;
+		}
+		in.buffer().position(offset);
+		return codec.readChar(in);
+	}
+
+	public short getShort(String name) throws IOException {
+		final int offset = offset(method(name, ValueShort.INSTANCE));
+		if (offset < 0) {
+			return 0;
+		}
+		in.buffer().position(offset);
+		return codec.readShort(in);
+	}
+
+	public int getInt(String name) throws IOException {
+		final int offset = offset(method(name, ValueInt.INSTANCE));
+		if (offset < 0) {
+			return 0;
+		}
+		in.buffer().position(offset);
+		return codec.readInt(in);
+	}
+
+	public long getLong(String name) throws IOException {
+		final int offset = offset(method(name, ValueLong.INSTANCE));
+		if (offset < 0) {
+			return 0;
+		}
+		in.buffer().position(offset);
+		return codec.readLong(in);
+	}
+
+	public float getFloat(String name) throws IOException {
+		final int offset = offset(method(name, ValueFloat.INSTANCE));
+		if (offset < 0) {
+			return 0;
+		}
+		in.buffer().position(offset);
+		return codec.readFloat(in);
+	}
+
+	public double getDouble(String name) throws IOException {
+		final int offset = offset(method(name, ValueDouble.INSTANCE));
+		if (offset < 0) {
+			return 0;
+		}
+		in.buffer().position(offset);
+		return codec.readDouble(in);
+	}
+
+	/** 解码字符串字段值，未编码的字段返回 null */
+	public String getString(String name) throws IOException {
+		final int offset = offset(method(name, BaseString.INSTANCE));
+		if (offset < 0) {
+			return null;
+		}
+		in.buffer().position(offset);
+		return codec.readString(in);
+	}
+
+	/**
+	 * 嵌套实体字段的视图，与此视图共享缓冲区，未编码的字段返回 null
+	 *
+	 * @throws IllegalArgumentException 字段不是实体类型
+	 */
+	public ODBSView view(String name) throws IOException {
+		final ODBSMethod method = method(name);
+		if (!(method.type() instanceof TypeEntity || method.type() instanceof TypeObject)) {
+			throw new IllegalArgumentException("ODBS 字段不是实体 " + name);
+		}
+		final int offset = offset(method);
+		if (offset < 0) {
+			return null;
+		}
+
+		in.buffer().position(offset);
+		final TypeEntity t;
+		if (method.type() instanceof TypeObject) {
+			t = codec.odbs.get(in.readVarint());
+			if (t == null) {
+				throw new IOException("ODBS Binary 类型无效");
+			}
+		} else {
+			t = (TypeEntity) method.type();
+		}
+		return view(codec, t, in.buffer());
+	}
+
+	/** 从缓冲区当前位置创建实体视图，选项 FRAMING 时视图限于实体字节长度 */
+	static ODBSView view(ODBSBinaryFraming codec, TypeEntity type, ByteBuffer buffer) throws IOException {
+		ByteBuffer slice;
+		if ((codec.options & ODBSBinary.FRAMING) != 0) {
+			final ByteBufferDataInput input = new ByteBufferDataInput(buffer);
+			final int length = input.readVarint();
+			if (length > buffer.remaining()) {
+				throw new IOException("ODBS Binary 实体长度无效");
+			}
+			slice = buffer.slice(buffer.position(), length);
+		} else {
+			slice = buffer.slice();
+		}
+		return new ODBSView(codec, type, slice.order(buffer.order()));
+	}
+
+	/** 查找字段，键名可为任意格式 */
+	private ODBSMethod method(String name) {
+		final ODBSMethod method = type.find(null, name);
+		if (method == null) {
+			throw new IllegalArgumentException("ODBS 字段无效 " + name);
+		}
+		return method;
+	}
+
+	/** 查找指定类型的字段 */
+	private ODBSMethod method(String name, ODBSType value) {
+		final ODBSMethod method = method(name);
+		if (method.type() != value) {
+			throw new IllegalArgumentException("ODBS 字段类型不匹配 " + name);
+		}
+		return method;
+	}
+
+	/** 字段值偏移，首次访问时建立索引 */
+	private int offset(ODBSMethod method) throws IOException {
+		if (offsets == null) {
+			index();
+		}
+		return offsets[method.index()];
+	}
+
+	/** 扫描字段建立偏移索引，字段以方法索引升序编码，以方法数量结束 */
+	private void index() throws IOException {
+		final int[] values = new int[type.methods().length];
+		Arrays.fill(values, -1);
+		in.buffer().position(0);
+		int index = in.readVarint();
+		while (index < values.length) {
+			values[index] = in.buffer().position();
+			codec.skip(in, type.methods()[index].type());
+			index = in.readVarint();
+		}
+		offsets = values;
+	}
+}
@@ -20,6 +20,11 @@ final class TypeArray extends ODBSType {
 		return Array.class;
 	}
 
+	@Override
+	ODBSType element() {
+		return type;
+	}
+
 	@Override
 	void give(Object entity, ODBSMethod method) {
 		try {
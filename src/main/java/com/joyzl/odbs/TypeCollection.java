@@ -21,10 +21,15 @@ final class TypeCollection extends ODBSType {
 		return Collection.class;
 	}
 
+	@Override
+	ODBSType element() {
+		return type;
+	}
+
 	@Override
 	void give(Object entity, ODBSMethod method) {
 		try {
-			method.set().invokeExact(entity, null);
+			method.set().invokeExact(entity, (Collection<?>) null);
 		} catch (Throwable e) {
 			throw new RuntimeException(e);
 		}
@@ -27,6 +27,13 @@ final class TypeEntity extends ODBSType {
 	private Class<?> override;
 	private Constructor<?> constructor;
 	private ODBSMethod[] methods;
+	private ODBSSerializer serializer;
+
+	// 键名散列表(开放寻址)，包含方法所有格式的键名
+	private String[] keys;
+	private int[] hashes;
+	private ODBSMethod[] values;
+	private boolean ambiguous;
 
 	public TypeEntity(Class<?> c, int i) {
 		try {
@@ -46,7 +53,7 @@ final class TypeEntity extends ODBSType {
 	@Override
 	void give(Object entity, ODBSMethod method) {
 		try {
-			method.set().invokeExact(entity, null);
+			method.set().invokeExact(entity, (Object) null);
 		} catch (Throwable e) {
 			throw new RuntimeException(e);
 		}
@@ -73,7 +80,7 @@ final class TypeEntity extends ODBSType {
 
 	@Override
 	<O, I> void read(Object entity, ODBSMethod method, ODBSCodec<O, I> codec, I in) throws IOException {
-		final Object value = codec.readEntity(in, this, entity);
+		final Object value = codec.readEntity(in, this, null);
 		try {
 			method.set().invokeExact(entity, value);
 		} catch (Throwable e) {
@@ -103,16 +110,94 @@ final class TypeEntity extends ODBSType {
 		}
 	}
 
-	/** 查找指定名称的方法 */
+	/** 查找指定名称的方法，键名可为任意格式，多个方法匹配时返回索引最小的方法 */
 	public ODBSMethod find(JSONName format, CharSequence name) {
-		for (int index = 0; index < methods.length; index++) {
-			if (methods[index].match(format, name)) {
-				return methods[index];
+		final int hash = hash(name);
+		final int mask = keys.length - 1;
+		int index = hash & mask;
+		while (keys[index] != null) {
+			if (hashes[index] == hash && keys[index].contentEquals(name)) {
+				return values[index];
 			}
+			index = (index + 1) & mask;
 		}
 		return null;
 	}
 
+	/**
+	 * 查找指定名称的方法，优先检查预期的方法索引；
+	 * 键名按编码顺序出现时，预期索引为上一个方法索引+1
+	 */
+	public ODBSMethod find(JSONName format, CharSequence name, int next) {
+		if (next < methods.length && !ambiguous) {
+			if (methods[next].name(format).contentEquals(name)) {
+				return methods[next];
+			}
+		}
+		return find(format, name);
+	}
+
+	/** 与String.hashCode()一致的散列值 */
+	static int hash(CharSequence name) {
+		int hash = 0;
+		for (int index = 0; index < name.length(); index++) {
+			hash = 31 * hash + name.charAt(index);
+		}
+		return hash;
+	}
+
+	/** 建立键名散列表 */
+	private void indexKeys() {
+		int size = 2;
+		while (size < methods.length * JSONName.values().length * 2) {
+			size <<= 1;
+		}
+		keys = new String[size];
+		hashes = new int[size];
+		values = new ODBSMethod[size];
+		ambiguous = false;
+
+		int index, hash;
+		for (ODBSMethod method : methods) {
+			for (JSONName format : JSONName.values()) {
+				final String name = method.name(format);
+				hash = name.hashCode();
+				index = hash & (size - 1);
+				while (keys[index] != null && !keys[index].equals(name)) {
+					index = (index + 1) & (size - 1);
+				}
+				if (keys[index] == null) {
+					keys[index] = name;
+					hashes[index] = hash;
+					values[index] = method;
+				} else if (values[index] != method) {
+					// 不同方法的键名相同，保留索引较小的方法
+					ambiguous = true;
+				}
+			}
+		}
+	}
+
+	/** 生成的编码解码器，未生成时为null */
+	public ODBSSerializer serializer() {
+		return serializer;
+	}
+
+	/**
+	 * 生成编码解码器
+	 *
+	 * @throws IllegalStateException 生成失败，实体类型保持反射方法句柄方式
+	 */
+	void compile() {
+		if (serializer == null) {
+			try {
+				serializer = ODBSCompiler.compile(this);
+			} catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+				throw new IllegalStateException("ODBS 生成编码解码器失败 " + CLASS, e);
+			}
+		}
+	}
+
 	public int methodSize() {
 		return methods.length;
 	}
@@ -152,6 +237,44 @@ final class TypeEntity extends ODBSType {
 		}
 	}
 
+	/**
+	 * 按编译时生成的方法表构建序列化方法，按名称直接获取方法而无须遍历类的所有方法；
+	 * 方法表与类不一致时(例如类修改后未重新编译索引)抛出异常
+	 *
+	 * @param table 方法表，null时通过反射查找方法
+	 * @see ODBSIndex
+	 */
+	void resolve(Map<?, ODBSType> types, String[][] table) {
+		if (table == null) {
+			resolve(types);
+			return;
+		}
+
+		String[] row;
+		Method getter, setter;
+		methods = new ODBSMethod[table.length];
+		try {
+			for (int index = 0; index < table.length; index++) {
+				row = table[index];
+				getter = ODBSIndex.NONE.equals(row[1]) ? null : CLASS.getMethod(row[1]);
+				if (ODBSIndex.NONE.equals(row[2])) {
+					setter = null;
+				} else if (getter == null) {
+					setter = CLASS.getMethod(row[2], ODBSIndex.load(row[3], CLASS.getClassLoader()));
+				} else {
+					setter = CLASS.getMethod(row[2], getter.getReturnType());
+				}
+				methods[index] = new ODBSMethod(getter, setter, types, index);
+				if (!methods[index].name().equals(row[0]) || !methods[index].type().type().getName().equals(row[4])) {
+					throw new IllegalStateException("ODBS 类型索引与类不一致 " + CLASS.getName() + " " + row[0]);
+				}
+			}
+		} catch (NoSuchMethodException | ClassNotFoundException e) {
+			throw new IllegalStateException("ODBS 类型索引与类不一致 " + CLASS.getName(), e);
+		}
+		indexKeys();
+	}
+
 	void resolve(Map<?, ODBSType> types) {
 		// 查找所有有效的方法
 		// 20250414修正重载方法干扰（不能按名称匹配，必须检查类型）
@@ -249,5 +372,6 @@ final class TypeEntity extends ODBSType {
 			method = new ODBSMethod(m.getValue()[0], m.getValue()[1], types, index);
 			methods[index++] = method;
 		}
+		indexKeys();
 	}
 }
\ No newline at end of file
@@ -11,10 +11,10 @@ import com.joyzl.EnumCode;
 final class TypeEnumCode extends ODBSType {
 
 	private final Class<? extends EnumCode> CLASS;
-	private final EnumCode[] constants;
+	private final EnumCodes<EnumCode> constants;
 
 	public TypeEnumCode(Class<? extends EnumCode> c) {
-		constants = c.getEnumConstants();
+		constants = new EnumCodes<>(c.getEnumConstants());
 		CLASS = c;
 	}
 
@@ -63,13 +63,7 @@ final class TypeEnumCode extends ODBSType {
 
 	@Override
 	<O, I> EnumCode read(ODBSCodec<O, I> codec, I in) throws IOException {
-		final int code = codec.readEnumCode(in);
-		for (int i = 0; i < constants.length; i++) {
-			if (constants[i].code() == code) {
-				return constants[i];
-			}
-		}
-		return null;
+		return constants.get(codec.readEnumCode(in));
 	}
 
 	@Override
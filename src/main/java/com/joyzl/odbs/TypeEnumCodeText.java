@@ -11,10 +11,10 @@ import com.joyzl.EnumCodeText;
 final class TypeEnumCodeText extends ODBSType {
 
 	private final Class<? extends EnumCodeText> CLASS;
-	private final EnumCodeText[] constants;
+	private final EnumCodes<EnumCodeText> constants;
 
 	public TypeEnumCodeText(Class<? extends EnumCodeText> c) {
-		constants = c.getEnumConstants();
+		constants = new EnumCodes<>(c.getEnumConstants());
 		CLASS = c;
 	}
 
@@ -63,13 +63,7 @@ final class TypeEnumCodeText extends ODBSType {
 
 	@Override
 	<O, I> EnumCodeText read(ODBSCodec<O, I> codec, I in) throws IOException {
-		final int code = codec.readEnumCode(in);
-		for (int i = 0; i < constants.length; i++) {
-			if (constants[i].code() == code) {
-				return constants[i];
-			}
-		}
-		return null;
+		return constants.get(codec.readEnumCode(in));
 	}
 
 	@Override
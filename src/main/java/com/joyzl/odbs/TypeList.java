@@ -21,6 +21,11 @@ final class TypeList extends ODBSType {
 		return List.class;
 	}
 
+	@Override
+	ODBSType element() {
+		return type;
+	}
+
 	@Override
 	void give(Object entity, ODBSMethod method) {
 		try {
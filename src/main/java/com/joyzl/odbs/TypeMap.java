@@ -22,6 +22,11 @@ final class TypeMap extends ODBSType {
 		return Map.class;
 	}
 
+	@Override
+	ODBSType element() {
+		return value;
+	}
+
 	@Override
 	void give(Object entity, ODBSMethod method) {
 		try {
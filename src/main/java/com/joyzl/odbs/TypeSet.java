@@ -21,6 +21,11 @@ final class TypeSet extends ODBSType {
 		return Set.class;
 	}
 
+	@Override
+	ODBSType element() {
+		return type;
+	}
+
 	@Override
 	void give(Object entity, ODBSMethod method) {
 		try {
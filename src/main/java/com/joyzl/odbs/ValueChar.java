@@ -65,7 +65,12 @@ final class ValueChar extends ValueType {
 
 	@Override
 	<O, I> Object read(ODBSCodec<O, I> codec, I in) throws IOException {
-		throw new UnsupportedOperationException();
+		return codec.readChar(in);
+	}
+
+	@Override
+	<O, I> void skip(ODBSCodec<O, I> codec, I in) throws IOException {
+		codec.readChar(in);
 	}
 
 	@Override
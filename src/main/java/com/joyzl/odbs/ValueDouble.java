@@ -65,7 +65,12 @@ final class ValueDouble extends ValueType {
 
 	@Override
 	<O, I> Object read(ODBSCodec<O, I> codec, I in) throws IOException {
-		throw new UnsupportedOperationException();
+		return codec.readDouble(in);
+	}
+
+	@Override
+	<O, I> void skip(ODBSCodec<O, I> codec, I in) throws IOException {
+		codec.readDouble(in);
 	}
 
 	@Override
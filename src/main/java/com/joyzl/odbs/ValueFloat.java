@@ -65,7 +65,12 @@ final class ValueFloat extends ValueType {
 
 	@Override
 	<O, I> Object read(ODBSCodec<O, I> codec, I in) throws IOException {
-		throw new UnsupportedOperationException();
+		return codec.readFloat(in);
+	}
+
+	@Override
+	<O, I> void skip(ODBSCodec<O, I> codec, I in) throws IOException {
+		codec.readFloat(in);
 	}
 
 	@Override
@@ -0,0 +1,466 @@
+/*
+ * Copyright © 2017-2025 重庆骄智科技有限公司.
+ * 本软件根据 Apache License 2.0 开源，详见 LICENSE 文件。
+ */
+package com.joyzl.odbs.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+
+import com.joyzl.odbs.ODBSReflect;
+
+/**
+ * 编译时生成ODBS类型索引
+ * <p>
+ * 通过编译参数 -Aodbs.packages=com.a,com.b 指定需要序列化的包(含子包)，
+ * 编译时为每个包生成类型索引 META-INF/odbs/包名称，包含可序列化的类和枚举，
+ * 以及每个类按序列化顺序排列的方法表(键名称、getter/setter方法、值类型)和包的类型签名；
+ * 运行时{@link com.joyzl.odbs.ODBS#initialize(String...)}优先读取索引，无须扫描类路径和加载包中的所有类，
+ * 按方法表直接获取方法而无须遍历类的所有方法。
+ * 同时生成 META-INF/native-image/com.joyzl.odbs/包名称/reflect-config.json 用于原生镜像构建，仅注册方法表中的方法。
+ * </p>
+ * <p>
+ * 此处理器未自动注册，须在编译配置中指定，例如Maven编译插件：
+ *
+ * <pre>
+ * &lt;annotationProcessors&gt;com.joyzl.odbs.processor.ODBSProcessor&lt;/annotationProcessors&gt;
+ * &lt;compilerArgs&gt;-Aodbs.packages=com.joyzl.demo&lt;/compilerArgs&gt;
+ * </pre>
+ * </p>
+ *
+ * @author ZhangXi
+ * @date 2026年10月18日
+ */
+@SupportedAnnotationTypes("*")
+@SupportedOptions(ODBSProcessor.PACKAGES)
+public final class ODBSProcessor extends AbstractProcessor {
+
+	/** 编译参数：逗号分隔的包名称 */
+	public final static String PACKAGES = "odbs.packages";
+	/** 方法表中没有对应方法 */
+	private final static String NONE = "-";
+	/** 运行时的基础类型，与 ODBSMethod.baseType() 一致 */
+	private final static Set<String> BASES = Set.of(//
+		"java.lang.Boolean", "java.lang.Byte", "java.lang.Character", "java.lang.Short", //
+		"java.lang.Integer", "java.lang.Long", "java.lang.Float", "java.lang.Double", //
+		"java.math.BigDecimal", "java.math.BigInteger", "java.util.Date", //
+		"java.time.LocalTime", "java.time.LocalDate", "java.time.LocalDateTime", "java.lang.String");
+	/** 运行时的集合类型，按 ODBSMethod.resolve() 的检查顺序 */
+	private final static String[] COLLECTIONS = { "java.util.Map", "java.util.Set", "java.util.List", "java.util.Collection" };
+
+	/** 包名称:类名称 */
+	private final Map<String, Set<String>> indexes = new TreeMap<>();
+	/** 类名称:方法表，枚举为null */
+	private final Map<String, List<String[]>> tables = new TreeMap<>();
+
+	public ODBSProcessor() {
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+		final String option = processingEnv.getOptions().get(PACKAGES);
+		if (option == null || option.isBlank()) {
+			return false;
+		}
+		if (indexes.isEmpty()) {
+			for (String name : option.split(",")) {
+				name = name.trim();
+				if (name.length() > 0) {
+					indexes.put(name, new TreeSet<>());
+				}
+			}
+		}
+
+		if (round.processingOver()) {
+			for (Map.Entry<String, Set<String>> entry : indexes.entrySet()) {
+				write(entry.getKey(), entry.getValue());
+			}
+		} else {
+			final List<TypeElement> elements = new ArrayList<>();
+			for (TypeElement element : ElementFilter.typesIn(round.getRootElements())) {
+				collect(element, elements);
+			}
+			// 所有类型收集之后生成方法表，值类型须区分已索引的实体类型
+			for (TypeElement element : elements) {
+				tables.put(name(element), element.getKind() == ElementKind.ENUM ? null : methods(element));
+			}
+		}
+		return false;
+	}
+
+	/** 收集可序列化的类(顶级类)和枚举(含成员枚举) */
+	private void collect(TypeElement element, List<TypeElement> elements) {
+		if (element.getKind() == ElementKind.ENUM) {
+			if (element.getModifiers().contains(Modifier.PUBLIC)) {
+				add(element, elements);
+			}
+		} else if (element.getKind() == ElementKind.CLASS) {
+			if (element.getNestingKind() == NestingKind.TOP_LEVEL && canInstance(element)) {
+				add(element, elements);
+			}
+		}
+		for (TypeElement member : ElementFilter.typesIn(element.getEnclosedElements())) {
+			collect(member, elements);
+		}
+	}
+
+	private boolean canInstance(TypeElement element) {
+		if (element.getModifiers().contains(Modifier.ABSTRACT)) {
+			return false;
+		}
+		boolean declared = false;
+		for (ExecutableElement constructor : ElementFilter.constructorsIn(element.getEnclosedElements())) {
+			if (constructor.getParameters().isEmpty()) {
+				return constructor.getModifiers().contains(Modifier.PUBLIC);
+			}
+			declared = true;
+		}
+		// 默认构造函数与类的访问级别一致
+		return !declared && element.getModifiers().contains(Modifier.PUBLIC);
+	}
+
+	private void add(TypeElement element, List<TypeElement> elements) {
+		final String pkg = packageOf(element).getQualifiedName().toString();
+		boolean added = false;
+		for (Map.Entry<String, Set<String>> entry : indexes.entrySet()) {
+			if (pkg.equals(entry.getKey()) || pkg.startsWith(entry.getKey() + ".")) {
+				entry.getValue().add(name(element));
+				added = true;
+			}
+		}
+		if (added) {
+			elements.add(element);
+		}
+	}
+
+	private PackageElement packageOf(Element element) {
+		while (element.getKind() != ElementKind.PACKAGE) {
+			element = element.getEnclosingElement();
+		}
+		return (PackageElement) element;
+	}
+
+	private String name(TypeElement element) {
+		return processingEnv.getElementUtils().getBinaryName(element).toString();
+	}
+
+	/**
+	 * 生成方法表，与 TypeEntity.resolve() 的方法选择、配对和排序规则一致
+	 *
+	 * @return [键名称, getter|-, setter|-, 值类名称, ODBS类型名称]
+	 */
+	private List<String[]> methods(TypeElement element) {
+		final Elements elements = processingEnv.getElementUtils();
+		final Types types = processingEnv.getTypeUtils();
+
+		// 所有公开方法(含继承)
+		String name;
+		final List<ExecutableElement> getters = new ArrayList<>();
+		final List<ExecutableElement> setters = new ArrayList<>();
+		for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(element))) {
+			if (canSerialize(method)) {
+				name = method.getSimpleName().toString();
+				if (name.length() > 2 && method.getParameters().isEmpty() && method.getReturnType().getKind() != TypeKind.VOID && name.startsWith("is")) {
+					getters.add(method);
+				} else if (name.length() > 3) {
+					if (method.getParameters().isEmpty() && name.startsWith("get") && method.getReturnType().getKind() != TypeKind.VOID) {
+						getters.add(method);
+					} else if (method.getParameters().size() == 1 && name.startsWith("set") && method.getReturnType().getKind() == TypeKind.VOID) {
+						setters.add(method);
+					}
+				}
+			}
+		}
+
+		// get和set对应，未对应的方法单独列出
+		ExecutableElement getter, setter;
+		Iterator<ExecutableElement> settersIterator;
+		final Iterator<ExecutableElement> gettersIterator = getters.iterator();
+		final Map<String, String[]> rows = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+		while (gettersIterator.hasNext()) {
+			getter = gettersIterator.next();
+			name = key(getter);
+			settersIterator = setters.iterator();
+			while (settersIterator.hasNext()) {
+				setter = settersIterator.next();
+				if (types.isSameType(types.erasure(setter.getParameters().get(0).asType()), types.erasure(getter.getReturnType()))) {
+					if (name.equals(key(setter))) {
+						rows.put(name, row(name, getter, setter, getter.getReturnType()));
+						gettersIterator.remove();
+						settersIterator.remove();
+						break;
+					}
+				}
+			}
+		}
+		for (ExecutableElement g : getters) {
+			name = key(g);
+			rows.put(name, row(name, g, null, g.getReturnType()));
+		}
+		for (ExecutableElement s : setters) {
+			name = key(s);
+			rows.put(name, row(name, null, s, s.getParameters().get(0).asType()));
+		}
+		return new ArrayList<>(rows.values());
+	}
+
+	/** 与 ODBSReflect.canSerialize(Method) 一致 */
+	private boolean canSerialize(ExecutableElement method) {
+		final Set<Modifier> modifiers = method.getModifiers();
+		if (method.isDefault() || !modifiers.contains(Modifier.PUBLIC)) {
+			return false;
+		}
+		if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.ABSTRACT) || modifiers.contains(Modifier.NATIVE)) {
+			return false;
+		}
+		final String name = method.getSimpleName().toString();
+		if (name.startsWith("get") || name.startsWith("is")) {
+			return method.getParameters().isEmpty();
+		}
+		if (name.startsWith("set")) {
+			return method.getParameters().size() == 1;
+		}
+		return false;
+	}
+
+	/** getUser/isUser/setUser -> User */
+	private static String key(ExecutableElement method) {
+		final String name = method.getSimpleName().toString();
+		return name.substring(name.startsWith("is") ? 2 : 3);
+	}
+
+	private String[] row(String name, ExecutableElement getter, ExecutableElement setter, TypeMirror type) {
+		final Types types = processingEnv.getTypeUtils();
+		type = types.erasure(type);
+		// 与 JSONName.precut() 首个名称格式一致
+		if (name.length() > 1) {
+			name = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+		} else {
+			name = name.toUpperCase();
+		}
+		return new String[] { //
+			name, //
+			getter == null ? NONE : getter.getSimpleName().toString(), //
+			setter == null ? NONE : setter.getSimpleName().toString(), //
+			className(type), //
+			typeName(type) };
+	}
+
+	/** 运行时 Class.getName() */
+	private String className(TypeMirror type) {
+		if (type.getKind().isPrimitive()) {
+			return type.getKind().name().toLowerCase();
+		}
+		if (type.getKind() == TypeKind.ARRAY) {
+			return "[" + descriptor(((ArrayType) type).getComponentType());
+		}
+		return name((TypeElement) ((DeclaredType) type).asElement());
+	}
+
+	private String descriptor(TypeMirror type) {
+		switch (type.getKind()) {
+			case BOOLEAN:
+				return "Z";
+			case BYTE:
+				return "B";
+			case CHAR:
+				return "C";
+			case SHORT:
+				return "S";
+			case INT:
+				return "I";
+			case LONG:
+				return "J";
+			case FLOAT:
+				return "F";
+			case DOUBLE:
+				return "D";
+			case ARRAY:
+				return "[" + descriptor(((ArrayType) type).getComponentType());
+			default:
+				return "L" + name((TypeElement) ((DeclaredType) processingEnv.getTypeUtils().erasure(type)).asElement()) + ";";
+		}
+	}
+
+	/** 运行时 ODBSType.type().getName()，与 ODBSMethod.resolve() 的类型判断顺序一致 */
+	private String typeName(TypeMirror type) {
+		if (type.getKind().isPrimitive()) {
+			return type.getKind().name().toLowerCase();
+		}
+		if (type.getKind() == TypeKind.ARRAY) {
+			return "java.lang.reflect.Array";
+		}
+		final String name = className(type);
+		if (BASES.contains(name) || tables.containsKey(name) || isIndexed(name)) {
+			return name;
+		}
+		final Types types = processingEnv.getTypeUtils();
+		TypeElement element;
+		for (String collection : COLLECTIONS) {
+			element = processingEnv.getElementUtils().getTypeElement(collection);
+			if (types.isAssignable(type, types.erasure(element.asType()))) {
+				return collection;
+			}
+		}
+		return name;
+	}
+
+	private boolean isIndexed(String name) {
+		for (Set<String> classes : indexes.values()) {
+			if (classes.contains(name)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void write(String pkg, Set<String> classes) {
+		if (classes.isEmpty()) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "ODBS 索引包中未找到任何类：" + pkg);
+			return;
+		}
+		try {
+			try (Writer writer = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", ODBSReflect.INDEX + pkg).openWriter()) {
+				writer.write(ODBSReflect.INDEX_VERSION);
+				writer.write(" signature=");
+				writer.write(signature(classes));
+				writer.write('\n');
+				List<String[]> rows;
+				for (String name : classes) {
+					writer.write(name);
+					writer.write('\n');
+					rows = tables.get(name);
+					if (rows != null) {
+						for (String[] row : rows) {
+							for (String column : row) {
+								writer.write('\t');
+								writer.write(column);
+							}
+							writer.write('\n');
+						}
+					}
+				}
+			}
+			try (Writer writer = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", "META-INF/native-image/com.joyzl.odbs/" + pkg + "/reflect-config.json").openWriter()) {
+				writer.write("[\n");
+				boolean first = true;
+				List<String[]> rows;
+				for (String name : classes) {
+					if (first) {
+						first = false;
+					} else {
+						writer.write(",\n");
+					}
+					writer.write("\t{ \"name\": \"");
+					writer.write(name);
+					rows = tables.get(name);
+					if (rows == null) {
+						// 枚举
+						writer.write("\", \"methods\": [ { \"name\": \"values\", \"parameterTypes\": [] } ] }");
+					} else {
+						writer.write("\", \"methods\": [ { \"name\": \"<init>\", \"parameterTypes\": [] }");
+						for (String[] row : rows) {
+							if (!NONE.equals(row[1])) {
+								writer.write(", { \"name\": \"" + row[1] + "\", \"parameterTypes\": [] }");
+							}
+							if (!NONE.equals(row[2])) {
+								writer.write(", { \"name\": \"" + row[2] + "\", \"parameterTypes\": [ \"" + configName(row[3]) + "\" ] }");
+							}
+						}
+						writer.write(" ] }");
+					}
+				}
+				writer.write("\n]\n");
+			}
+		} catch (IOException e) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "ODBS 索引生成失败：" + pkg + " " + e.getMessage());
+		}
+	}
+
+	/**
+	 * 包中实体类型(不含枚举)的签名，与仅初始化此包时的 ODBS.signature() 一致
+	 */
+	private String signature(Set<String> classes) {
+		try {
+			final MessageDigest digest = MessageDigest.getInstance("SHA1");
+			List<String[]> rows;
+			for (String name : classes) {
+				rows = tables.get(name);
+				if (rows != null) {
+					digest.update(name.getBytes());
+					for (String[] row : rows) {
+						digest.update(row[0].getBytes());
+						digest.update(row[4].getBytes());
+					}
+				}
+			}
+			return HexFormat.of().formatHex(digest.digest());
+		} catch (NoSuchAlgorithmException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	/** 原生镜像配置中的类型名称，数组为 元素类型[] */
+	private static String configName(String name) {
+		if (name.charAt(0) != '[') {
+			return name;
+		}
+		int dimensions = 0;
+		while (name.charAt(dimensions) == '[') {
+			dimensions++;
+		}
+		final StringBuilder builder = new StringBuilder();
+		switch (name.charAt(dimensions)) {
+			case 'Z' -> builder.append("boolean");
+			case 'B' -> builder.append("byte");
+			case 'C' -> builder.append("char");
+			case 'S' -> builder.append("short");
+			case 'I' -> builder.append("int");
+			case 'J' -> builder.append("long");
+			case 'F' -> builder.append("float");
+			case 'D' -> builder.append("double");
+			default -> builder.append(name, dimensions + 1, name.length() - 1);
+		}
+		while (dimensions-- > 0) {
+			builder.append("[]");
+		}
+		return builder.toString();
+	}
+}
@@ -3,6 +3,8 @@
  * 本软件根据 Apache License 2.0 开源，详见 LICENSE 文件。
  */
 module com.joyzl.odbs {
+	requires static java.compiler;
+
 	exports com.joyzl;
 	exports com.joyzl.odbs;
 	exports com.joyzl.codec;
@@ -0,0 +1,194 @@
+/*
+ * Copyright © 2017-2025 重庆骄智科技有限公司.
+ * 本软件根据 Apache License 2.0 开源，详见 LICENSE 文件。
+ */
+package com.joyzl.codec;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class TestBlockCompressor {
+
+	final BlockCompressor compressor = new BlockCompressor();
+
+	byte[] roundtrip(byte[] source) throws IOException {
+		final byte[] compressed = new byte[BlockCompressor.maxCompressedLength(source.length)];
+		final int size = compressor.compress(source, 0, source.length, compressed, 0);
+		final byte[] target = new byte[source.length];
+		BlockCompressor.decompress(compressed, 0, size, target, 0, target.length);
+		assertArrayEquals(source, target);
+		return compressed;
+	}
+
+	int compress(byte[] source) {
+		final byte[] compressed = new byte[BlockCompressor.maxCompressedLength(source.length)];
+		return compressor.compress(source, 0, source.length, compressed, 0);
+	}
+
+	@Test
+	void testCompress() throws IOException {
+		// 短数据
+		for (int length = 0; length < 32; length++) {
+			final byte[] source = new byte[length];
+			for (int index = 0; index < length; index++) {
+				source[index] = (byte) (index % 3);
+			}
+			roundtrip(source);
+		}
+
+		// 重复文本
+		final StringBuilder builder = new StringBuilder();
+		for (int index = 0; index < 2000; index++) {
+			builder.append("{\"Id\":").append(index).append(",\"Status\":\"ACTIVE\",\"Name\":\"name").append(index % 10).append("\"}");
+		}
+		final byte[] text = builder.toString().getBytes(StandardCharsets.UTF_8);
+		roundtrip(text);
+		assertTrue(compress(text) < text.length / 3);
+
+		// 重叠匹配和长匹配
+		final byte[] zeros = new byte[100000];
+		roundtrip(zeros);
+		assertTrue(compress(zeros) < 1000);
+
+		// 不可压缩
+		final byte[] random = new byte[70000];
+		new Random(1).nextBytes(random);
+		roundtrip(random);
+		assertTrue(compress(random) <= BlockCompressor.maxCompressedLength(random.length));
+
+		// 长输入之后的短输入使用较小的散列表
+		for (int length = 100; length < 5000; length += 700) {
+			final byte[] source = Arrays.copyOf(text, length);
+			roundtrip(source);
+			assertTrue(compress(source) < length);
+		}
+	}
+
+	@Test
+	void testInvalid() {
+		final byte[] target = new byte[16];
+		// 偏移超出已解压缩的字节
+		assertThrows(IOException.class, () -> BlockCompressor.decompress(new byte[] { 0x10, 'a', 0x05, 0x00 }, 0, 4, target, 0, 16));
+		// 长度不一致
+		assertThrows(IOException.class, () -> BlockCompressor.decompress(new byte[] { 0x20, 'a', 'b' }, 0, 3, target, 0, 16));
+		// 数据截断
+		assertThrows(IOException.class, () -> BlockCompressor.decompress(new byte[] { (byte) 0xF0, (byte) 0xFF }, 0, 2, target, 0, 16));
+	}
+
+	@Test
+	void testStream() throws IOException {
+		final ByteArrayOutputStream plain = new ByteArrayOutputStream();
+		final BigEndianOutputStream values = new BigEndianOutputStream(plain);
+		for (int index = 0; index < 10000; index++) {
+			values.writeVarint(index);
+			values.writeInt(index);
+			values.writeCompactString("value" + index % 7);
+		}
+		final byte[] random = new byte[5000];
+		new Random(2).nextBytes(random);
+		values.write(random);
+
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		final BlockOutputStream out = new BlockOutputStream(output, 1024);
+		for (int index = 0; index < 10000; index++) {
+			out.writeVarint(index);
+			out.writeInt(index);
+			out.writeCompactString("value" + index % 7);
+		}
+		out.write(random);
+		out.flush();
+		// 块边界之后的数据
+		output.write(0x7F);
+		final int size = output.size();
+
+		final ByteArrayInputStream input = new ByteArrayInputStream(output.toByteArray());
+		final BlockInputStream in = new BlockInputStream(input);
+		for (int index = 0; index < 10000; index++) {
+			assertEquals(index, in.readVarint());
+			assertEquals(index, in.readInt());
+			assertEquals("value" + index % 7, in.readCompactString());
+		}
+		final byte[] bytes = new byte[random.length];
+		in.readFully(bytes);
+		assertArrayEquals(random, bytes);
+		assertEquals(1, input.available());
+		assertEquals(0x7F, input.read());
+		assertThrows(EOFException.class, () -> in.readByte());
+		assertEquals(-1, in.read());
+		assertTrue(size < plain.size());
+
+		// 少量数据不压缩
+		output.reset();
+		final BlockOutputStream small = new BlockOutputStream(output);
+		small.writeInt(1);
+		small.flush();
+		assertEquals(5, output.size());
+		assertEquals(1, new BlockInputStream(new ByteArrayInputStream(output.toByteArray())).readInt());
+
+		assertThrows(IllegalArgumentException.class, () -> new BlockOutputStream(output, 0));
+	}
+
+	@Test
+	void testReadable() throws IOException {
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		final BlockOutputStream out = new BlockOutputStream(output);
+		out.writeInt(1);
+		out.flush();
+
+		// 通道在块边界结束时不可读取，块不完整时抛出异常
+		final ByteArrayInputStream input = new ByteArrayInputStream(output.toByteArray());
+		final BlockInputStream in = new BlockInputStream(Channels.newChannel(input));
+		assertTrue(in.readable());
+		assertEquals(1, in.readInt());
+		assertFalse(in.readable());
+		final BlockInputStream partial = new BlockInputStream(new ByteArrayInputStream(output.toByteArray(), 0, 3));
+		assertThrows(EOFException.class, () -> partial.readable());
+	}
+
+	@Test
+	void testReset() throws IOException {
+		final BlockOutputStream out = new BlockOutputStream();
+		final ByteArrayOutputStream first = new ByteArrayOutputStream();
+		final ByteArrayOutputStream second = new ByteArrayOutputStream();
+
+		// 缓冲随写入增长，跨越多个块
+		out.reset(first);
+		for (int index = 0; index < 50000; index++) {
+			out.writeInt(index % 100);
+		}
+		out.flush();
+
+		// 复用缓冲，丢弃未输出的字节
+		out.reset(second);
+		out.writeInt(-1);
+		out.reset(second);
+		out.writeCompactString("value");
+		out.flush();
+		out.reset((OutputStream) null);
+
+		final BlockInputStream in = new BlockInputStream(new ByteArrayInputStream(first.toByteArray()));
+		for (int index = 0; index < 50000; index++) {
+			assertEquals(index % 100, in.readInt());
+		}
+		assertFalse(in.readable());
+		assertTrue(first.size() < 50000 * 4);
+		final BlockInputStream other = new BlockInputStream(new ByteArrayInputStream(second.toByteArray()));
+		assertEquals("value", other.readCompactString());
+		assertFalse(other.readable());
+	}
+}
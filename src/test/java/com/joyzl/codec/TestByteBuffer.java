@@ -0,0 +1,276 @@
+/*
+ * Copyright © 2017-2025 重庆骄智科技有限公司.
+ * 本软件根据 Apache License 2.0 开源，详见 LICENSE 文件。
+ */
+package com.joyzl.codec;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+
+class TestByteBuffer {
+
+	@Test
+	void testValues() throws IOException {
+		values(new ByteBufferDataOutput(16, false, ByteOrder.BIG_ENDIAN));
+		values(new ByteBufferDataOutput(16, true, ByteOrder.BIG_ENDIAN));
+		values(new ByteBufferDataOutput(16, false, ByteOrder.LITTLE_ENDIAN));
+		values(new ByteBufferDataOutput(16, true, ByteOrder.LITTLE_ENDIAN));
+	}
+
+	void values(ByteBufferDataOutput output) throws IOException {
+		output.writeByte(Byte.MIN_VALUE);
+		output.writeByte(Byte.MAX_VALUE);
+		output.writeBoolean(Boolean.FALSE);
+		output.writeBoolean(Boolean.TRUE);
+		output.writeShort(Short.MIN_VALUE);
+		output.writeShort(Short.MAX_VALUE);
+		output.writeMedium(0x800000);
+		output.writeMedium(0x7FFFFF);
+		output.writeInt(Integer.MIN_VALUE);
+		output.writeInt(Integer.MAX_VALUE);
+		output.writeLong(Long.MIN_VALUE);
+		output.writeLong(Long.MAX_VALUE);
+		output.writeFloat(Float.NaN);
+		output.writeFloat(Float.MAX_VALUE);
+		output.writeDouble(Double.NEGATIVE_INFINITY);
+		output.writeDouble(Double.MIN_VALUE);
+		output.writeShort(0xFFFF);
+		output.writeMedium(0xFFFFFF);
+		output.writeInt(0xFFFFFFFF);
+		output.writeVarint(0);
+		output.writeVarint(Integer.MIN_VALUE);
+		output.writeVarint(Integer.MAX_VALUE);
+		output.writeVarlong(0);
+		output.writeVarlong(Long.MIN_VALUE);
+		output.writeVarlong(Long.MAX_VALUE);
+
+		final ByteBufferDataInput input = new ByteBufferDataInput(output.toByteBuffer());
+		assertEquals(input.order(), output.order());
+
+		assertEquals(input.readByte(), Byte.MIN_VALUE);
+		assertEquals(input.readByte(), Byte.MAX_VALUE);
+		assertEquals(input.readBoolean(), Boolean.FALSE);
+		assertEquals(input.readBoolean(), Boolean.TRUE);
+		assertEquals(input.readShort(), Short.MIN_VALUE);
+		assertEquals(input.readShort(), Short.MAX_VALUE);
+		assertEquals(input.readMedium(), 0x800000);
+		assertEquals(input.readMedium(), 0x7FFFFF);
+		assertEquals(input.readInt(), Integer.MIN_VALUE);
+		assertEquals(input.readInt(), Integer.MAX_VALUE);
+		assertEquals(input.readLong(), Long.MIN_VALUE);
+		assertEquals(input.readLong(), Long.MAX_VALUE);
+		assertEquals(input.readFloat(), Float.NaN);
+		assertEquals(input.readFloat(), Float.MAX_VALUE);
+		assertEquals(input.readDouble(), Double.NEGATIVE_INFINITY);
+		assertEquals(input.readDouble(), Double.MIN_VALUE);
+		assertEquals(input.readUnsignedShort(), 0xFFFF);
+		assertEquals(input.readUnsignedMedium(), 0xFFFFFF);
+		assertEquals(input.readUnsignedInt(), 0xFFFFFFFFL);
+		assertEquals(input.readVarint(), 0);
+		assertEquals(input.readVarint(), Integer.MIN_VALUE);
+		assertEquals(input.readVarint(), Integer.MAX_VALUE);
+		assertEquals(input.readVarlong(), 0);
+		assertEquals(input.readVarlong(), Long.MIN_VALUE);
+		assertEquals(input.readVarlong(), Long.MAX_VALUE);
+
+		assertEquals(input.available(), 0);
+		assertThrows(EOFException.class, () -> input.readByte());
+	}
+
+	@Test
+	void testBases() throws IOException {
+		final Date DATE = new Date();
+		final String CHARS = "0987654321abcdefghijklmnopqrstuvwxyz中华人民共和国ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+		final String ASCII = "0987654321abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ";
+		final byte[] BYTES = new byte[1000];
+		for (int index = 0; index < BYTES.length; index++) {
+			BYTES[index] = (byte) index;
+		}
+
+		final ByteBufferDataOutput output = new ByteBufferDataOutput();
+		output.writeDecimal(BigDecimal.TEN);
+		output.writeDate(DATE);
+		output.writeLocalTime(LocalTime.MAX);
+		output.writeLocalDate(LocalDate.MIN);
+		output.writeLocalDateTime(LocalDateTime.MAX);
+		output.writeString(CHARS);
+		output.writeASCIIString(ASCII);
+		output.write(BYTES);
+
+		final ByteBufferDataInput input = new ByteBufferDataInput(output.toByteArray());
+		assertEquals(input.readDecimal(), BigDecimal.TEN);
+		assertEquals(input.readDate(), DATE);
+		assertEquals(input.readLocalTime(), LocalTime.MAX);
+		assertEquals(input.readLocalDate(), LocalDate.MIN);
+		assertEquals(input.readLocalDateTime(), LocalDateTime.MAX);
+		assertEquals(input.readString(), CHARS);
+		assertEquals(input.readASCIIString(), ASCII);
+		final byte[] bytes = new byte[BYTES.length];
+		input.readFully(bytes);
+		assertArrayEquals(bytes, BYTES);
+		assertEquals(input.available(), 0);
+	}
+
+	@Test
+	void testCompactString() throws IOException {
+		final String ASCII = "0987654321abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ";
+		final String LATIN1 = "Café Ångström ÿ";
+		final String CHARS = "0987654321abcdefghijklmnopqrstuvwxyz中华人民共和国ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+		final String EMOJI = "ODBS\uD83D\uDE00ODBS";
+
+		final ByteBufferDataOutput output = new ByteBufferDataOutput();
+		output.writeCompactString("");
+		output.writeCompactString(ASCII);
+		output.writeCompactString(LATIN1);
+		output.writeCompactString(CHARS);
+		output.writeCompactString(EMOJI);
+		// 前导左移，低位留作标记
+		output.writeCompactString(LATIN1, 1);
+		output.writeCompactString(CHARS, 1);
+
+		final ByteBufferDataInput input = new ByteBufferDataInput(output.toByteArray());
+		assertEquals(input.readCompactString(), "");
+		// Latin-1 每字符1字节
+		assertEquals(input.readVarint(), ASCII.length() << 1 | 1);
+		input.skipBytes(ASCII.length());
+		assertEquals(input.readCompactString(), LATIN1);
+		assertEquals(input.readCompactString(), CHARS);
+		assertEquals(input.readCompactString(), EMOJI);
+		int head = input.readVarint();
+		assertEquals(head & 1, 0);
+		assertEquals(input.readCompactString(head >>> 1), LATIN1);
+		head = input.readVarint();
+		assertEquals(head & 1, 0);
+		assertEquals(input.readCompactString(head >>> 1), CHARS);
+		assertEquals(input.available(), 0);
+	}
+
+	@Test
+	void testCompatible() throws IOException {
+		// 与逐字节编码的结果一致
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		final BigEndianDataOutput stream = new BigEndianDataOutput() {
+			@Override
+			public void writeByte(int b) {
+				out.write(b);
+			}
+		};
+		final ByteBufferDataOutput output = new ByteBufferDataOutput();
+		for (DataOutput o : new DataOutput[] { stream, output }) {
+			o.writeShort(0x1234);
+			o.writeInt(0x12345678);
+			o.writeLong(0x123456789ABCDEFL);
+			o.writeDouble(Math.PI);
+			o.writeVarint(300);
+			o.writeVarlong(-1);
+			o.writeString("ODBS");
+		}
+		assertArrayEquals(out.toByteArray(), output.toByteArray());
+	}
+
+	@Test
+	void testReset() throws IOException {
+		final ByteBufferDataOutput output = new ByteBufferDataOutput(16, true, ByteOrder.BIG_ENDIAN);
+		output.write(new byte[ByteBufferDataOutput.RETAIN * 2]);
+		assertEquals(output.size(), ByteBufferDataOutput.RETAIN * 2);
+
+		output.reset();
+		assertEquals(output.size(), 0);
+		assertEquals(output.buffer().capacity(), 16);
+
+		output.writeInt(1);
+		output.reset();
+		assertEquals(output.buffer().capacity(), 16);
+	}
+
+	@Test
+	void testChannel() throws IOException {
+		final String CHARS = "0987654321abcdefghijklmnopqrstuvwxyz中华人民共和国ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+		final byte[] SMALL = new byte[ByteBufferPool.SIZE / 4];
+		final byte[] LARGE = new byte[ByteBufferPool.SIZE * 3 + 7];
+		for (int index = 0; index < LARGE.length; index++) {
+			LARGE[index] = (byte) index;
+		}
+
+		// 普通通道
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		final ChannelDataOutput output = new ChannelDataOutput(Channels.newChannel(out));
+		channel(output, SMALL, LARGE, CHARS);
+		final ChannelDataInput input = new ChannelDataInput(Channels.newChannel(new ByteArrayInputStream(out.toByteArray())));
+		assertFalse(input.readahead());
+		channel(input, SMALL, LARGE, CHARS);
+		channel(new ChannelDataInput(Channels.newChannel(new ByteArrayInputStream(out.toByteArray())), true), SMALL, LARGE, CHARS);
+
+		// 非预读模式不读取超出所需的字节
+		final ByteArrayInputStream stream = new ByteArrayInputStream(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9 });
+		final ChannelDataInput exact = new ChannelDataInput(Channels.newChannel(stream));
+		assertEquals(exact.fill(), 1);
+		assertEquals(exact.readInt(), 0x01020304);
+		assertEquals(exact.skipBytes(2), 2);
+		exact.release();
+		assertEquals(stream.available(), 3);
+
+		// 聚集写入和分散读取
+		final Path file = Files.createTempFile("odbs", ".bin");
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			channel(new ChannelDataOutput(channel), SMALL, LARGE, CHARS);
+			assertArrayEquals(Files.readAllBytes(file), out.toByteArray());
+			channel.position(0);
+			channel(new ChannelDataInput(channel), SMALL, LARGE, CHARS);
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	void channel(ChannelDataOutput output, byte[] small, byte[] large, String chars) throws IOException {
+		for (int index = 0; index < 1000; index++) {
+			output.writeVarint(index);
+			output.writeLong(index);
+		}
+		output.write(small);
+		output.write(large);
+		output.writeString(chars);
+		output.write(large);
+		output.writeVarlong(Long.MIN_VALUE);
+		output.release();
+	}
+
+	void channel(ChannelDataInput input, byte[] small, byte[] large, String chars) throws IOException {
+		for (int index = 0; index < 1000; index++) {
+			assertEquals(input.readVarint(), index);
+			assertEquals(input.readLong(), index);
+		}
+		final byte[] bytes = new byte[large.length];
+		input.readFully(bytes, 0, small.length);
+		assertArrayEquals(Arrays.copyOf(bytes, small.length), small);
+		input.readFully(bytes);
+		assertArrayEquals(bytes, large);
+		assertEquals(input.readString(), chars);
+		input.readFully(bytes);
+		assertArrayEquals(bytes, large);
+		assertEquals(input.readVarlong(), Long.MIN_VALUE);
+		assertThrows(EOFException.class, () -> input.readByte());
+		input.release();
+	}
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright © 2017-2025 重庆骄智科技有限公司.
+ * 本软件根据 Apache License 2.0 开源，详见 LICENSE 文件。
+ */
+package com.joyzl.codec;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class TestFrame {
+
+	final static byte[][] FRAMES = new byte[4][];
+	static {
+		final Random random = new Random(3);
+		FRAMES[0] = new byte[0];
+		FRAMES[1] = new byte[100];
+		FRAMES[2] = new byte[ByteBufferPool.SIZE * 3];
+		FRAMES[3] = new byte[1];
+		for (byte[] frame : FRAMES) {
+			random.nextBytes(frame);
+		}
+	}
+
+	static byte[] bytes(ByteBuffer buffer) {
+		final byte[] bytes = new byte[buffer.remaining()];
+		buffer.get(bytes);
+		return bytes;
+	}
+
+	@Test
+	void testStream() throws IOException {
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		for (int index = 0; index < FRAMES.length; index++) {
+			FrameEncoder.write(output, FRAMES[index], 0, FRAMES[index].length, index % 2 == 0);
+		}
+
+		final ByteArrayInputStream input = new ByteArrayInputStream(output.toByteArray());
+		for (byte[] frame : FRAMES) {
+			assertArrayEquals(frame, FrameDecoder.read(input, FrameEncoder.MAX_LENGTH));
+		}
+		assertNull(FrameDecoder.read(input, FrameEncoder.MAX_LENGTH));
+
+		// 帧不完整
+		final byte[] bytes = output.toByteArray();
+		final ByteArrayInputStream part = new ByteArrayInputStream(bytes, 0, bytes.length - 1);
+		assertThrows(EOFException.class, () -> {
+			while (FrameDecoder.read(part, FrameEncoder.MAX_LENGTH) != null) {
+				// 读取完整的帧
+			}
+		});
+		// 超出最大长度
+		assertThrows(IOException.class, () -> FrameDecoder.read(new ByteArrayInputStream(bytes, 5, bytes.length - 5), 16));
+	}
+
+	@Test
+	void testDecoder() throws IOException {
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		for (int index = 0; index < FRAMES.length; index++) {
+			FrameEncoder.write(Channels.newChannel(output), ByteBuffer.wrap(FRAMES[index]), index % 2 == 1);
+		}
+		final byte[] bytes = output.toByteArray();
+
+		// 逐字节到达
+		FrameDecoder decoder = new FrameDecoder();
+		ByteBuffer frame;
+		int count = 0;
+		for (int index = 0; index < bytes.length; index++) {
+			decoder.feed(bytes, index, 1);
+			while ((frame = decoder.next()) != null) {
+				assertArrayEquals(FRAMES[count++], bytes(frame));
+			}
+		}
+		assertEquals(FRAMES.length, count);
+		assertEquals(0, decoder.remaining());
+		decoder.release();
+
+		// 流水线传输的多个帧一次到达
+		decoder = new FrameDecoder();
+		final ReadableByteChannel channel = Channels.newChannel(new ByteArrayInputStream(bytes));
+		count = 0;
+		while (decoder.read(channel) >= 0) {
+			while ((frame = decoder.next()) != null) {
+				assertArrayEquals(FRAMES[count++], bytes(frame));
+			}
+		}
+		assertEquals(FRAMES.length, count);
+		decoder.release();
+	}
+
+	@Test
+	void testInvalid() throws IOException {
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		FrameEncoder.write(output, FRAMES[1], 0, FRAMES[1].length, true);
+		final byte[] bytes = output.toByteArray();
+		bytes[bytes.length - 1] ^= 1;
+
+		// 校验错误
+		assertThrows(IOException.class, () -> FrameDecoder.read(new ByteArrayInputStream(bytes), FrameEncoder.MAX_LENGTH));
+		final FrameDecoder decoder = new FrameDecoder();
+		decoder.feed(bytes, 0, bytes.length);
+		assertThrows(IOException.class, () -> decoder.next());
+		decoder.release();
+
+		// 超出最大长度
+		final FrameDecoder limit = new FrameDecoder(16);
+		limit.feed(bytes, 0, bytes.length);
+		assertThrows(IOException.class, () -> limit.next());
+		limit.release();
+
+		assertThrows(IOException.class, () -> FrameEncoder.write(output, new byte[0], 0, FrameEncoder.MAX_LENGTH + 1, false));
+	}
+}
@@ -4,7 +4,9 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
 import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
 
 import org.junit.jupiter.api.Test;
 
@@ -296,4 +298,84 @@ class TestJSONCodec {
 		assertEquals('\n', reader.read());
 	}
 
-}
\ No newline at end of file
+	@Test
+	void testBuffered() throws Exception {
+		// 跨越缓存块边界的字符串、转义和多字节字符
+		final StringBuilder json = new StringBuilder("[");
+		final String[] values = new String[1000];
+		for (int index = 0; index < values.length; index++) {
+			values[index] = "值" + index + "\"\\😀" + "ABCDEFGHIJ".repeat(index % 7);
+			json.append("\"");
+			json.append(values[index].replace("\\", "\\\\").replace("\"", "\\\""));
+			json.append("\",");
+			json.append(index);
+			json.append(", ");
+		}
+		json.append("]\n{}");
+		assertTrue(json.length() > JSONReader.BLOCK * 4);
+
+		final JSONReader codec = new JSONReader();
+		codec.reset(new StringReader(json.toString()), JSONReader.BLOCK);
+		check(codec, values);
+		// 保留已缓存字符
+		codec.clear();
+		codec.beginObject();
+		assertFalse(codec.readKey());
+
+		codec.reset(new ByteArrayInputStream(json.toString().getBytes(StandardCharsets.UTF_8)), JSONReader.BLOCK);
+		check(codec, values);
+		codec.clear();
+		codec.beginObject();
+		assertFalse(codec.readKey());
+
+		// 逐字节读取
+		codec.reset(new ByteArrayInputStream(json.toString().getBytes(StandardCharsets.UTF_8)), 1);
+		check(codec, values);
+	}
+
+	void check(JSONReader codec, String[] values) throws Exception {
+		codec.beginArray();
+		for (int index = 0; index < values.length; index++) {
+			assertTrue(codec.readNext());
+			assertTrue(codec.readValue());
+			assertEquals(values[index], codec.getString());
+			assertTrue(codec.readNext());
+			assertTrue(codec.readValue());
+			assertEquals(index, codec.getInt());
+		}
+		assertFalse(codec.readNext());
+	}
+
+	@Test
+	void testNumber() throws Exception {
+		final String[] numbers = new String[] { "0", "-0", "1", "-1", "+7", "0.1", "0.3", "-0.5", "1.", ".5", "3.141592653589793", "2.718281828459045", //
+				"1e22", "1e23", "1E-22", "1e-23", "123456789012345", "1234567890123456", "12345678901234567890", //
+				"9007199254740993", "4.9e-324", "1.7976931348623157E308", "0.000001234", "100e-2", "1e+2", "Infinity", "-Infinity", "NaN", //
+				"3.4028235E38", "1.4E-45", "16777217", "0.1f", "2147483647", "-2147483648", "9223372036854775807", "-9223372036854775808" };
+		final StringBuilder json = new StringBuilder("[");
+		for (String number : numbers) {
+			json.append(number).append(',');
+		}
+		json.append(']');
+
+		final JSONReader codec = new JSONReader();
+		codec.reset(new StringReader(json.toString()), JSONReader.BLOCK);
+		codec.beginArray();
+		for (String number : numbers) {
+			assertTrue(codec.readNext());
+			assertTrue(codec.readValue());
+			assertEquals(Double.doubleToRawLongBits(Double.parseDouble(number)), Double.doubleToRawLongBits(codec.getDouble()), number);
+			assertEquals(Float.floatToRawIntBits(Float.parseFloat(number)), Float.floatToRawIntBits(codec.getFloat()), number);
+			try {
+				final long value = Long.parseLong(number);
+				assertEquals(value, codec.getLong(), number);
+				if (value == (int) value) {
+					assertEquals((int) value, codec.getInt(), number);
+				}
+			} catch (NumberFormatException e) {
+				// 非整数
+			}
+		}
+		assertFalse(codec.readNext());
+	}
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright © 2017-2025 重庆骄智科技有限公司.
+ * 本软件根据 Apache License 2.0 开源，详见 LICENSE 文件。
+ */
+package com.joyzl.odbs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+class TestJSONParser {
+
+	final String json = """
+			// JSON5
+			{
+				"id": 1234567890123,
+				name: '名称',
+				"empty": {},
+				"values": [1, -2.5, true, null, "null", [], {k:"v"}],
+				"nested": {"a": {"b": [1, 2, 3]}, "c": 'C'},
+				"last": false,
+			}
+			""";
+
+	@Test
+	void testTokens() throws IOException {
+		final JSONParser parser = new JSONParser(new StringReader(json));
+		assertEquals(JSONToken.BEGIN_OBJECT, parser.next());
+		assertEquals(1, parser.depth());
+
+		key(parser, "id");
+		assertEquals(JSONToken.NUMBER, parser.next());
+		assertEquals(1234567890123L, parser.getLong());
+
+		key(parser, "name");
+		assertEquals(JSONToken.STRING, parser.next());
+		assertEquals("名称", parser.getString());
+
+		key(parser, "empty");
+		assertEquals(JSONToken.BEGIN_OBJECT, parser.next());
+		assertEquals(JSONToken.END_OBJECT, parser.next());
+
+		key(parser, "values");
+		assertEquals(JSONToken.BEGIN_ARRAY, parser.next());
+		assertEquals(2, parser.depth());
+		assertEquals(JSONToken.NUMBER, parser.next());
+		assertEquals(1, parser.getInt());
+		assertEquals(JSONToken.NUMBER, parser.next());
+		assertEquals(-2.5, parser.getDouble());
+		assertEquals(JSONToken.BOOLEAN, parser.next());
+		assertEquals(true, parser.getBoolean());
+		assertEquals(JSONToken.NULL, parser.next());
+		assertNull(parser.getString());
+		assertEquals(JSONToken.STRING, parser.next());
+		assertEquals("null", parser.getString());
+		assertEquals(JSONToken.BEGIN_ARRAY, parser.next());
+		assertEquals(JSONToken.END_ARRAY, parser.next());
+		assertEquals(JSONToken.BEGIN_OBJECT, parser.next());
+		key(parser, "k");
+		assertEquals(JSONToken.STRING, parser.next());
+		assertEquals("v", parser.chars().toString());
+		assertEquals(JSONToken.END_OBJECT, parser.next());
+		assertEquals(JSONToken.END_ARRAY, parser.next());
+
+		key(parser, "nested");
+		assertEquals(JSONToken.BEGIN_OBJECT, parser.next());
+		key(parser, "a");
+		assertEquals(JSONToken.BEGIN_OBJECT, parser.next());
+		key(parser, "b");
+		assertEquals(JSONToken.BEGIN_ARRAY, parser.next());
+		assertEquals(4, parser.depth());
+		assertEquals(JSONToken.NUMBER, parser.next());
+		assertEquals(JSONToken.NUMBER, parser.next());
+		assertEquals(JSONToken.NUMBER, parser.next());
+		assertEquals(JSONToken.END_ARRAY, parser.next());
+		assertEquals(JSONToken.END_OBJECT, parser.next());
+		key(parser, "c");
+		assertEquals(JSONToken.STRING, parser.next());
+		assertEquals(JSONToken.END_OBJECT, parser.next());
+
+		key(parser, "last");
+		assertEquals(JSONToken.BOOLEAN, parser.next());
+		assertEquals(false, parser.getBoolean());
+
+		assertEquals(JSONToken.END_OBJECT, parser.next());
+		assertEquals(0, parser.depth());
+		assertNull(parser.next());
+		assertNull(parser.next());
+	}
+
+	@Test
+	void testSkip() throws IOException {
+		final JSONParser parser = new JSONParser(new StringReader(json));
+		assertEquals(JSONToken.BEGIN_OBJECT, parser.next());
+		key(parser, "id");
+		parser.skip();
+		key(parser, "name");
+		parser.skip();
+		key(parser, "empty");
+		parser.skip();
+		key(parser, "values");
+		assertEquals(JSONToken.BEGIN_ARRAY, parser.next());
+		assertEquals(JSONToken.NUMBER, parser.next());
+		// 跳过数组剩余部分
+		parser.skip();
+		assertEquals(JSONToken.END_ARRAY, parser.token());
+		key(parser, "nested");
+		assertEquals(JSONToken.BEGIN_OBJECT, parser.next());
+		// 跳过刚开始的对象
+		parser.skip();
+		assertEquals(1, parser.depth());
+		key(parser, "last");
+		assertEquals(JSONToken.BOOLEAN, parser.next());
+		assertEquals(JSONToken.END_OBJECT, parser.next());
+		assertNull(parser.next());
+	}
+
+	@Test
+	void testStream() throws IOException {
+		// 大文档中提取少量字段
+		final StringBuilder builder = new StringBuilder("[");
+		for (int index = 0; index < 10000; index++) {
+			builder.append("{\"id\":").append(index);
+			builder.append(",\"tags\":[\"a\",\"b\",{\"c\":[1,2,3]}],\"text\":\"中文\\\"").append(index).append("\"},");
+		}
+		builder.append("]");
+
+		final JSONParser parser = new JSONParser(new ByteArrayInputStream(builder.toString().getBytes(StandardCharsets.UTF_8)));
+		assertEquals(JSONToken.BEGIN_ARRAY, parser.next());
+		long sum = 0;
+		int count = 0;
+		JSONToken token;
+		while ((token = parser.next()) != null) {
+			if (token == JSONToken.KEY) {
+				if ("id".contentEquals(parser.chars())) {
+					parser.next();
+					sum += parser.getInt();
+				} else if ("text".contentEquals(parser.chars())) {
+					parser.next();
+					assertEquals("中文\"" + count++, parser.getString());
+				} else {
+					parser.skip();
+				}
+			}
+		}
+		assertEquals(10000, count);
+		assertEquals(9999L * 10000 / 2, sum);
+	}
+
+	@Test
+	void testRoot() {
+		assertThrows(IOException.class, () -> new JSONParser(new StringReader("123")).next());
+		final JSONParser parser = new JSONParser(new StringReader("{\"a\":}"));
+		assertThrows(IOException.class, () -> {
+			parser.next();
+			parser.next();
+			parser.next();
+		});
+	}
+
+	void key(JSONParser parser, String key) throws IOException {
+		assertEquals(JSONToken.KEY, parser.next());
+		assertEquals(key, parser.getString());
+	}
+}
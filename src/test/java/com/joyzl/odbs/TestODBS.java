@@ -4,12 +4,18 @@
  */
 package com.joyzl.odbs;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import com.joyzl.EnumCode;
+import com.joyzl.odbs.test.EntityBase;
+
 class TestODBS {
 
 	static final ODBS odbs = ODBS.initialize("com.joyzl.odbs.test");
@@ -25,7 +31,98 @@ class TestODBS {
 
 	@Test
 	void test() {
-		odbs.get(Object.class);
+		assertNull(odbs.get(Object.class));
+		assertNull(odbs.get(Object.class));
+		assertNull(odbs.get(String.class));
+	}
+
+	@Test
+	void testGet() {
+		final TypeEntity type = odbs.get(EntityBase.class);
+		assertSame(type, odbs.get(EntityBase.class));
+		// 匿名子类
+		assertSame(type, odbs.get(new EntityBase() {}.getClass()));
+		// 超过4级的子类
+		assertSame(type, odbs.get(Level5.class));
+		assertSame(type, odbs.get(Level5.class));
+	}
+
+	static class Level1 extends EntityBase {
+	}
+
+	static class Level2 extends Level1 {
+	}
+
+	static class Level3 extends Level2 {
+	}
+
+	static class Level4 extends Level3 {
+	}
+
+	static class Level5 extends Level4 {
+	}
+
+	@Test
+	void testParallel() {
+		// 并行初始化的类型顺序和签名与顺序初始化一致
+		for (int index = 0; index < 5; index++) {
+			final ODBS parallel = ODBS.initializeParallel("com.joyzl.odbs.test");
+			assertEquals(odbs.typeSize(), parallel.typeSize());
+			assertEquals(odbs.checkString(), parallel.checkString());
+			assertArrayEquals(odbs.signature(), parallel.signature());
+		}
+	}
+
+	@Test
+	void testEnumCodes() {
+		final EnumCodes<Codes> codes = new EnumCodes<>(Codes.values());
+		for (Codes code : Codes.values()) {
+			assertSame(code, codes.get(code.code()));
+		}
+		assertNull(codes.get(0));
+		assertNull(codes.get(4));
+		assertNull(codes.get(Integer.MAX_VALUE));
+		assertNull(codes.get(Integer.MIN_VALUE));
+
+		final EnumCodes<Sparse> sparse = new EnumCodes<>(Sparse.values());
+		assertSame(Sparse.A, sparse.get(-1));
+		assertSame(Sparse.B, sparse.get(0x1000));
+		assertSame(Sparse.C, sparse.get(Integer.MAX_VALUE));
+		assertSame(Sparse.D, sparse.get(Integer.MIN_VALUE));
+		// 重复代码保留首个常量
+		assertSame(Sparse.B, sparse.get(0x1000));
+		assertNull(sparse.get(0));
+		assertNull(sparse.get(0x2000));
+	}
+
+	enum Codes implements EnumCode {
+		A(1), B(2), C(3), D(-5);
+
+		private final int code;
+
+		Codes(int code) {
+			this.code = code;
+		}
+
+		@Override
+		public int code() {
+			return code;
+		}
+	}
+
+	enum Sparse implements EnumCode {
+		A(-1), B(0x1000), C(Integer.MAX_VALUE), D(Integer.MIN_VALUE), E(0x1000);
+
+		private final int code;
+
+		Sparse(int code) {
+			this.code = code;
+		}
+
+		@Override
+		public int code() {
+			return code;
+		}
 	}
 
 	@Test
@@ -64,4 +161,36 @@ class TestODBS {
 		assertEquals(8, Double.parseDouble("8."));
 		assertEquals(Double.POSITIVE_INFINITY, Double.parseDouble("Infinity"));
 	}
-}
\ No newline at end of file
+
+	@Test
+	void testFind() {
+		final StringBuilder key = new StringBuilder();
+		for (int t = 0; t < odbs.typeSize(); t++) {
+			final TypeEntity type = odbs.get(t);
+			for (ODBSMethod method : type.methods()) {
+				for (JSONName format : JSONName.values()) {
+					key.setLength(0);
+					key.append(method.name(format));
+					assertSame(find(type, key), type.find(JSONName.UPPER_CAMEL_CASE, key));
+					for (int next = 0; next <= type.methodSize(); next++) {
+						assertSame(find(type, key), type.find(format, key, next));
+					}
+				}
+			}
+			key.setLength(0);
+			key.append("Unknown");
+			assertNull(type.find(JSONName.UPPER_CAMEL_CASE, key));
+			assertNull(type.find(JSONName.UPPER_CAMEL_CASE, key, 0));
+		}
+	}
+
+	/** 逐个方法匹配 */
+	static ODBSMethod find(TypeEntity type, CharSequence name) {
+		for (ODBSMethod method : type.methods()) {
+			if (method.match(JSONName.UPPER_CAMEL_CASE, name)) {
+				return method;
+			}
+		}
+		return null;
+	}
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright © 2017-2025 重庆骄智科技有限公司.
+ * 本软件根据 Apache License 2.0 开源，详见 LICENSE 文件。
+ */
+package com.joyzl.odbs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.Test;
+
+import com.joyzl.odbs.processor.ODBSProcessor;
+
+class TestODBSIndex {
+
+	final static String PACKAGE = "com.joyzl.odbs.test";
+
+	@Test
+	void testTables() throws IOException {
+		final Path root = Files.createTempDirectory("odbs");
+		try {
+			// 测试实体源文件生成索引
+			final List<Path> sources;
+			try (Stream<Path> stream = Files.list(Path.of("src/test/java", PACKAGE.replace('.', '/')))) {
+				sources = stream.filter(p -> !p.getFileName().toString().startsWith("Test")).toList();
+			}
+			final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+			try (StandardJavaFileManager files = compiler.getStandardFileManager(null, null, null)) {
+				// 实体源文件引用了测试断言
+				final String classpath = location(ODBS.class) + File.pathSeparator + location(Test.class);
+				final JavaCompiler.CompilationTask task = compiler.getTask(null, files, null, //
+					List.of("-d", root.toString(), "-encoding", "UTF-8", "-classpath", classpath, "-Aodbs.packages=" + PACKAGE, "-proc:only"), null, //
+					files.getJavaFileObjectsFromPaths(sources));
+				task.setProcessors(List.of(new ODBSProcessor()));
+				assertTrue(task.call());
+			}
+
+			final String text = Files.readString(root.resolve(ODBSReflect.INDEX + PACKAGE));
+			final ODBSIndex index = new ODBSIndex();
+			index.read(new StringReader(text));
+			assertFalse(index.tables().isEmpty());
+
+			// 按方法表初始化与反射初始化的类型、方法和签名一致
+			final ODBS reflect = ODBS.initialize(PACKAGE);
+			final ODBS indexed = ODBS.initialize(false, new ODBSIndex[] { index }, PACKAGE);
+			assertEquals(reflect.typeSize(), indexed.typeSize());
+			assertEquals(reflect.checkString(), indexed.checkString());
+			assertEquals(HexFormat.of().formatHex(reflect.signature()), HexFormat.of().formatHex(indexed.signature()));
+			assertEquals(HexFormat.of().formatHex(reflect.signature()), HexFormat.of().formatHex(index.signature()));
+
+			// 所有实体类型均按方法表构建时使用索引中的签名，不再计算
+			final String zeros = "0".repeat(40);
+			final ODBSIndex unsigned = new ODBSIndex();
+			unsigned.read(new StringReader(text.replaceFirst("signature=[0-9a-f]+", "signature=" + zeros)));
+			assertEquals(zeros, HexFormat.of().formatHex(ODBS.initialize(false, new ODBSIndex[] { unsigned }, PACKAGE).signature()));
+
+			// 实体类型没有方法表时计算签名
+			unsigned.tables().remove(PACKAGE + ".EntityBase");
+			final ODBS partial = ODBS.initialize(false, new ODBSIndex[] { unsigned }, PACKAGE);
+			assertEquals(HexFormat.of().formatHex(reflect.signature()), HexFormat.of().formatHex(partial.signature()));
+
+			// 多个索引时签名不可用
+			final ODBSIndex multiple = new ODBSIndex();
+			multiple.read(new StringReader(text));
+			multiple.read(new StringReader(text));
+			assertNull(multiple.signature());
+
+			// 方法表与类不一致
+			final String[][] table = index.tables().get(PACKAGE + ".EntityBase").clone();
+			table[0] = table[0].clone();
+			table[0][1] = "getUnknown";
+			index.tables().put(PACKAGE + ".EntityBase", table);
+			assertThrows(IllegalStateException.class, () -> ODBS.initialize(false, new ODBSIndex[] { index }, PACKAGE));
+		} finally {
+			delete(root);
+		}
+	}
+
+	@Test
+	void testMerge() throws IOException {
+		final Path root = Files.createTempDirectory("odbs");
+		try {
+			// 包含索引的位置仅有部分类
+			final Path indexed = Files.createDirectories(root.resolve("indexed"));
+			final Path plain = Files.createDirectories(root.resolve("plain"));
+			final Path source = Files.createDirectories(root.resolve("src/demo"));
+			Files.writeString(source.resolve("A.java"), "package demo; public class A { }");
+			Files.writeString(source.resolve("B.java"), "package demo; public class B { }");
+			Files.writeString(source.resolve("C.java"), "package demo; public class C { }");
+			final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+			assertEquals(0, compiler.run(null, null, null, "-d", indexed.toString(), source.resolve("A.java").toString(), source.resolve("B.java").toString()));
+			assertEquals(0, compiler.run(null, null, null, "-d", plain.toString(), source.resolve("C.java").toString()));
+			Files.createDirectories(indexed.resolve(ODBSReflect.INDEX));
+			Files.writeString(indexed.resolve(ODBSReflect.INDEX + "demo"), "demo.A\n");
+
+			try (URLClassLoader loader = new URLClassLoader(new URL[] { indexed.toUri().toURL(), plain.toUri().toURL() }, null)) {
+				final List<String> names = ODBSReflect.scanClass("demo", false, loader, loader).stream().map(Class::getName).toList();
+				// 索引中的类，以及未包含索引的位置中扫描的类；包含索引的位置不再扫描
+				assertEquals(List.of("demo.A", "demo.C"), names);
+			}
+		} finally {
+			delete(root);
+		}
+	}
+
+	static String location(Class<?> clazz) {
+		return Path.of(clazz.getProtectionDomain().getCodeSource().getLocation().getPath()).toString();
+	}
+
+	static void delete(Path root) throws IOException {
+		try (Stream<Path> stream = Files.walk(root)) {
+			stream.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+		}
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright © 2017-2025 重庆骄智科技有限公司.
+ * 本软件根据 Apache License 2.0 开源，详见 LICENSE 文件。
+ */
+package com.joyzl.odbs.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.Test;
+
+import com.joyzl.odbs.ODBSReflect;
+
+class TestODBSProcessor {
+
+	@Test
+	void testIndex() throws IOException {
+		final Path root = Files.createTempDirectory("odbs");
+		try {
+			final Path source = Files.createDirectories(root.resolve("src/demo/sub"));
+			final Path output = Files.createDirectories(root.resolve("classes"));
+			Files.writeString(source.resolveSibling("Entity.java"), """
+					package demo;
+					public class Entity {
+						public enum State { A, B }
+						public static class Nested { }
+						private int id;
+						private String[] names;
+						private java.util.List<String> items;
+						public int getId() { return id; }
+						public void setId(int value) { id = value; }
+						public String[] getNames() { return names; }
+						public void setNames(String[] value) { names = value; }
+						public java.util.ArrayList<String> getItems() { return null; }
+						public void setItems(java.util.List<String> value) { items = value; }
+						public boolean isValid() { return true; }
+						public static int getCount() { return 0; }
+						public void set(int value) { }
+					}
+					""");
+			Files.writeString(source.resolveSibling("Abstract.java"), """
+					package demo;
+					public abstract class Abstract { }
+					""");
+			Files.writeString(source.resolveSibling("Hidden.java"), """
+					package demo;
+					class Hidden { }
+					""");
+			Files.writeString(source.resolveSibling("Private.java"), """
+					package demo;
+					public class Private { private Private() { } }
+					""");
+			Files.writeString(source.resolve("Sub.java"), """
+					package demo.sub;
+					public class Sub { public Sub() { } public Sub(int value) { } }
+					""");
+			Files.writeString(root.resolve("src/Other.java"), """
+					public class Other { }
+					""");
+
+			final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+			try (StandardJavaFileManager files = compiler.getStandardFileManager(null, null, null)) {
+				final List<Path> sources;
+				try (Stream<Path> stream = Files.walk(root.resolve("src"))) {
+					sources = stream.filter(p -> p.toString().endsWith(".java")).toList();
+				}
+				final JavaCompiler.CompilationTask task = compiler.getTask(null, files, null, //
+					List.of("-d", output.toString(), "-Aodbs.packages=demo", "-proc:only"), null, //
+					files.getJavaFileObjectsFromPaths(sources));
+				task.setProcessors(List.of(new ODBSProcessor()));
+				assertTrue(task.call());
+			}
+
+			final List<String> index = Files.readAllLines(output.resolve(ODBSReflect.INDEX + "demo"));
+			assertTrue(index.get(0).startsWith(ODBSReflect.INDEX_VERSION + " signature="));
+			// 方法按名称排序，类型不一致的getter/setter未配对，同名时保留setter
+			assertEquals(List.of(//
+				"demo.Entity", //
+				"\tId\tgetId\tsetId\tint\tint", //
+				"\tItems\t-\tsetItems\tjava.util.List\tjava.util.List", //
+				"\tNames\tgetNames\tsetNames\t[Ljava.lang.String;\tjava.lang.reflect.Array", //
+				"\tValid\tisValid\t-\tboolean\tboolean", //
+				"demo.Entity$State", //
+				"demo.sub.Sub"), index.subList(1, index.size()));
+			final String config = Files.readString(output.resolve("META-INF/native-image/com.joyzl.odbs/demo/reflect-config.json"));
+			assertTrue(config.contains("\"demo.Entity$State\""));
+			assertTrue(config.contains("{ \"name\": \"setNames\", \"parameterTypes\": [ \"java.lang.String[]\" ] }"));
+		} finally {
+			try (Stream<Path> stream = Files.walk(root)) {
+				stream.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+			}
+		}
+	}
+}
@@ -7,6 +7,7 @@ package com.joyzl.odbs.test;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -19,7 +20,9 @@ import java.util.Date;
  * @author ZhangXi
  * @date 2023年7月27日
  */
-public class EntityArray {
+public class EntityArray implements Serializable {
+
+	private final static long serialVersionUID = 1L;
 
 	static final boolean[] BOOLEAN_VALUES = new boolean[] { true, false };
 	static final byte[] BYTE_VALUES = new byte[] { 0x00, 0x01, 0x02, 0x03, 0x04, Byte.MIN_VALUE, Byte.MAX_VALUE };
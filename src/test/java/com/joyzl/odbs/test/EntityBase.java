@@ -6,6 +6,7 @@ package com.joyzl.odbs.test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -19,7 +20,9 @@ import java.util.Date;
  * @author ZhangXi
  * @date 2023年7月27日
  */
-public class EntityBase {
+public class EntityBase implements Serializable {
+
+	private final static long serialVersionUID = 1L;
 
 	// 值类型 8
 
@@ -4,13 +4,17 @@
  */
 package com.joyzl.odbs.test;
 
+import java.io.Serializable;
+
 /**
  * 空对象
  * 
  * @author ZhangXi
  * @date 2023年7月27日
  */
-public class EntityEmpty {
+public class EntityEmpty implements Serializable {
+
+	private final static long serialVersionUID = 1L;
 
 	@Override
 	public boolean equals(Object o) {
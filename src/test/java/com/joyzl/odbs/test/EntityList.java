@@ -6,6 +6,7 @@ package com.joyzl.odbs.test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -21,7 +22,9 @@ import java.util.List;
  * @author ZhangXi
  * @date 2023年7月27日
  */
-public class EntityList {
+public class EntityList implements Serializable {
+
+	private final static long serialVersionUID = 1L;
 
 	// 基础类型集合
 
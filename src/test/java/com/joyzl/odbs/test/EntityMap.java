@@ -6,6 +6,7 @@ package com.joyzl.odbs.test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -20,7 +21,9 @@ import java.util.Map;
  * @author ZhangXi
  * @date 2023年7月27日
  */
-public class EntityMap {
+public class EntityMap implements Serializable {
+
+	private final static long serialVersionUID = 1L;
 
 	private Map<Boolean, Boolean> booleanBoolean;
 	private Map<Boolean, Byte> booleanByte;
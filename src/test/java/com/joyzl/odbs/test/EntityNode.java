@@ -0,0 +1,99 @@
+/*
+ * Copyright © 2017-2025 重庆骄智科技有限公司.
+ * 本软件根据 Apache License 2.0 开源，详见 LICENSE 文件。
+ */
+package com.joyzl.odbs.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 引用其它实体的节点，用于共享引用和循环引用
+ * 
+ * @author ZhangXi
+ * @date 2026年10月18日
+ */
+public class EntityNode implements Serializable {
+
+	private final static long serialVersionUID = 1L;
+
+	private String name;
+	private EntityNode next;
+	private Object value;
+	private List<EntityNode> children;
+
+	public EntityNode() {
+	}
+
+	public EntityNode(String name) {
+		this.name = name;
+	}
+
+	/** 创建树：根节点的子节点共享同一值节点，末个子节点循环引用根节点 */
+	static EntityNode createGraph() {
+		final EntityNode root = new EntityNode("root");
+		final EntityNode shared = new EntityNode("shared");
+		root.setChildren(new ArrayList<>());
+		for (int index = 0; index < 10; index++) {
+			final EntityNode child = new EntityNode("child" + index);
+			child.setNext(shared);
+			child.setValue(shared);
+			root.getChildren().add(child);
+		}
+		root.getChildren().get(9).setNext(root);
+		return root;
+	}
+
+	/** 检查解码的树保持共享引用和循环引用 */
+	static void assertGraph(EntityNode root) {
+		assertEquals("root", root.getName());
+		assertEquals(10, root.getChildren().size());
+		final EntityNode shared = root.getChildren().get(0).getNext();
+		assertEquals("shared", shared.getName());
+		for (int index = 0; index < 10; index++) {
+			final EntityNode child = root.getChildren().get(index);
+			assertEquals("child" + index, child.getName());
+			assertSame(shared, child.getValue());
+			if (index < 9) {
+				assertSame(shared, child.getNext());
+			}
+		}
+		assertSame(root, root.getChildren().get(9).getNext());
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String value) {
+		name = value;
+	}
+
+	public EntityNode getNext() {
+		return next;
+	}
+
+	public void setNext(EntityNode value) {
+		next = value;
+	}
+
+	public Object getValue() {
+		return value;
+	}
+
+	public void setValue(Object value) {
+		this.value = value;
+	}
+
+	public List<EntityNode> getChildren() {
+		return children;
+	}
+
+	public void setChildren(List<EntityNode> value) {
+		children = value;
+	}
+}
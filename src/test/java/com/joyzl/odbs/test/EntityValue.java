@@ -1,10 +1,14 @@
 package com.joyzl.odbs.test;
 
+import java.io.Serializable;
+
 /**
  * 测试继承实体
  * 
  * @author ZhangXi 2026年3月24日
  */
-public abstract class EntityValue {
+public abstract class EntityValue implements Serializable {
+
+	private final static long serialVersionUID = 1L;
 
 }
\ No newline at end of file
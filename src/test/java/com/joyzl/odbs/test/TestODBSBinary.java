@@ -5,19 +5,43 @@
 package com.joyzl.odbs.test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.IllegalBlockingModeException;
+import java.nio.channels.Pipe;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import com.joyzl.codec.BigEndianInputStream;
+import com.joyzl.codec.ByteBufferDataInput;
+import com.joyzl.codec.ByteBufferDataOutput;
+import com.joyzl.codec.ChannelDataInput;
+import com.joyzl.codec.DataInput;
+import com.joyzl.codec.DataOutput;
+import com.joyzl.codec.FrameDecoder;
+import com.joyzl.codec.LittleEndianInputStream;
+import com.joyzl.codec.LittleEndianOutputStream;
 import com.joyzl.odbs.ODBSBinary;
+import com.joyzl.odbs.ODBSProjection;
+import com.joyzl.odbs.ODBSView;
 
 class TestODBSBinary extends TestODBS {
 
@@ -408,4 +432,629 @@ class TestODBSBinary extends TestODBS {
 		BINARY.readEntities(bases, input);
 		assertEquals(bases.size(), 2);
 	}
+
+	@Test
+	void testChannel() throws IOException {
+		final Path file = Files.createTempFile("odbs", ".bin");
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			final EntityBase base = EntityBase.createMaxValue();
+			final EntityArray array = EntityArray.createNormalValue();
+			final List<EntityBase> bases = new ArrayList<>();
+			bases.add(EntityBase.createMinValue());
+			bases.add(EntityBase.createMaxValue());
+
+			BINARY.writeEntity(base, channel);
+			BINARY.writeEntity(array, channel);
+			BINARY.writeEntities(bases, channel);
+			assertEquals(channel.position(), channel.size());
+
+			// 预读的字节将回退，可连续读取
+			channel.position(0);
+			EntityBase.assertEntity(base, BINARY.readEntity(new EntityBase(), channel));
+			EntityArray.assertEntity(array, BINARY.readEntity(new EntityArray(), channel));
+			final List<EntityBase> targets = BINARY.readEntities(channel);
+			assertEquals(targets.size(), 2);
+			EntityBase.assertEntity(bases.get(0), targets.get(0));
+			EntityBase.assertEntity(bases.get(1), targets.get(1));
+			assertNull(BINARY.readEntity(channel));
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	void testPipe() throws IOException {
+		final Pipe pipe = Pipe.open();
+		try {
+			final EntityBase base = EntityBase.createMaxValue();
+			final EntityArray array = EntityArray.createNormalValue();
+			final List<EntityBase> bases = new ArrayList<>();
+			bases.add(EntityBase.createMinValue());
+			bases.add(EntityBase.createMaxValue());
+
+			// 不可定位的通道仅读取消息所需的字节，可连续读取
+			BINARY.writeEntity(base, pipe.sink());
+			BINARY.writeEntity(array, pipe.sink());
+			BINARY.writeEntities(bases, pipe.sink());
+			BINARY.writeEntity(base, pipe.sink());
+			EntityBase.assertEntity(base, BINARY.readEntity(null, pipe.source()));
+			EntityArray.assertEntity(array, BINARY.readEntity(null, pipe.source()));
+			final List<EntityBase> targets = new ArrayList<>();
+			BINARY.readEntities(targets, pipe.source());
+			assertEquals(targets.size(), 2);
+			EntityBase.assertEntity(bases.get(0), targets.get(0));
+			EntityBase.assertEntity(bases.get(1), targets.get(1));
+			EntityBase.assertEntity(base, BINARY.readEntity(pipe.source()));
+			pipe.sink().close();
+			assertNull(BINARY.readEntity(pipe.source()));
+		} finally {
+			pipe.sink().close();
+			pipe.source().close();
+		}
+	}
+
+	@Test
+	void testPipeReadahead() throws IOException {
+		final Pipe pipe = Pipe.open();
+		try {
+			final EntityBase base = EntityBase.createMaxValue();
+			final List<EntityBase> bases = new ArrayList<>();
+			bases.add(EntityBase.createMinValue());
+			bases.add(EntityBase.createMaxValue());
+
+			// 保留预读模式的通道输入连续读取多个消息
+			BINARY.writeEntity(base, pipe.sink());
+			BINARY.writeEntities(bases, pipe.sink());
+			BINARY.writeEntity(base, pipe.sink());
+			pipe.sink().close();
+			final ChannelDataInput in = new ChannelDataInput(pipe.source(), true);
+			try {
+				EntityBase.assertEntity(base, BINARY.readEntity(in));
+				final List<EntityBase> targets = BINARY.readEntities(in);
+				assertEquals(targets.size(), 2);
+				EntityBase.assertEntity(bases.get(0), targets.get(0));
+				EntityBase.assertEntity(bases.get(1), targets.get(1));
+				EntityBase.assertEntity(base, BINARY.readEntity(in));
+				assertNull(BINARY.readEntity(in));
+			} finally {
+				in.release();
+			}
+
+			// 非阻塞通道须以帧传输
+			pipe.source().configureBlocking(false);
+			assertThrows(IllegalBlockingModeException.class, () -> BINARY.readEntity(pipe.source()));
+			assertThrows(IllegalBlockingModeException.class, () -> new ChannelDataInput(pipe.source(), true));
+		} finally {
+			pipe.sink().close();
+			pipe.source().close();
+		}
+	}
+
+	@Test
+	void testIterate() throws IOException {
+		final List<EntityBase> sources = new ArrayList<>();
+		for (int index = 0; index < 100; index++) {
+			sources.add(index % 2 == 0 ? EntityBase.createMaxValue() : EntityBase.createMinValue());
+		}
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		final EntityArray array = EntityArray.createNormalValue();
+		BINARY.writeEntities(sources, output);
+		BINARY.writeEntity(array, output);
+
+		// 逐个解码
+		ByteArrayInputStream input = new ByteArrayInputStream(output.toByteArray());
+		final Iterator<EntityBase> iterator = BINARY.iterate(input);
+		int index = 0;
+		while (iterator.hasNext()) {
+			EntityBase.assertEntity(sources.get(index++), iterator.next());
+		}
+		assertEquals(sources.size(), index);
+		// 迭代结束后可继续读取
+		EntityArray.assertEntity(array, BINARY.readEntity(input));
+
+		// 解码到同一实例
+		input = new ByteArrayInputStream(output.toByteArray());
+		final EntityBase instence = new EntityBase();
+		final Iterator<EntityBase> reuse = BINARY.iterate(new BigEndianInputStream(input), instence);
+		index = 0;
+		while (reuse.hasNext()) {
+			final EntityBase target = reuse.next();
+			assertSame(instence, target);
+			EntityBase.assertEntity(sources.get(index++), target);
+		}
+		assertFalse(reuse.hasNext());
+
+		// 流
+		input = new ByteArrayInputStream(output.toByteArray());
+		assertEquals(sources.size() / 2, BINARY.<EntityBase> stream(input).filter(e -> e.getIntValue() == Integer.MAX_VALUE).count());
+	}
+
+	@Test
+	void testVersion() throws IOException {
+		final ODBSBinary compact = new ODBSBinary(odbs, ODBSBinary.VERSION_2);
+		assertEquals(ODBSBinary.VERSION_1, BINARY.version());
+		assertEquals(ODBSBinary.VERSION_2, compact.version());
+
+		final EntityBase source = EntityBase.createMaxValue();
+		final ByteArrayOutputStream output1 = new ByteArrayOutputStream();
+		BINARY.writeEntity(source, output1);
+		final ByteArrayOutputStream output2 = new ByteArrayOutputStream();
+		compact.writeEntity(source, output2);
+		System.out.println("VERSION_1:" + output1.size() + "Bytes VERSION_2:" + output2.size() + "Bytes");
+
+		// 相同版本编码解码
+		EntityBase.assertEntity(source, BINARY.readEntity(new ByteArrayInputStream(output1.toByteArray())));
+		EntityBase.assertEntity(source, compact.readEntity(new ByteArrayInputStream(output2.toByteArray())));
+
+		// 复杂实体
+		final EntityMap map = EntityMap.createNormalValue();
+		output2.reset();
+		compact.writeEntity(map, output2);
+		EntityMap.assertEntity(map, compact.readEntity(new ByteArrayInputStream(output2.toByteArray())));
+
+		Exception e = null;
+		try {
+			new ODBSBinary(odbs, 0);
+		} catch (IllegalArgumentException ex) {
+			e = ex;
+		}
+		assertNotNull(e);
+	}
+
+	@Test
+	void testDictionary() throws IOException {
+		final ODBSBinary compact = new ODBSBinary(odbs, ODBSBinary.VERSION_2);
+		final ODBSBinary dictionary = new ODBSBinary(odbs, ODBSBinary.VERSION_3);
+
+		final List<EntityBase> sources = new ArrayList<>();
+		for (int index = 0; index < 100; index++) {
+			sources.add(index % 2 == 0 ? EntityBase.createMaxValue() : EntityBase.createMinValue());
+		}
+		final ByteArrayOutputStream output2 = new ByteArrayOutputStream();
+		compact.writeEntities(sources, output2);
+		final ByteArrayOutputStream output3 = new ByteArrayOutputStream();
+		dictionary.writeEntities(sources, output3);
+		System.out.println("VERSION_2:" + output2.size() + "Bytes VERSION_3:" + output3.size() + "Bytes");
+		assertTrue(output3.size() < output2.size());
+
+		// 重复字符串解码为同一实例
+		final List<EntityBase> targets = dictionary.readEntities(new ByteArrayInputStream(output3.toByteArray()));
+		assertEquals(sources.size(), targets.size());
+		for (int index = 0; index < sources.size(); index++) {
+			EntityBase.assertEntity(sources.get(index), targets.get(index));
+		}
+		assertSame(targets.get(0).getStringObject(), targets.get(2).getStringObject());
+
+		// 逐个读取
+		final Iterator<EntityBase> iterator = dictionary.iterate(new ByteArrayInputStream(output3.toByteArray()));
+		int index = 0;
+		while (iterator.hasNext()) {
+			EntityBase.assertEntity(sources.get(index++), iterator.next());
+		}
+		assertEquals(sources.size(), index);
+
+		// 每次消息字典独立
+		final EntityMap map = EntityMap.createNormalValue();
+		output3.reset();
+		dictionary.writeEntity(map, output3);
+		dictionary.writeEntity(map, output3);
+		final ByteArrayInputStream input = new ByteArrayInputStream(output3.toByteArray());
+		EntityMap.assertEntity(map, dictionary.readEntity(input));
+		EntityMap.assertEntity(map, dictionary.readEntity(input));
+	}
+
+	@Test
+	void testReferences() throws IOException {
+		// 嵌套实体
+		final EntityNode a = new EntityNode("a");
+		a.setNext(new EntityNode("b"));
+		a.setValue(new EntityNode("c"));
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		BINARY.writeEntity(a, output);
+		EntityNode node = BINARY.readEntity(new ByteArrayInputStream(output.toByteArray()));
+		assertEquals("a", node.getName());
+		assertEquals("b", node.getNext().getName());
+		assertEquals("c", ((EntityNode) node.getValue()).getName());
+
+		// 共享引用和循环引用
+		final ODBSBinary references = new ODBSBinary(odbs, ODBSBinary.VERSION_3, ODBSBinary.REFERENCES);
+		assertTrue(references.references());
+		final EntityNode root = EntityNode.createGraph();
+		output.reset();
+		references.writeEntity(root, output);
+		references.writeEntity(root, output);
+		final ByteArrayInputStream input = new ByteArrayInputStream(output.toByteArray());
+		node = references.readEntity(input);
+		EntityNode.assertGraph(node);
+		// 每次消息独立
+		EntityNode.assertGraph(references.readEntity(input));
+
+		final List<EntityNode> sources = new ArrayList<>();
+		sources.add(root);
+		sources.add(root.getChildren().get(0));
+		output.reset();
+		references.writeEntities(sources, output);
+		final List<EntityNode> targets = references.readEntities(new ByteArrayInputStream(output.toByteArray()));
+		EntityNode.assertGraph(targets.get(0));
+		assertSame(targets.get(0).getChildren().get(0), targets.get(1));
+	}
+
+	@Test
+	void testFraming() throws IOException {
+		final EntityBase base = EntityBase.createMaxValue();
+		final EntityList list = EntityList.createNormalValue();
+		final EntitySet set = EntitySet.createNormalValue();
+		final EntityMap map = EntityMap.createNormalValue();
+		final EntityArray array = EntityArray.createNormalValue();
+		final EntityMapList mapList = EntityMapList.createNormalValue();
+
+		for (int version = ODBSBinary.VERSION_1; version <= ODBSBinary.VERSION_3; version++) {
+			final ODBSBinary framing = new ODBSBinary(odbs, version, ODBSBinary.FRAMING);
+			final ByteArrayOutputStream output = new ByteArrayOutputStream();
+			framing.writeEntity(base, output);
+			framing.writeEntity(list, output);
+			framing.writeEntity(set, output);
+			framing.writeEntity(map, output);
+			framing.writeEntity(array, output);
+			framing.writeEntity(mapList, output);
+
+			ByteArrayInputStream input = new ByteArrayInputStream(output.toByteArray());
+			EntityBase.assertEntity(base, framing.readEntity(input));
+			EntityList.assertEntity(list, framing.readEntity(input));
+			EntitySet.assertEntity(set, framing.readEntity(input));
+			EntityMap.assertEntity(map, framing.readEntity(input));
+			EntityArray.assertEntity(array, framing.readEntity(input));
+			EntityMapList.assertEntity(mapList, framing.readEntity(input));
+			assertEquals(0, input.available());
+
+			// 跳过实体
+			input = new ByteArrayInputStream(output.toByteArray());
+			final DataInput in = new BigEndianInputStream(input);
+			framing.skipEntity(in);
+			framing.skipEntity(in);
+			framing.skipEntity(in);
+			EntityMap.assertEntity(map, framing.readEntity(in));
+			framing.skipEntity(in);
+			EntityMapList.assertEntity(mapList, framing.readEntity(in));
+			assertEquals(0, input.available());
+		}
+
+		// 小端序
+		final ODBSBinary framing = new ODBSBinary(odbs, ODBSBinary.VERSION_2, ODBSBinary.FRAMING | ODBSBinary.REFERENCES);
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		final DataOutput out = new LittleEndianOutputStream(output);
+		framing.writeEntity(map, out);
+		framing.writeEntity(EntityNode.createGraph(), out);
+		final DataInput input = new LittleEndianInputStream(new ByteArrayInputStream(output.toByteArray()));
+		EntityMap.assertEntity(map, framing.readEntity(input));
+		EntityNode.assertGraph(framing.readEntity(input));
+
+		// 未使用长度前缀时解码后丢弃
+		final ByteArrayOutputStream plain = new ByteArrayOutputStream();
+		BINARY.writeEntity(map, plain);
+		BINARY.writeEntity(base, plain);
+		final DataInput in = new BigEndianInputStream(new ByteArrayInputStream(plain.toByteArray()));
+		BINARY.skipEntity(in);
+		EntityBase.assertEntity(base, BINARY.readEntity(in));
+	}
+
+	@Test
+	void testProjection() throws IOException {
+		final EntityBase base = EntityBase.createMaxValue();
+		final EntityNode root = EntityNode.createGraph();
+		// 未跟踪实体引用时不能编码循环引用
+		root.getChildren().get(9).setNext(null);
+		final ODBSProjection fields = ODBSProjection.of(odbs, EntityBase.class, "IntValue", "stringObject", "enum-codes");
+		final ODBSProjection nodes = ODBSProjection.of(odbs, EntityNode.class, "Name", "Children.Name");
+		final int[] options = new int[] { 0, ODBSBinary.FRAMING, ODBSBinary.REFERENCES, ODBSBinary.FRAMING | ODBSBinary.REFERENCES };
+		for (int version = ODBSBinary.VERSION_1; version <= ODBSBinary.VERSION_3; version++) {
+			for (int option : options) {
+				final ODBSBinary binary = new ODBSBinary(odbs, version, option);
+				final ByteArrayOutputStream output = new ByteArrayOutputStream();
+				binary.writeEntity(base, output);
+				binary.writeEntity(root, output);
+				binary.writeEntity(base, output);
+				final ByteArrayInputStream input = new ByteArrayInputStream(output.toByteArray());
+				final DataInput in = new BigEndianInputStream(input);
+
+				// 仅选定字段
+				final EntityBase entity = binary.readEntity(EntityBase.class, in, fields);
+				assertEquals(base.getIntValue(), entity.getIntValue());
+				assertEquals(base.getStringObject(), entity.getStringObject());
+				assertEquals(base.getEnumCodes(), entity.getEnumCodes());
+				assertEquals(0, entity.getLongValue());
+				assertNull(entity.getLongObject());
+				assertNull(entity.getDecimalObject());
+				assertNull(entity.getEnumTexts());
+
+				// 嵌套路径
+				final EntityNode node = binary.readEntity(EntityNode.class, in, nodes);
+				assertEquals("root", node.getName());
+				assertNull(node.getNext());
+				assertEquals(10, node.getChildren().size());
+				for (int index = 0; index < 10; index++) {
+					assertEquals("child" + index, node.getChildren().get(index).getName());
+					assertNull(node.getChildren().get(index).getNext());
+					assertNull(node.getChildren().get(index).getValue());
+				}
+
+				// 跳过字段后继续读取
+				EntityBase.assertEntity(base, binary.readEntity(in));
+				assertEquals(0, input.available());
+			}
+		}
+
+		// 多个实体
+		final List<EntityBase> sources = new ArrayList<>();
+		sources.add(base);
+		sources.add(base);
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		BINARY.writeEntities(sources, output);
+		final DataInput in = new BigEndianInputStream(new ByteArrayInputStream(output.toByteArray()));
+		final List<EntityBase> targets = BINARY.readEntities(EntityBase.class, in, fields);
+		assertEquals(2, targets.size());
+		assertEquals(base.getStringObject(), targets.get(1).getStringObject());
+		assertNull(targets.get(1).getLocalDateObject());
+
+		// 整个字段优先于嵌套路径
+		final ODBSProjection whole = ODBSProjection.of(odbs, EntityNode.class, "Children.Name", "Children");
+		output.reset();
+		BINARY.writeEntity(root, output);
+		final EntityNode node = BINARY.readEntity(EntityNode.class, (DataInput) new BigEndianInputStream(new ByteArrayInputStream(output.toByteArray())), whole);
+		assertNull(node.getName());
+		assertEquals("shared", node.getChildren().get(0).getNext().getName());
+
+		// 无效路径
+		assertThrows(IllegalArgumentException.class, () -> ODBSProjection.of(odbs, EntityNode.class, "Unknown"));
+		assertThrows(IllegalArgumentException.class, () -> ODBSProjection.of(odbs, EntityNode.class, "Name.Value"));
+		assertThrows(IllegalArgumentException.class, () -> BINARY.readEntity(EntityBase.class, in, nodes));
+	}
+
+	@Test
+	void testView() throws IOException {
+		final EntityBase base = EntityBase.createMaxValue();
+		final EntityNode root = new EntityNode("root");
+		root.setNext(new EntityNode("next"));
+		root.setValue(new EntityNode("value"));
+		root.setChildren(new ArrayList<>());
+		root.getChildren().add(new EntityNode("child"));
+		for (int version = ODBSBinary.VERSION_1; version <= ODBSBinary.VERSION_2; version++) {
+			for (int option = 0; option <= ODBSBinary.FRAMING; option += ODBSBinary.FRAMING) {
+				final ODBSBinary binary = new ODBSBinary(odbs, version, option);
+				final ByteBufferDataOutput out = new ByteBufferDataOutput(1024, false, ByteOrder.LITTLE_ENDIAN);
+				binary.writeEntity(base, out);
+				binary.writeEntity(root, out);
+				final ByteBuffer buffer = out.toByteBuffer();
+
+				// 基本类型和对象字段
+				ODBSView view = binary.view(buffer);
+				assertEquals(EntityBase.class, view.type());
+				assertEquals(base.getDoubleValue(), view.getDouble("DoubleValue"));
+				assertEquals(base.getIntValue(), view.getInt("intValue"));
+				assertEquals(base.getLongValue(), view.getLong("long-value"));
+				assertEquals(base.getCharValue(), view.getChar("CharValue"));
+				assertEquals(base.getStringObject(), view.getString("StringObject"));
+				assertEquals(base.getEnumCodes(), view.get("EnumCodes"));
+				assertEquals(base.getLocalDateTimeObject(), view.get("LocalDateTimeObject"));
+				assertEquals(base.getIntValue(), view.get("IntValue"));
+				assertEquals(0, buffer.position());
+
+				// 嵌套实体
+				binary.skipEntity(new ByteBufferDataInput(buffer));
+				view = binary.view(buffer);
+				assertEquals("root", view.getString("Name"));
+				assertEquals("next", view.view("Next").getString("Name"));
+				assertEquals("value", view.view("Value").getString("Name"));
+				assertEquals(EntityNode.class, view.view("Value").type());
+				assertNull(view.view("Next").view("Next"));
+				assertFalse(view.view("Next").has("Children"));
+				final List<?> children = (List<?>) view.get("Children");
+				assertEquals("child", ((EntityNode) children.get(0)).getName());
+
+				assertThrows(IllegalArgumentException.class, () -> binary.view(buffer).getInt("Name"));
+				assertThrows(IllegalArgumentException.class, () -> binary.view(buffer).view("Name"));
+			}
+		}
+
+		final ByteBuffer buffer = ByteBuffer.allocate(1);
+		assertThrows(UnsupportedOperationException.class, () -> new ODBSBinary(odbs, ODBSBinary.VERSION_3).view(buffer));
+		assertThrows(UnsupportedOperationException.class, () -> new ODBSBinary(odbs, ODBSBinary.VERSION_2, ODBSBinary.REFERENCES).view(buffer));
+	}
+
+	@Test
+	void testColumns() throws IOException {
+		final List<EntityBase> sources = new ArrayList<>();
+		sources.add(EntityBase.createMaxValue());
+		sources.add(EntityBase.createMinValue());
+		sources.add(EntityBase.createNullValue());
+		for (int index = 0; index < 1000; index++) {
+			final EntityBase entity = EntityBase.createMaxValue();
+			entity.setIntValue(index);
+			entity.setLongObject(Long.valueOf(1000000L + index));
+			entity.setStringObject("status" + (index % 4));
+			sources.add(entity);
+		}
+		for (int version = ODBSBinary.VERSION_1; version <= ODBSBinary.VERSION_3; version++) {
+			final ODBSBinary binary = new ODBSBinary(odbs, version);
+			final ByteArrayOutputStream output = new ByteArrayOutputStream();
+			binary.writeColumns(sources, output);
+			final int columns = output.size();
+			final List<EntityBase> targets = binary.readColumns(new ByteArrayInputStream(output.toByteArray()));
+			assertEquals(sources.size(), targets.size());
+			for (int index = 0; index < sources.size(); index++) {
+				EntityBase.assertEntity(sources.get(index), targets.get(index));
+			}
+
+			output.reset();
+			binary.writeEntities(sources, output);
+			assertTrue(columns < output.size());
+			System.out.println("VERSION_" + version + " ROWS:" + output.size() + "Bytes COLUMNS:" + columns + "Bytes");
+		}
+
+		// 集合字段逐值编码
+		final List<EntityList> lists = new ArrayList<>();
+		lists.add(EntityList.createNormalValue());
+		lists.add(EntityList.createNullValue());
+		lists.add(EntityList.createEmptyValue());
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		BINARY.writeColumns(lists, output);
+		final List<EntityList> targets = BINARY.readColumns(new ByteArrayInputStream(output.toByteArray()));
+		for (int index = 0; index < lists.size(); index++) {
+			EntityList.assertEntity(lists.get(index), targets.get(index));
+		}
+
+		// 空集合和不同类型
+		output.reset();
+		BINARY.writeColumns(new ArrayList<>(), output);
+		assertTrue(BINARY.readColumns(new ByteArrayInputStream(output.toByteArray())).isEmpty());
+		final List<Object> mixed = new ArrayList<>();
+		mixed.add(EntityBase.createMaxValue());
+		mixed.add(EntityList.createNormalValue());
+		assertThrows(IOException.class, () -> BINARY.writeColumns(mixed, new ByteArrayOutputStream()));
+	}
+
+	@Test
+	void testCompression() throws IOException {
+		final List<Object> sources = new ArrayList<>();
+		for (int index = 0; index < 100; index++) {
+			sources.add(EntityList.createNormalValue());
+		}
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		BINARY.writeEntities(sources, output);
+		final int size = output.size();
+
+		final ODBSBinary compression = new ODBSBinary(odbs, ODBSBinary.VERSION_2, ODBSBinary.COMPRESSION);
+		assertTrue(compression.compression());
+		output.reset();
+		compression.writeEntities(sources, output);
+		compression.writeEntity(sources.get(0), output);
+		assertTrue(output.size() < size / 2);
+		System.out.println("ENTITIES:" + size + "Bytes COMPRESSION:" + output.size() + "Bytes");
+
+		// 每次消息结束于块边界
+		final ByteArrayInputStream input = new ByteArrayInputStream(output.toByteArray());
+		final List<EntityList> targets = compression.readEntities(input);
+		assertEquals(sources.size(), targets.size());
+		for (int index = 0; index < sources.size(); index++) {
+			EntityList.assertEntity((EntityList) sources.get(index), targets.get(index));
+		}
+		EntityList.assertEntity((EntityList) sources.get(0), compression.readEntity(input));
+		assertEquals(0, input.available());
+	}
+
+	@Test
+	void testCompressionPipe() throws IOException {
+		final ODBSBinary compression = new ODBSBinary(odbs, ODBSBinary.VERSION_2, ODBSBinary.COMPRESSION);
+		final Pipe pipe = Pipe.open();
+		try {
+			final EntityBase base = EntityBase.createMaxValue();
+			final List<EntityBase> bases = new ArrayList<>();
+			bases.add(EntityBase.createMinValue());
+			bases.add(EntityBase.createMaxValue());
+
+			// 不可定位的通道 available() 为0，仍可读取
+			compression.writeEntity(base, pipe.sink());
+			compression.writeEntities(bases, pipe.sink());
+			compression.writeEntity(base, pipe.sink());
+			EntityBase.assertEntity(base, compression.readEntity(pipe.source()));
+			final List<EntityBase> targets = compression.readEntities(pipe.source());
+			assertEquals(targets.size(), 2);
+			EntityBase.assertEntity(bases.get(0), targets.get(0));
+			EntityBase.assertEntity(bases.get(1), targets.get(1));
+			EntityBase.assertEntity(base, compression.readEntity(null, pipe.source()));
+			// 通道在块边界结束
+			pipe.sink().close();
+			assertNull(compression.readEntity(pipe.source()));
+		} finally {
+			pipe.sink().close();
+			pipe.source().close();
+		}
+	}
+
+	@Test
+	void testCompressionNonBlocking() throws IOException {
+		final ODBSBinary compression = new ODBSBinary(odbs, ODBSBinary.VERSION_2, ODBSBinary.COMPRESSION);
+		final Pipe pipe = Pipe.open();
+		pipe.sink().configureBlocking(false);
+		pipe.source().configureBlocking(false);
+		try {
+			// 非阻塞通道须以帧传输
+			assertThrows(IllegalBlockingModeException.class, () -> compression.writeEntity(EntityList.createNormalValue(), pipe.sink()));
+			assertThrows(IllegalBlockingModeException.class, () -> compression.readEntity(pipe.source()));
+			assertThrows(IllegalBlockingModeException.class, () -> compression.readEntities(pipe.source()));
+		} finally {
+			pipe.sink().close();
+			pipe.source().close();
+		}
+	}
+
+	@Test
+	void testFrame() throws IOException {
+		final List<EntityList> sources = new ArrayList<>();
+		for (int index = 0; index < 20; index++) {
+			sources.add(EntityList.createNormalValue());
+		}
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		for (int index = 0; index < sources.size(); index++) {
+			BINARY.writeFrame(sources.get(index), output, index % 2 == 0);
+		}
+		final byte[] bytes = output.toByteArray();
+
+		// 阻塞读取
+		final ByteArrayInputStream input = new ByteArrayInputStream(bytes);
+		for (EntityList source : sources) {
+			EntityList.assertEntity(source, BINARY.readFrame(input));
+		}
+		assertNull(BINARY.readFrame(input));
+
+		// 分段到达
+		final FrameDecoder decoder = new FrameDecoder();
+		final List<EntityList> targets = new ArrayList<>();
+		EntityList target;
+		for (int index = 0; index < bytes.length; index += 1000) {
+			decoder.feed(bytes, index, Math.min(1000, bytes.length - index));
+			while ((target = BINARY.readFrame(decoder)) != null) {
+				targets.add(target);
+			}
+		}
+		decoder.release();
+		assertEquals(sources.size(), targets.size());
+		for (int index = 0; index < sources.size(); index++) {
+			EntityList.assertEntity(sources.get(index), targets.get(index));
+		}
+	}
+
+	@Test
+	void testChunks() throws IOException {
+		final List<Object> sources = new ArrayList<>();
+		for (int index = 0; index < 1000; index++) {
+			sources.add(EntityList.createNormalValue());
+		}
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		BINARY.writeChunks(sources, output, 64);
+		BINARY.writeChunks(new ArrayList<>(), output);
+		output.write(0x7F);
+
+		final ByteArrayInputStream input = new ByteArrayInputStream(output.toByteArray());
+		final List<EntityList> targets = BINARY.readChunks(input);
+		assertEquals(sources.size(), targets.size());
+		for (int index = 0; index < sources.size(); index++) {
+			EntityList.assertEntity((EntityList) sources.get(index), targets.get(index));
+		}
+		assertTrue(BINARY.readChunks(input).isEmpty());
+		assertEquals(0x7F, input.read());
+
+		// 字符串字典和实体引用不跨越分块
+		final ODBSBinary binary = new ODBSBinary(odbs, ODBSBinary.VERSION_3, ODBSBinary.REFERENCES);
+		output.reset();
+		binary.writeChunks(sources, output, 100);
+		final List<EntityList> entities = binary.readChunks(new ByteArrayInputStream(output.toByteArray()));
+		assertEquals(sources.size(), entities.size());
+		EntityList.assertEntity((EntityList) sources.get(999), entities.get(999));
+
+		// 数据截断
+		final byte[] bytes = output.toByteArray();
+		assertThrows(IOException.class, () -> binary.readChunks(new ByteArrayInputStream(bytes, 0, bytes.length - 10)));
+		assertThrows(IllegalArgumentException.class, () -> BINARY.writeChunks(sources, output, 0));
+	}
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright © 2017-2025 重庆骄智科技有限公司.
+ * 本软件根据 Apache License 2.0 开源，详见 LICENSE 文件。
+ */
+package com.joyzl.odbs.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.function.BiConsumer;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.joyzl.odbs.ODBS;
+import com.joyzl.odbs.ODBSBinary;
+import com.joyzl.odbs.ODBSJson;
+
+/**
+ * 生成的编码解码器与反射方法句柄方式结果一致
+ */
+class TestODBSCompile extends TestODBS {
+
+	static final ODBS compiled = ODBS.initialize("com.joyzl.odbs.test").compile();
+
+	static ODBSBinary BINARY, COMPILED_BINARY;
+	static ODBSJson JSON, COMPILED_JSON;
+
+	@BeforeAll
+	static void setUpBeforeClass() throws Exception {
+		BINARY = new ODBSBinary(odbs);
+		JSON = new ODBSJson(odbs);
+		COMPILED_BINARY = new ODBSBinary(compiled);
+		COMPILED_JSON = new ODBSJson(compiled);
+	}
+
+	@Test
+	void testBase() throws IOException {
+		check(EntityBase.createNullValue(), EntityBase::assertEntity);
+		check(EntityBase.createMinValue(), EntityBase::assertEntity);
+		check(EntityBase.createMaxValue(), EntityBase::assertEntity);
+	}
+
+	@Test
+	void testArray() throws IOException {
+		check(EntityArray.createNullValue(), EntityArray::assertEntity);
+		check(EntityArray.createEmptyValue(), EntityArray::assertEntity);
+		check(EntityArray.createNormalValue(), EntityArray::assertEntity);
+	}
+
+	@Test
+	void testCollection() throws IOException {
+		check(EntityList.createNormalValue(), EntityList::assertEntity);
+		check(EntitySet.createNormalValue(), EntitySet::assertEntity);
+		check(EntityMap.createNormalValue(), EntityMap::assertEntity);
+		check(EntityMapList.createNormalValue(), EntityMapList::assertEntity);
+		check(new EntityEmpty(), (a, b) -> {
+		});
+	}
+
+	<T> void check(T source, BiConsumer<T, T> assertion) throws IOException {
+		// 二进制
+		final ByteArrayOutputStream output1 = new ByteArrayOutputStream();
+		final ByteArrayOutputStream output2 = new ByteArrayOutputStream();
+		BINARY.writeEntity(source, output1);
+		COMPILED_BINARY.writeEntity(source, output2);
+		assertArrayEquals(output1.toByteArray(), output2.toByteArray());
+
+		final T target1 = COMPILED_BINARY.readEntity(new ByteArrayInputStream(output2.toByteArray()));
+		assertion.accept(source, target1);
+
+		// JSON
+		final StringWriter writer1 = new StringWriter();
+		final StringWriter writer2 = new StringWriter();
+		JSON.writeEntity(source, writer1);
+		COMPILED_JSON.writeEntity(source, writer2);
+		assertEquals(writer1.toString(), writer2.toString());
+
+		@SuppressWarnings("unchecked")
+		final T target2 = (T) COMPILED_JSON.readEntity(source.getClass(), new StringReader(writer2.toString()));
+		assertion.accept(source, target2);
+	}
+}
@@ -4,9 +4,14 @@
  */
 package com.joyzl.odbs.test;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.ByteArrayInputStream;
@@ -17,11 +22,15 @@ import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.StringReader;
+import java.io.StringWriter;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
 import org.junit.jupiter.api.Assertions;
@@ -29,6 +38,8 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import com.joyzl.odbs.ODBSJson;
+import com.joyzl.odbs.ODBSJsonReader;
+import com.joyzl.odbs.ODBSProjection;
 
 class TestODBSJson extends TestODBS {
 
@@ -712,4 +723,256 @@ class TestODBSJson extends TestODBS {
 		JSON.readEntity(target, reader);
 		EntityBase.assertEntity(source, target);
 	}
-}
\ No newline at end of file
+
+	@Test
+	void testInputStream() throws IOException, ParseException {
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		final Writer writer = new OutputStreamWriter(output, "UTF-8");
+
+		final List<EntityBase> sources = new ArrayList<>();
+		for (int index = 0; index < 100; index++) {
+			sources.add(index % 2 == 0 ? EntityBase.createMaxValue() : EntityBase.createMinValue());
+		}
+		JSON.writeEntities(sources, writer);
+		JSON.writeEntity(sources.get(0), writer);
+		writer.flush();
+
+		// UTF-8字节流直接解码
+		final InputStream input = new ByteArrayInputStream(output.toByteArray());
+		final List<EntityBase> targets = JSON.readEntities(EntityBase.class, input);
+		assertEquals(sources.size(), targets.size());
+		for (int index = 0; index < sources.size(); index++) {
+			EntityBase.assertEntity(sources.get(index), targets.get(index));
+		}
+		EntityBase.assertEntity(sources.get(0), JSON.readEntity(EntityBase.class, input));
+	}
+
+	@Test
+	void testExact() throws IOException {
+		final EntityBase one = EntityBase.createMaxValue();
+		one.setStringObject("one");
+		final EntityBase two = EntityBase.createMinValue();
+		two.setStringObject("two");
+		final StringWriter writer = new StringWriter();
+		JSON.writeEntity(one, writer);
+		JSON.writeEntity(two, writer);
+		writer.write("TRAILER");
+		final String other = "{\"StringObject\":\"other\"}";
+
+		// 交替读取多个字符流，不读取超出JSON值的字符
+		final Reader reader = new StringReader(writer.toString());
+		assertEquals("one", JSON.readEntity(EntityBase.class, reader).getStringObject());
+		assertEquals("other", JSON.readEntity(EntityBase.class, new StringReader(other)).getStringObject());
+		assertEquals("two", JSON.readEntity(EntityBase.class, reader).getStringObject());
+		final char[] trailer = new char[16];
+		assertEquals("TRAILER", new String(trailer, 0, reader.read(trailer)));
+
+		// UTF-8字节流
+		final InputStream input = new ByteArrayInputStream(writer.toString().getBytes(StandardCharsets.UTF_8));
+		assertEquals("one", JSON.readEntity(EntityBase.class, input).getStringObject());
+		assertEquals("other", JSON.readEntity(EntityBase.class, new ByteArrayInputStream(other.getBytes(StandardCharsets.UTF_8))).getStringObject());
+		assertEquals("two", JSON.readEntity(EntityBase.class, input).getStringObject());
+		assertEquals("TRAILER", new String(input.readAllBytes(), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void testBlockReader() throws IOException {
+		final List<EntityBase> sources = new ArrayList<>();
+		for (int index = 0; index < 100; index++) {
+			final EntityBase entity = index % 2 == 0 ? EntityBase.createMaxValue() : EntityBase.createMinValue();
+			entity.setStringObject("值😀" + index);
+			sources.add(entity);
+		}
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		JSON.writeEntities(sources, output);
+		JSON.writeEntity(sources.get(1), output);
+		JSON.writeEntity(sources.get(2), output);
+
+		// 块读取的连续JSON值须通过同一读取器
+		final ODBSJsonReader reader = new ODBSJsonReader(JSON, new ByteArrayInputStream(output.toByteArray()));
+		final List<EntityBase> targets = reader.readEntities(EntityBase.class);
+		assertEquals(sources.size(), targets.size());
+		for (int index = 0; index < sources.size(); index++) {
+			EntityBase.assertEntity(sources.get(index), targets.get(index));
+		}
+		EntityBase.assertEntity(sources.get(1), reader.readEntity(EntityBase.class));
+		final EntityBase target = new EntityBase();
+		reader.readEntity(target);
+		EntityBase.assertEntity(sources.get(2), target);
+
+		final ODBSJsonReader chars = new ODBSJsonReader(JSON, new StringReader(output.toString(StandardCharsets.UTF_8)));
+		assertEquals(sources.size(), chars.readEntities(EntityBase.class).size());
+		EntityBase.assertEntity(sources.get(1), chars.readEntity(EntityBase.class));
+	}
+
+	@Test
+	void testOutputStream() throws IOException, ParseException {
+		final List<EntityBase> sources = new ArrayList<>();
+		for (int index = 0; index < 100; index++) {
+			final EntityBase entity = index % 2 == 0 ? EntityBase.createMaxValue() : EntityBase.createMinValue();
+			entity.setStringObject("A\"\\/\t\u0001é中😀" + index);
+			sources.add(entity);
+		}
+
+		// 字符编码方式
+		final ByteArrayOutputStream output1 = new ByteArrayOutputStream();
+		final Writer writer = new OutputStreamWriter(output1, "UTF-8");
+		JSON.writeEntities(sources, writer);
+		JSON.writeEntity(sources.get(0), writer);
+		writer.flush();
+
+		// UTF-8字节直接编码
+		final ByteArrayOutputStream output2 = new ByteArrayOutputStream();
+		JSON.writeEntities(sources, output2);
+		JSON.writeEntity(sources.get(0), output2);
+		assertArrayEquals(output1.toByteArray(), output2.toByteArray());
+
+		final ByteBuffer buffer = ByteBuffer.allocate(output1.size());
+		JSON.writeEntities(sources, buffer);
+		JSON.writeEntity(sources.get(0), buffer);
+		assertArrayEquals(output1.toByteArray(), buffer.array());
+
+		// 缓冲区空间不足时位置不变，超出缓存块的部分已写入的字节视为未写入
+		output2.reset();
+		JSON.writeEntities(sources, output2);
+		final ByteBuffer small = ByteBuffer.allocate(output2.size());
+		small.put((byte) '-');
+		assertThrows(IOException.class, () -> JSON.writeEntities(sources, small));
+		assertEquals(1, small.position());
+		assertThrows(IOException.class, () -> JSON.writeEntity(sources.get(0), ByteBuffer.allocate(8)));
+		JSON.writeEntity(sources.get(1), small);
+		assertTrue(small.position() > 1);
+
+		final InputStream input = new ByteArrayInputStream(output1.toByteArray());
+		final List<EntityBase> targets = JSON.readEntities(EntityBase.class, input);
+		for (int index = 0; index < sources.size(); index++) {
+			EntityBase.assertEntity(sources.get(index), targets.get(index));
+		}
+	}
+
+	@Test
+	void testIterate() throws IOException, ParseException {
+		final List<EntityBase> sources = new ArrayList<>();
+		for (int index = 0; index < 100; index++) {
+			sources.add(index % 2 == 0 ? EntityBase.createMaxValue() : EntityBase.createNullValue());
+		}
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		JSON.writeEntities(sources, output);
+
+		// 逐个解码
+		final Iterator<EntityBase> iterator = JSON.iterate(EntityBase.class, new StringReader(output.toString("UTF-8")));
+		int index = 0;
+		while (iterator.hasNext()) {
+			EntityBase.assertEntity(sources.get(index++), iterator.next());
+		}
+		assertEquals(sources.size(), index);
+
+		// 解码到同一实例，未输出的空值恢复为默认值
+		final EntityBase instence = new EntityBase();
+		final Iterator<EntityBase> reuse = JSON.iterate(instence, new ByteArrayInputStream(output.toByteArray()));
+		index = 0;
+		while (reuse.hasNext()) {
+			final EntityBase target = reuse.next();
+			assertSame(instence, target);
+			EntityBase.assertEntity(sources.get(index++), target);
+		}
+		assertFalse(reuse.hasNext());
+
+		// 流
+		assertEquals(sources.size() / 2, JSON.stream(EntityBase.class, new ByteArrayInputStream(output.toByteArray())).filter(e -> e.getStringObject() != null).count());
+	}
+
+	@Test
+	void testReferences() throws IOException {
+		// 嵌套实体
+		final EntityNode a = new EntityNode("a");
+		a.setNext(new EntityNode("b"));
+		a.setValue(new EntityNode("c"));
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		JSON.writeEntity(a, output);
+		EntityNode node = JSON.readEntity(EntityNode.class, new ByteArrayInputStream(output.toByteArray()));
+		assertEquals("a", node.getName());
+		assertEquals("b", node.getNext().getName());
+		assertEquals("c", ((EntityNode) node.getValue()).getName());
+
+		// 共享引用和循环引用
+		final ODBSJson references = new ODBSJson(odbs);
+		references.setReferences(true);
+		assertTrue(references.isReferences());
+		final EntityNode root = EntityNode.createGraph();
+		output.reset();
+		references.writeEntity(root, output);
+		final String json = output.toString(StandardCharsets.UTF_8);
+		assertTrue(json.startsWith("{\"$id\":0,"));
+		assertTrue(json.contains("{\"$ref\":0}"));
+		node = references.readEntity(EntityNode.class, new ByteArrayInputStream(output.toByteArray()));
+		EntityNode.assertGraph(node);
+
+		final List<EntityNode> sources = new ArrayList<>();
+		sources.add(root);
+		sources.add(root.getChildren().get(0));
+		final StringWriter writer = new StringWriter();
+		references.writeEntities(sources, writer);
+		final List<EntityNode> targets = references.readEntities(EntityNode.class, new StringReader(writer.toString()));
+		EntityNode.assertGraph(targets.get(0));
+		assertSame(targets.get(0).getChildren().get(0), targets.get(1));
+	}
+
+	@Test
+	void testProjection() throws IOException {
+		final EntityBase base = EntityBase.createMaxValue();
+		final ODBSProjection fields = ODBSProjection.of(odbs, EntityBase.class, "IntValue", "stringObject", "enum-codes");
+		final StringWriter writer = new StringWriter();
+		JSON.writeEntity(base, writer);
+
+		// 仅选定字段
+		EntityBase entity = JSON.readEntity(EntityBase.class, new StringReader(writer.toString()), fields);
+		assertEquals(base.getIntValue(), entity.getIntValue());
+		assertEquals(base.getStringObject(), entity.getStringObject());
+		assertEquals(base.getEnumCodes(), entity.getEnumCodes());
+		assertEquals(0, entity.getLongValue());
+		assertNull(entity.getLongObject());
+		assertNull(entity.getLocalDateTimeObject());
+		entity = JSON.readEntity(EntityBase.class, new ByteArrayInputStream(writer.toString().getBytes(StandardCharsets.UTF_8)), fields);
+		assertEquals(base.getStringObject(), entity.getStringObject());
+		assertNull(entity.getDateObject());
+
+		// 嵌套路径
+		final ODBSProjection nodes = ODBSProjection.of(odbs, EntityNode.class, "Name", "Children.Name");
+		final EntityNode root = EntityNode.createGraph();
+		root.getChildren().get(9).setNext(null);
+		final List<EntityNode> sources = new ArrayList<>();
+		sources.add(root);
+		sources.add(root);
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		JSON.writeEntities(sources, output);
+		final List<EntityNode> targets = JSON.readEntities(EntityNode.class, new ByteArrayInputStream(output.toByteArray()), nodes);
+		assertEquals(2, targets.size());
+		for (EntityNode node : targets) {
+			assertEquals("root", node.getName());
+			assertEquals(10, node.getChildren().size());
+			for (int index = 0; index < 10; index++) {
+				assertEquals("child" + index, node.getChildren().get(index).getName());
+				assertNull(node.getChildren().get(index).getNext());
+				assertNull(node.getChildren().get(index).getValue());
+			}
+		}
+
+		// 实体引用，跳过的字段中登记的实体可被后续引用
+		final ODBSJson references = new ODBSJson(odbs);
+		references.setReferences(true);
+		output.reset();
+		references.writeEntity(EntityNode.createGraph(), output);
+		final ODBSProjection values = ODBSProjection.of(odbs, EntityNode.class, "Children.Value");
+		final EntityNode node = references.readEntity(EntityNode.class, new ByteArrayInputStream(output.toByteArray()), values);
+		assertNull(node.getName());
+		final EntityNode shared = (EntityNode) node.getChildren().get(0).getValue();
+		assertEquals("shared", shared.getName());
+		for (int index = 0; index < 10; index++) {
+			assertNull(node.getChildren().get(index).getName());
+			assertSame(shared, node.getChildren().get(index).getValue());
+		}
+
+		assertThrows(IllegalArgumentException.class, () -> JSON.readEntity(EntityBase.class, new StringReader(writer.toString()), nodes));
+	}
+}